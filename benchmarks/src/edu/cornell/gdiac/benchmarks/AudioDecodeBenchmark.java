@@ -0,0 +1,119 @@
+/*
+ * AudioDecodeBenchmark.java
+ *
+ * Measures how fast each audio source decodes a file.  This is the work done on the
+ * audio thread for streamed music, and at load time for sound effects.
+ */
+package edu.cornell.gdiac.benchmarks;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import edu.cornell.gdiac.audio.*;
+import edu.cornell.gdiac.backend.audio.*;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for decoding a complete audio file.
+ *
+ * The source class is chosen by the file extension, so OggSource, Mp3Source and
+ * WavSource are all covered by this benchmark.  The game only ships OGG files, so
+ * those are the defaults; measure other files with -p file=path/to/file.mp3.  The
+ * score is the time to decode the whole file, read through a stream as MusicBuffer
+ * does, or loaded at once as SoundBuffer does.
+ *
+ * A source keeps its data once loaded, so the load benchmark decodes with a fresh
+ * source every invocation.  There is no application in the benchmark JVM, so the
+ * {@link PcmCache} is unavailable and every load really decodes the file.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AudioDecodeBenchmark {
+    /** The size of each read from a stream, in samples */
+    private static final int PAGE_SIZE = 4096;
+
+    /** The file to decode, relative to the asset directory */
+    @Param({"sounds/LEVEL_STEM_1.ogg", "sounds/Jump.ogg"})
+    public String file;
+
+    /** The source for the file */
+    private AudioSource source;
+    /** The buffer for each read */
+    private short[] page;
+
+    /**
+     * The source for a single invocation of the load benchmark
+     */
+    @State(Scope.Thread)
+    public static class Fresh {
+        /** The source to load */
+        AudioSource source;
+
+        @Setup(Level.Invocation)
+        public void setup(AudioDecodeBenchmark bench) {
+            source = newSource(bench.file);
+        }
+
+        @TearDown(Level.Invocation)
+        public void teardown() {
+            source.dispose();
+        }
+    }
+
+    @Setup
+    public void setup() {
+        if (Gdx.files != null) {
+            throw new GdxRuntimeException("The PCM cache must be unavailable while benchmarking");
+        }
+        source = newSource(file);
+        page = new short[PAGE_SIZE*source.getChannels()];
+    }
+
+    @TearDown
+    public void teardown() {
+        source.dispose();
+    }
+
+    /**
+     * Returns a new audio source for the given file
+     *
+     * @param file  The file relative to the asset directory
+     *
+     * @return a new audio source for the given file
+     */
+    private static AudioSource newSource(String file) {
+        FileHandle handle = BenchmarkSupport.asset(file);
+        String type = handle.extension().toLowerCase();
+        if (type.equals("ogg")) {
+            return new OggSource(handle);
+        } else if (type.equals("mp3")) {
+            return new Mp3Source(handle);
+        } else if (type.equals("wav")) {
+            return new WavSource(handle);
+        }
+        throw new GdxRuntimeException("Unsupported audio file "+file);
+    }
+
+    @Benchmark
+    public long stream() {
+        AudioStream stream = source.getStream();
+        long total = 0;
+        int read = stream.read(page);
+        while (read > 0) {
+            total += read;
+            read = stream.read(page);
+        }
+        return total;
+    }
+
+    @Benchmark
+    public int load(Fresh fresh) {
+        return fresh.source.getData().limit();
+    }
+}
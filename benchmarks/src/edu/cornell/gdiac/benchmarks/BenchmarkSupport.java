@@ -0,0 +1,94 @@
+/*
+ * BenchmarkSupport.java
+ *
+ * Shared setup for the JMH benchmarks.  The benchmarks run headless, so nothing here
+ * may touch OpenGL or OpenAL.  They are run from the asset directory (see the jmh task
+ * in build.gradle), so all paths are relative to core/assets.
+ */
+package edu.cornell.gdiac.benchmarks;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.physics.box2d.Box2D;
+import com.badlogic.gdx.utils.*;
+
+import java.io.File;
+import java.util.Comparator;
+
+/**
+ * Static helpers shared by the benchmarks.
+ */
+public class BenchmarkSupport {
+    /** Whether the native libraries are loaded */
+    private static boolean initialized;
+
+    /**
+     * Loads the LibGDX and Box2D native libraries.
+     *
+     * This must be called before creating any obstacle, as obstacles allocate Box2D
+     * shapes.  It is safe to call this more than once.
+     */
+    public static synchronized void init() {
+        if (!initialized) {
+            GdxNativesLoader.load();
+            Box2D.init();
+            initialized = true;
+        }
+    }
+
+    /**
+     * Returns the file for the given asset path.
+     *
+     * @param path  The path relative to the asset directory
+     *
+     * @return the file for the given asset path.
+     */
+    public static FileHandle asset(String path) {
+        return new FileHandle(new File(path));
+    }
+
+    /**
+     * Returns every level file in the asset directory, sorted by path.
+     *
+     * These are the files level*.json in each continent directory.
+     *
+     * @return every level file in the asset directory, sorted by path.
+     */
+    public static Array<FileHandle> levelFiles() {
+        Array<FileHandle> result = new Array<FileHandle>();
+        for (FileHandle dir : asset(".").list()) {
+            if (!dir.isDirectory()) {
+                continue;
+            }
+            for (FileHandle file : dir.list()) {
+                if (file.name().startsWith("level") && file.extension().equals("json")) {
+                    result.add(file);
+                }
+            }
+        }
+        result.sort(new Comparator<FileHandle>() {
+            public int compare(FileHandle a, FileHandle b) {
+                return a.path().compareTo(b.path());
+            }
+        });
+        if (result.size == 0) {
+            throw new GdxRuntimeException("No levels found; run the benchmarks from core/assets");
+        }
+        return result;
+    }
+
+    /**
+     * Returns the snow polygons of a parsed level, as LevelLoader reads them
+     *
+     * @param level The parsed level file
+     *
+     * @return the snow polygons of a parsed level
+     */
+    public static Array<float[]> snow(JsonValue level) {
+        Array<float[]> result = new Array<float[]>();
+        JsonValue snow = level.get("defaults").get("snow");
+        for (int ii = 0; ii < snow.size; ii++) {
+            result.add(snow.get(ii).asFloatArray());
+        }
+        return result;
+    }
+}
@@ -0,0 +1,122 @@
+/*
+ * CollisionBenchmark.java
+ *
+ * Measures the per-frame proximity checks of CollisionController on populations much
+ * larger than any current level, to show how they scale.
+ */
+package edu.cornell.gdiac.benchmarks;
+
+import com.badlogic.gdx.utils.*;
+import edu.cornell.gdiac.main.controller.gaming.CollisionController;
+import edu.cornell.gdiac.main.model.*;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for CollisionController with synthetic populations.
+ *
+ * The player and penguins use the constants of the first level, but there are size
+ * penguins and size notes, scattered at random over a world that grows with the
+ * population.  There is one water pool for every ten penguins.  Notes are not collected
+ * here, as that requires sounds and textures.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CollisionBenchmark {
+    /** The height of the synthetic world */
+    private static final float WORLD_HEIGHT = 18.0f;
+    /** The width of each water pool */
+    private static final float POOL_WIDTH = 4.0f;
+    /** The height of each water pool */
+    private static final float POOL_HEIGHT = 3.0f;
+
+    /** The number of penguins and notes */
+    @Param({"10", "100", "1000"})
+    public int size;
+
+    /** The controller to measure */
+    private CollisionController collisions;
+    /** The player avatar */
+    private Player avatar;
+    /** The penguins following the avatar */
+    private List<Penguin> penguins;
+    /** The notes to collect */
+    private List<Note> notes;
+    /** The water pools */
+    private List<Water> waters;
+    /** The direction to move the penguins on the next update */
+    private float offset;
+
+    @Setup
+    public void setup() {
+        BenchmarkSupport.init();
+        Random random = new Random(0);
+        float width = Math.max(32.0f, size/2.0f);
+        JsonValue level = new JsonReader().parse(BenchmarkSupport.levelFiles().first());
+
+        avatar = new Player(level.get("player"), level.get("penguins"), 1.0f, 1.5f, size, null);
+        avatar.setPosition(width/2, WORLD_HEIGHT/2);
+        penguins = new ArrayList<Penguin>(avatar.getPenguins());
+        for (int ii = 0; ii < penguins.size(); ii++) {
+            Penguin p = penguins.get(ii);
+            p.setPosition(random.nextFloat()*width, random.nextFloat()*WORLD_HEIGHT);
+            p.setThrownOut(ii % 4 == 0);
+        }
+
+        StringBuilder positions = new StringBuilder();
+        for (int ii = 0; ii < size; ii++) {
+            positions.append(ii == 0 ? "" : ",");
+            positions.append('[').append(random.nextFloat()*width).append(',');
+            positions.append(random.nextFloat()*WORLD_HEIGHT).append(']');
+        }
+        JsonValue noteData = new JsonReader().parse("{hshrink:1,vshrink:1,pos:["+positions+"]}");
+        notes = new ArrayList<Note>();
+        for (int ii = 0; ii < size; ii++) {
+            notes.add(new Note(noteData, 0.5f, 0.5f, ii));
+        }
+
+        int pools = size/10+1;
+        positions.setLength(0);
+        for (int ii = 0; ii < pools; ii++) {
+            positions.append(ii == 0 ? "" : ",");
+            positions.append('[').append((ii+0.5f)*width/pools).append(',').append(POOL_HEIGHT/2).append(']');
+        }
+        JsonValue waterData = new JsonReader().parse("{density:1,force:0,friction:0,restitution:0,pos:["+positions+"]}");
+        waters = new ArrayList<Water>();
+        for (int ii = 0; ii < pools; ii++) {
+            waters.add(new Water(waterData, POOL_WIDTH, POOL_HEIGHT, "water", ii));
+        }
+
+        collisions = new CollisionController(width, WORLD_HEIGHT);
+        collisions.setLevel(notes, waters);
+        collisions.updateIndex(avatar, penguins);
+        offset = 0.5f;
+    }
+
+    @Benchmark
+    public void setLevel() {
+        collisions.setLevel(notes, waters);
+    }
+
+    @Benchmark
+    public void updateIndex() {
+        offset = -offset;
+        for (Penguin p : penguins) {
+            p.setX(p.getX()+offset);
+        }
+        collisions.updateIndex(avatar, penguins);
+    }
+
+    @Benchmark
+    public void waterInteraction() {
+        collisions.processCollision(waters, penguins, avatar);
+    }
+}
@@ -0,0 +1,59 @@
+/*
+ * LevelParseBenchmark.java
+ *
+ * Measures the cost of reading the level files, separately from building obstacles.
+ */
+package edu.cornell.gdiac.benchmarks;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.*;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for parsing every level file in the game.
+ *
+ * The parse benchmark starts from text already in memory, so it measures the JSON
+ * reader alone.  The load benchmark also reads the files, and then extracts the snow
+ * polygons the same way LevelLoader does.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LevelParseBenchmark {
+    /** Every level file */
+    private Array<FileHandle> files;
+    /** The contents of every level file */
+    private Array<String> texts;
+    /** The JSON reader */
+    private JsonReader reader;
+
+    @Setup
+    public void setup() {
+        files = BenchmarkSupport.levelFiles();
+        texts = new Array<String>();
+        for (FileHandle file : files) {
+            texts.add(file.readString());
+        }
+        reader = new JsonReader();
+    }
+
+    @Benchmark
+    public void parse(Blackhole hole) {
+        for (String text : texts) {
+            hole.consume(reader.parse(text));
+        }
+    }
+
+    @Benchmark
+    public void load(Blackhole hole) {
+        for (FileHandle file : files) {
+            hole.consume(BenchmarkSupport.snow(reader.parse(file)));
+        }
+    }
+}
@@ -0,0 +1,157 @@
+/*
+ * ListBenchmark.java
+ *
+ * Compares PooledList, which holds the obstacles of every level, against the standard
+ * Java and LibGDX lists on the operations the game loop uses.
+ */
+package edu.cornell.gdiac.benchmarks;
+
+import com.badlogic.gdx.utils.Array;
+import edu.cornell.gdiac.util.PooledList;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for adding to, iterating over and removing from a list.
+ *
+ * The remove benchmarks fill the list first and then remove every other element while
+ * iterating, as the game loop does with inactive obstacles.  So they include the cost
+ * of the matching add benchmark.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ListBenchmark {
+    /** The number of elements in each list */
+    @Param({"16", "256", "4096"})
+    public int size;
+
+    /** The elements to add */
+    private Integer[] values;
+    /** A PooledList that is refilled by each operation */
+    private PooledList<Integer> pooled;
+    /** An ArrayList that is refilled by each operation */
+    private ArrayList<Integer> arrayList;
+    /** A LibGDX Array that is refilled by each operation */
+    private Array<Integer> gdxArray;
+    /** A full PooledList for iteration */
+    private PooledList<Integer> pooledFull;
+    /** A full ArrayList for iteration */
+    private ArrayList<Integer> arrayListFull;
+    /** A full LibGDX Array for iteration */
+    private Array<Integer> gdxArrayFull;
+
+    @Setup
+    public void setup() {
+        values = new Integer[size];
+        for (int ii = 0; ii < size; ii++) {
+            values[ii] = ii;
+        }
+        pooled = new PooledList<Integer>();
+        arrayList = new ArrayList<Integer>();
+        gdxArray = new Array<Integer>();
+        pooledFull = new PooledList<Integer>();
+        arrayListFull = new ArrayList<Integer>();
+        gdxArrayFull = new Array<Integer>();
+        for (Integer value : values) {
+            pooledFull.add(value);
+            arrayListFull.add(value);
+            gdxArrayFull.add(value);
+        }
+    }
+
+    @Benchmark
+    public int addPooledList() {
+        pooled.clear();
+        for (Integer value : values) {
+            pooled.add(value);
+        }
+        return pooled.size();
+    }
+
+    @Benchmark
+    public int addArrayList() {
+        arrayList.clear();
+        for (Integer value : values) {
+            arrayList.add(value);
+        }
+        return arrayList.size();
+    }
+
+    @Benchmark
+    public int addGdxArray() {
+        gdxArray.clear();
+        for (Integer value : values) {
+            gdxArray.add(value);
+        }
+        return gdxArray.size;
+    }
+
+    @Benchmark
+    public int iteratePooledList() {
+        int sum = 0;
+        for (Integer value : pooledFull) {
+            sum += value;
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public int iterateArrayList() {
+        int sum = 0;
+        for (Integer value : arrayListFull) {
+            sum += value;
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public int iterateGdxArray() {
+        int sum = 0;
+        for (int ii = 0; ii < gdxArrayFull.size; ii++) {
+            sum += gdxArrayFull.get(ii);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public int removePooledList() {
+        addPooledList();
+        Iterator<Integer> it = pooled.iterator();
+        while (it.hasNext()) {
+            if ((it.next() & 1) == 0) {
+                it.remove();
+            }
+        }
+        return pooled.size();
+    }
+
+    @Benchmark
+    public int removeArrayList() {
+        addArrayList();
+        Iterator<Integer> it = arrayList.iterator();
+        while (it.hasNext()) {
+            if ((it.next() & 1) == 0) {
+                it.remove();
+            }
+        }
+        return arrayList.size();
+    }
+
+    @Benchmark
+    public int removeGdxArray() {
+        addGdxArray();
+        for (int ii = gdxArray.size-1; ii >= 0; ii--) {
+            if ((gdxArray.get(ii) & 1) == 0) {
+                gdxArray.removeIndex(ii);
+            }
+        }
+        return gdxArray.size;
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ * PolygonBenchmark.java
+ *
+ * Measures the cost of building the snow terrain, which is the bulk of level loading
+ * time that does not depend on textures.
+ */
+package edu.cornell.gdiac.benchmarks;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.math.EarClippingTriangulator;
+import com.badlogic.gdx.physics.box2d.PolygonShape;
+import com.badlogic.gdx.utils.*;
+import edu.cornell.gdiac.main.obstacle.PolygonObstacle;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for triangulating and constructing every snow polygon of every level.
+ *
+ * Each operation processes all of the snow polygons in the game.  Constructing a
+ * PolygonObstacle allocates native Box2D shapes, and obstacles have no dispose
+ * method.  So the benchmark builds a subclass that can free its shapes, and frees
+ * them after each invocation (outside of the measurement).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PolygonBenchmark {
+    /** The snow polygons of every level */
+    private Array<float[]> polygons;
+    /** The triangulator to measure on its own */
+    private EarClippingTriangulator triangulator;
+    /** The obstacles built by the last invocation */
+    private Array<DisposablePolygon> built;
+
+    /**
+     * A polygon obstacle that can free its native shapes
+     */
+    private static class DisposablePolygon extends PolygonObstacle {
+        /**
+         * Creates a polygon obstacle from the given points
+         *
+         * @param points    The polygon vertices
+         */
+        DisposablePolygon(float[] points) {
+            super(points, 0, 0);
+        }
+
+        /**
+         * Frees the Box2D shapes of this polygon
+         */
+        void dispose() {
+            for (PolygonShape shape : shapes) {
+                shape.dispose();
+            }
+        }
+    }
+
+    @Setup
+    public void setup() {
+        BenchmarkSupport.init();
+        JsonReader reader = new JsonReader();
+        polygons = new Array<float[]>();
+        for (FileHandle file : BenchmarkSupport.levelFiles()) {
+            polygons.addAll(BenchmarkSupport.snow(reader.parse(file)));
+        }
+        triangulator = new EarClippingTriangulator();
+        built = new Array<DisposablePolygon>(polygons.size);
+    }
+
+    @TearDown(Level.Invocation)
+    public void release() {
+        for (DisposablePolygon obstacle : built) {
+            obstacle.dispose();
+        }
+        built.clear();
+    }
+
+    @Benchmark
+    public void triangulate(Blackhole hole) {
+        for (float[] points : polygons) {
+            hole.consume(triangulator.computeTriangles(points).size);
+        }
+    }
+
+    @Benchmark
+    public void construct(Blackhole hole) {
+        for (float[] points : polygons) {
+            DisposablePolygon obstacle = new DisposablePolygon(points);
+            built.add(obstacle);
+            hole.consume(obstacle);
+        }
+    }
+}
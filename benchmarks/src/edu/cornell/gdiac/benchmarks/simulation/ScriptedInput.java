@@ -0,0 +1,222 @@
+/*
+ * ScriptedInput.java
+ *
+ * The game polls Gdx.input for the keyboard and mouse, both in InputController and in
+ * the player model.  Replacing Gdx.input with this class lets a simulation play a
+ * level from a fixed timeline of input events.
+ */
+package edu.cornell.gdiac.benchmarks.simulation;
+
+import com.badlogic.gdx.Input;
+import com.badlogic.gdx.backends.headless.mock.input.MockInput;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.*;
+
+import java.util.Comparator;
+
+/**
+ * An input device that replays a timeline of key and mouse events.
+ *
+ * A timeline is a JSON file of the form
+ *
+ *     {
+ *         period: 600,
+ *         events: [
+ *             {tick: 0, press: [D]},
+ *             {tick: 60, press: [W]},
+ *             {tick: 62, release: [W]},
+ *             {tick: 300, touch: [900, 200]},
+ *             {tick: 340, untouch: true}
+ *         ]
+ *     }
+ *
+ * Ticks are simulation steps.  Keys are named as in {@link Input.Keys#valueOf}.  A
+ * touch holds the left mouse button down at the given screen position until the next
+ * untouch.  If the period is positive, the timeline repeats with that many ticks.
+ */
+public class ScriptedInput extends MockInput {
+    /** A timeline that runs right, jumps, throws a penguin and comes back */
+    public static final String DEFAULT_SCRIPT = "{period:600,events:["+
+            "{tick:0,press:[D]},{tick:60,press:[W]},{tick:62,release:[W]},"+
+            "{tick:200,press:[W]},{tick:202,release:[W]},"+
+            "{tick:300,touch:[900,200]},{tick:340,untouch:true},"+
+            "{tick:420,release:[D],press:[A]},{tick:480,press:[W]},{tick:482,release:[W]},"+
+            "{tick:599,release:[A]}]}";
+
+    /** A change of input at a single tick */
+    private static class Event {
+        /** The tick of this event */
+        int tick;
+        /** The keys pressed at this tick */
+        IntArray press = new IntArray();
+        /** The keys released at this tick */
+        IntArray release = new IntArray();
+        /** Whether the mouse is pressed at this tick */
+        boolean touch;
+        /** Whether the mouse is released at this tick */
+        boolean untouch;
+        /** The mouse x-coordinate, if pressed */
+        int x;
+        /** The mouse y-coordinate, if pressed */
+        int y;
+    }
+
+    /** The events, in order of tick */
+    private final Array<Event> events;
+    /** The length of the timeline before it repeats (or 0 for no repeat) */
+    private final int period;
+    /** The index of the next event to apply */
+    private int next;
+    /** The keys currently held down */
+    private final IntSet pressed = new IntSet();
+    /** Whether the mouse is currently held down */
+    private boolean touched;
+    /** The current mouse x-coordinate */
+    private int mouseX;
+    /** The current mouse y-coordinate */
+    private int mouseY;
+
+    /**
+     * Returns the input timeline in the given file
+     *
+     * @param file  The JSON timeline
+     *
+     * @return the input timeline in the given file
+     */
+    public static ScriptedInput load(FileHandle file) {
+        return new ScriptedInput(new JsonReader().parse(file));
+    }
+
+    /**
+     * Returns the input timeline in the given string
+     *
+     * @param json  The JSON timeline
+     *
+     * @return the input timeline in the given string
+     */
+    public static ScriptedInput parse(String json) {
+        return new ScriptedInput(new JsonReader().parse(json));
+    }
+
+    /**
+     * Creates an input timeline from the given JSON
+     *
+     * @param json  The JSON timeline
+     */
+    private ScriptedInput(JsonValue json) {
+        period = json.getInt("period", 0);
+        events = new Array<Event>();
+        for (JsonValue entry : json.get("events")) {
+            Event event = new Event();
+            event.tick = entry.getInt("tick");
+            readKeys(entry.get("press"), event.press);
+            readKeys(entry.get("release"), event.release);
+            JsonValue touch = entry.get("touch");
+            if (touch != null) {
+                event.touch = true;
+                event.x = touch.getInt(0);
+                event.y = touch.getInt(1);
+            }
+            event.untouch = entry.getBoolean("untouch", false);
+            events.add(event);
+        }
+        events.sort(new Comparator<Event>() {
+            public int compare(Event a, Event b) {
+                return a.tick - b.tick;
+            }
+        });
+    }
+
+    /**
+     * Adds the key codes of the named keys to the given array
+     *
+     * @param names The JSON array of key names (or null)
+     * @param keys  The array to add the key codes to
+     */
+    private static void readKeys(JsonValue names, IntArray keys) {
+        if (names == null) {
+            return;
+        }
+        for (JsonValue name : names) {
+            int key = Input.Keys.valueOf(name.asString());
+            if (key == -1) {
+                throw new GdxRuntimeException("Unknown key "+name.asString());
+            }
+            keys.add(key);
+        }
+    }
+
+    /**
+     * Applies every event up to the given tick.
+     *
+     * This should be called once per tick, before the game reads its input.
+     *
+     * @param tick  The current simulation tick
+     */
+    public void advance(int tick) {
+        int time = tick;
+        if (period > 0) {
+            time = tick % period;
+            if (time == 0) {
+                next = 0;
+            }
+        }
+        while (next < events.size && events.get(next).tick <= time) {
+            Event event = events.get(next++);
+            for (int ii = 0; ii < event.release.size; ii++) {
+                pressed.remove(event.release.get(ii));
+            }
+            for (int ii = 0; ii < event.press.size; ii++) {
+                pressed.add(event.press.get(ii));
+            }
+            if (event.touch) {
+                touched = true;
+                mouseX = event.x;
+                mouseY = event.y;
+            }
+            if (event.untouch) {
+                touched = false;
+            }
+        }
+    }
+
+    @Override
+    public boolean isKeyPressed(int key) {
+        return key == Input.Keys.ANY_KEY ? pressed.size > 0 : pressed.contains(key);
+    }
+
+    @Override
+    public boolean isTouched() {
+        return touched;
+    }
+
+    @Override
+    public boolean isTouched(int pointer) {
+        return pointer == 0 && touched;
+    }
+
+    @Override
+    public boolean isButtonPressed(int button) {
+        return button == Input.Buttons.LEFT && touched;
+    }
+
+    @Override
+    public int getX() {
+        return mouseX;
+    }
+
+    @Override
+    public int getX(int pointer) {
+        return pointer == 0 ? mouseX : 0;
+    }
+
+    @Override
+    public int getY() {
+        return mouseY;
+    }
+
+    @Override
+    public int getY(int pointer) {
+        return pointer == 0 ? mouseY : 0;
+    }
+}
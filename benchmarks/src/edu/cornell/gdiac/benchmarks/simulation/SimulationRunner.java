@@ -0,0 +1,198 @@
+/*
+ * SimulationRunner.java
+ *
+ * Plays a level without a window, as fast as the CPU allows, to measure the cost of
+ * the simulation alone.  This runs on machines with no GPU or sound card, so physics
+ * regressions can be caught on a build server.
+ */
+package edu.cornell.gdiac.benchmarks.simulation;
+
+import com.badlogic.gdx.ApplicationAdapter;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.Screen;
+import com.badlogic.gdx.backends.headless.HeadlessApplication;
+import com.badlogic.gdx.backends.headless.HeadlessApplicationConfiguration;
+import edu.cornell.gdiac.audio.AudioEngine;
+import edu.cornell.gdiac.main.GDXRoot;
+import edu.cornell.gdiac.main.controller.WorldController;
+import edu.cornell.gdiac.main.controller.gaming.GameplayController;
+import edu.cornell.gdiac.main.controller.gaming.LevelLoader;
+import edu.cornell.gdiac.main.view.GameCanvas;
+import edu.cornell.gdiac.util.ScreenListener;
+
+/**
+ * A headless application that plays one level with scripted input.
+ *
+ * Usage: SimulationRunner continent level [ticks] [script]
+ *
+ * The continent is the asset directory of the level (e.g. africa/africaMain.json) and
+ * the level counts from 1.  Each tick advances the game by exactly one physics step,
+ * and nothing is drawn.  If the level is completed or failed, it is restarted, as a
+ * player would.  At the end, the runner reports the ticks per second and the average
+ * and worst time of each phase of the game loop:
+ *
+ * input:   reading the input (WorldController.preUpdate)
+ * update:  the game logic (GameplayController.update)
+ * physics: stepping the world and updating the objects (postUpdate)
+ *
+ * The program must be run from the asset directory.
+ */
+public class SimulationRunner extends ApplicationAdapter implements ScreenListener {
+    /** The number of ticks to run by default (one minute of play) */
+    private static final int DEFAULT_TICKS = 3600;
+    /** The names of the timed phases */
+    private static final String[] PHASES = {"input", "update", "physics"};
+
+    /** The asset directory of the level */
+    private final String directory;
+    /** The level number, counting from 1 */
+    private final int level;
+    /** The number of ticks to run */
+    private final int ticks;
+    /** The input timeline file (or null for the default timeline) */
+    private final String script;
+
+    /** The level being played */
+    private GameplayController gameplay;
+    /** The total time of each phase in nanoseconds */
+    private long[] totals = new long[PHASES.length];
+    /** The worst time of each phase in nanoseconds */
+    private long[] worst = new long[PHASES.length];
+    /** The number of times the level was completed */
+    private int completions;
+    /** The number of times the level was failed */
+    private int failures;
+
+    /**
+     * Runs the simulation described by the command line
+     *
+     * @param args  The command line arguments
+     */
+    public static void main(String[] args) {
+        if (args.length < 2) {
+            System.err.println("Usage: SimulationRunner continent level [ticks] [script]");
+            System.exit(2);
+        }
+        int ticks = args.length > 2 ? Integer.parseInt(args[2]) : DEFAULT_TICKS;
+        String script = args.length > 3 ? args[3] : null;
+        SimulationRunner runner = new SimulationRunner(args[0], Integer.parseInt(args[1]), ticks, script);
+        new HeadlessApplication(runner, new HeadlessApplicationConfiguration());
+    }
+
+    /**
+     * Creates a runner for the given level
+     *
+     * @param directory The asset directory of the level
+     * @param level     The level number, counting from 1
+     * @param ticks     The number of ticks to run
+     * @param script    The input timeline file (or null for the default timeline)
+     */
+    public SimulationRunner(String directory, int level, int ticks, String script) {
+        this.directory = directory;
+        this.level = level;
+        this.ticks = ticks;
+        this.script = script;
+    }
+
+    /**
+     * Runs the whole simulation and then exits.
+     *
+     * The simulation runs here, rather than in render, so that the ticks are not
+     * throttled by the application loop.
+     */
+    @Override
+    public void create() {
+        try {
+            simulate();
+        } catch (RuntimeException e) {
+            Gdx.app.error("SimulationRunner", "Simulation failed", e);
+            System.exit(1);
+        }
+        Gdx.app.exit();
+    }
+
+    /**
+     * Loads the level and runs it for the requested number of ticks
+     */
+    private void simulate() {
+        // Nothing may reach the real graphics or audio
+        Gdx.gl = Gdx.gl20 = Stubs.gl();
+        Gdx.audio = Stubs.create(AudioEngine.class);
+        ScriptedInput input = (script == null ? ScriptedInput.parse(ScriptedInput.DEFAULT_SCRIPT)
+                                              : ScriptedInput.load(Gdx.files.internal(script)));
+        Gdx.input = input;
+
+        long start = System.nanoTime();
+        GDXRoot.load1();
+        GDXRoot.canvas = new GameCanvas();
+        gameplay = new GameplayController();
+        gameplay.setScreenListener(this);
+        gameplay.setCanvas(GDXRoot.canvas);
+        gameplay.loadLevel(new LevelLoader(directory, level-1));
+        gameplay.reset();
+        long loaded = System.nanoTime();
+
+        float dt = WorldController.WORLD_STEP;
+        long[] marks = new long[PHASES.length+1];
+        for (int tick = 0; tick < ticks; tick++) {
+            input.advance(tick);
+            marks[0] = System.nanoTime();
+            boolean active = gameplay.preUpdate(dt);
+            marks[1] = System.nanoTime();
+            if (active) {
+                gameplay.update(dt);
+            }
+            marks[2] = System.nanoTime();
+            if (active) {
+                gameplay.postUpdate(dt);
+            }
+            marks[3] = System.nanoTime();
+            for (int ii = 0; ii < PHASES.length; ii++) {
+                long time = marks[ii+1]-marks[ii];
+                totals[ii] += time;
+                worst[ii] = Math.max(worst[ii], time);
+            }
+
+            // A failed level waits for a click on the death screen
+            if (gameplay.isFailure()) {
+                failures++;
+                gameplay.reset();
+            }
+        }
+        report((loaded-start)/1e9);
+    }
+
+    /**
+     * Prints the results of the simulation
+     *
+     * @param loadTime  The time to load the assets and level, in seconds
+     */
+    private void report(double loadTime) {
+        long total = 0;
+        for (long time : totals) {
+            total += time;
+        }
+        double seconds = total/1e9;
+        System.out.printf("%s level %d: loaded in %.2f s%n", directory, level, loadTime);
+        System.out.printf("%d ticks in %.3f s (%.1f ticks/s), %d completed, %d failed%n",
+                          ticks, seconds, ticks/seconds, completions, failures);
+        for (int ii = 0; ii < PHASES.length; ii++) {
+            System.out.printf("  %-8s %8.4f ms/tick avg %8.4f ms max%n",
+                              PHASES[ii], totals[ii]/1e6/ticks, worst[ii]/1e6);
+        }
+    }
+
+    /**
+     * Restarts the level when it is completed.
+     *
+     * In the game, this would advance to the next level.
+     *
+     * @param screen    The screen requesting to exit
+     * @param exitCode  The state of the screen upon exit
+     */
+    @Override
+    public void updateScreen(Screen screen, int exitCode) {
+        completions++;
+        gameplay.reset();
+    }
+}
@@ -0,0 +1,131 @@
+/*
+ * Stubs.java
+ *
+ * The simulation runs without a window or a sound card, but loading a level still
+ * creates textures, shaders and sounds.  This class provides implementations of the
+ * OpenGL and audio interfaces that do nothing, so that loading succeeds and drawing
+ * costs nothing.
+ */
+package edu.cornell.gdiac.benchmarks.simulation;
+
+import com.badlogic.gdx.graphics.GL20;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.nio.IntBuffer;
+
+/**
+ * Factory for do-nothing implementations of interfaces.
+ *
+ * Every method of a stub returns zero, false, the empty string or null.  Methods that
+ * return an interface return another stub, so that chains of calls (such as creating
+ * a sound and then playing it) succeed.
+ */
+public class Stubs {
+
+    /**
+     * Returns a stub implementation of the given interface
+     *
+     * @param type  The interface to implement
+     *
+     * @return a stub implementation of the given interface
+     */
+    public static <T> T create(Class<T> type) {
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, new Handler(type)));
+    }
+
+    /**
+     * Returns a stub OpenGL context.
+     *
+     * The context hands out nonzero object handles and reports that every shader
+     * compiles and links, so that sprite batches and textures can be created.  It
+     * never draws anything.
+     *
+     * @return a stub OpenGL context.
+     */
+    public static GL20 gl() {
+        return (GL20)Proxy.newProxyInstance(GL20.class.getClassLoader(), new Class<?>[]{GL20.class}, new GLHandler());
+    }
+
+    /** The handler for a generic stub */
+    private static class Handler implements InvocationHandler {
+        /** The interface implemented by the stub */
+        private final Class<?> type;
+
+        Handler(Class<?> type) {
+            this.type = type;
+        }
+
+        public Object invoke(Object proxy, Method method, Object[] args) {
+            if (method.getDeclaringClass() == Object.class) {
+                String name = method.getName();
+                if (name.equals("equals")) {
+                    return proxy == args[0];
+                } else if (name.equals("hashCode")) {
+                    return System.identityHashCode(proxy);
+                }
+                return "Stub " + type.getSimpleName();
+            }
+            return defaultValue(method.getReturnType());
+        }
+
+        /**
+         * Returns the value a stub method returns for the given type
+         *
+         * @param result    The return type of the method
+         *
+         * @return the value a stub method returns for the given type
+         */
+        private static Object defaultValue(Class<?> result) {
+            if (result == boolean.class) {
+                return false;
+            } else if (result == char.class) {
+                return '\0';
+            } else if (result == byte.class) {
+                return (byte)0;
+            } else if (result == short.class) {
+                return (short)0;
+            } else if (result == int.class) {
+                return 0;
+            } else if (result == long.class) {
+                return 0L;
+            } else if (result == float.class) {
+                return 0.0f;
+            } else if (result == double.class) {
+                return 0.0;
+            } else if (result == String.class) {
+                return "";
+            } else if (result.isInterface()) {
+                return create(result);
+            }
+            return null;
+        }
+    }
+
+    /** The handler for a stub OpenGL context */
+    private static class GLHandler extends Handler {
+        /** The next object handle to hand out */
+        private int nextHandle = 1;
+
+        GLHandler() {
+            super(GL20.class);
+        }
+
+        public synchronized Object invoke(Object proxy, Method method, Object[] args) {
+            String name = method.getName();
+            if (method.getReturnType() == int.class && (name.startsWith("glCreate") || name.startsWith("glGen"))) {
+                return nextHandle++;
+            } else if (name.equals("glCheckFramebufferStatus")) {
+                return GL20.GL_FRAMEBUFFER_COMPLETE;
+            } else if (name.equals("glGetShaderiv") || name.equals("glGetProgramiv")) {
+                int pname = (Integer)args[1];
+                IntBuffer params = (IntBuffer)args[2];
+                boolean status = (pname == GL20.GL_COMPILE_STATUS || pname == GL20.GL_LINK_STATUS);
+                params.put(params.position(), status ? 1 : 0);
+                return null;
+            }
+            return super.invoke(proxy, method, args);
+        }
+    }
+}
@@ -162,6 +162,7 @@ public class AssetDirectory extends AssetManager {
         topLoader.addParser( new JsonValueParser() );
         topLoader.addParser( new TextureParser() );
         topLoader.addParser( new TextureRegionParser() );
+        topLoader.addParser( new AtlasRegionParser() );
         topLoader.addParser( new FilmStripParser() );
         topLoader.addParser( new FreetypeFontParser() );
         topLoader.addParser( new SoundBufferParser() );
@@ -325,4 +326,28 @@ public class AssetDirectory extends AssetManager {
         }
         return contains( filename, type );
     }
+
+    /**
+     * Returns the texture region associated with the given texture key
+     *
+     * If the texture was packed into an atlas (see {@link AtlasRegionParser}), this is
+     * its region on the atlas page.  Otherwise, it is a region covering the whole
+     * texture.  Callers should prefer this method to {@code getEntry(key, Texture.class)}
+     * for anything drawn through a sprite batch, so packed textures share a page.
+     *
+     * The method {@link #loadAssets} must have been called for this method to
+     * return anything other than null.
+     *
+     * @param key  the texture key
+     *
+     * @return the texture region associated with the given texture key
+     */
+    public TextureRegion getRegion(String key) {
+        TextureRegion region = getEntry( key, TextureRegion.class );
+        if (region != null) {
+            return region;
+        }
+        Texture texture = getEntry( key, Texture.class );
+        return texture == null ? null : new TextureRegion( texture );
+    }
 }
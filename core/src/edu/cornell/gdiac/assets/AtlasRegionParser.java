@@ -0,0 +1,152 @@
+/*
+ * AtlasRegionParser.java
+ *
+ * This is an interface for parsing a JSON entry into regions of a packed texture atlas.
+ * It allows many small textures to share a single atlas page, so that they can be
+ * drawn without switching textures (and flushing the sprite batch).
+ */
+package edu.cornell.gdiac.assets;
+
+import com.badlogic.gdx.assets.AssetManager;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.utils.JsonValue;
+import com.badlogic.gdx.utils.ObjectMap;
+
+/**
+ * This class parses a JSON entry into {@link TextureRegion} objects of a {@link TextureAtlas}.
+ *
+ * Atlases are defined in a top-level subobject called "atlases".  Each atlas has the
+ * following entries:
+ *
+ * * "file": The .atlas file produced by the texture packer
+ * * "regions": An array of texture keys packed into this atlas
+ *
+ * Each region is named after the key of its source texture in "textures", and it is
+ * registered under that same key.  Hence {@code getEntry(key, TextureRegion.class)}
+ * returns the atlas region for a packed texture.  The atlas files are generated by the
+ * packTextures Gradle task.  If an atlas file does not exist (e.g. it has not been
+ * packed yet), its regions are skipped.
+ *
+ * The source textures are still loaded by {@link TextureParser}, so that
+ * {@code getEntry(key, Texture.class)} works whether or not the atlas was packed.
+ * Use {@link AssetDirectory#getRegion} to draw from the atlas page when there is one.
+ */
+public class AtlasRegionParser implements AssetParser<TextureRegion> {
+    /** The current atlas entry in the JSON directory */
+    private JsonValue root;
+    /** The current region entry in the JSON directory */
+    private JsonValue region;
+
+    /** The separating character between the file name and the alias */
+    public static char ALIAS_SEP = ':';
+    /** The substitution character for when an alias separation is in the file */
+    private static char ALIAS_MASK = '∀';
+
+    /**
+     * Returns true if the given atlas entry refers to an existing atlas file
+     *
+     * @param atlas     The atlas entry in the JSON directory
+     * @param manager   The asset manager to resolve the atlas file
+     *
+     * @return true if the given atlas entry refers to an existing atlas file
+     */
+    private static boolean isPacked(JsonValue atlas, AssetManager manager) {
+        String file = atlas.getString( "file", null );
+        return file != null && manager.getFileHandleResolver().resolve( file ).exists();
+    }
+
+    /**
+     * Returns the asset type generated by this parser
+     *
+     * @return the asset type generated by this parser
+     */
+    public Class<TextureRegion> getType() {
+        return TextureRegion.class;
+    }
+
+    /**
+     * Resets the parser iterator for the given directory.
+     *
+     * The value directory is assumed to be the root of a larger JSON structure.
+     * The individual assets are defined by subtrees in this structure.
+     *
+     * @param directory    The JSON representation of the asset directory
+     */
+    public void reset(JsonValue directory) {
+        root = directory;
+        root = root.getChild( "atlases" );
+        region = null;
+        advance();
+    }
+
+    /**
+     * Returns true if there are still assets left to generate
+     *
+     * @return true if there are still assets left to generate
+     */
+    public boolean hasNext() {
+        return region != null;
+    }
+
+    /**
+     * Processes the next available atlas region, loading it into the asset manager
+     *
+     * The region is loaded as a {@link TextureRegion} whose parameters name the atlas
+     * file and the region.  If the atlas file does not exist, every region of that
+     * atlas is skipped.
+     *
+     * This method fails silently if there are no available assets to process.
+     *
+     * @param manager   The asset manager to load an asset
+     * @param keymap    The mapping of JSON keys to asset file names
+     */
+    public void processNext(AssetManager manager, ObjectMap<String,String> keymap) {
+        if (!isPacked( root, manager )) {
+            region = null;
+            root = root.next();
+            advance();
+            return;
+        }
+        String file = root.getString( "file" );
+        String name = region.asString();
+        TextureRegionLoader.TextureRegionParameters params = new TextureRegionLoader.TextureRegionParameters(file);
+        params.region = name;
+
+        String asset = ParserUtils.safeConcatenate(file,name,ALIAS_SEP,ALIAS_MASK);
+        keymap.put(name,asset);
+        manager.load( asset, TextureRegion.class, params );
+        advance();
+    }
+
+    /**
+     * Returns true if o is another AtlasRegionParser
+     *
+     * @return true if o is another AtlasRegionParser
+     */
+    public boolean equals(Object o) {
+        return o instanceof AtlasRegionParser;
+    }
+
+    /**
+     * Advances the read position forward to find the next atlas region
+     *
+     * As an atlas may have no regions, we need to scan forward to find the next one.
+     */
+    private void advance() {
+        if (region != null) {
+            region = region.next();
+            if (region == null) {
+                root = root.next();
+            }
+        }
+        while (region == null && root != null) {
+            if (root.hasChild( "regions" )) {
+                region = root.getChild( "regions" );
+            } else {
+                root = root.next();
+            }
+        }
+    }
+
+}
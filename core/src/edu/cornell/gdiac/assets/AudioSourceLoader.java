@@ -18,14 +18,31 @@ import com.badlogic.gdx.assets.loaders.resolvers.InternalFileHandleResolver;
 import com.badlogic.gdx.files.FileHandle;
 import edu.cornell.gdiac.audio.*;
 import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.ObjectMap;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
 
 /**
  * This class is an {@link AssetLoader} to load {@link AudioSource} assets.
+ *
+ * The asset manager loads one asset at a time, and decoding an audio file is slow.
+ * So a parser may {@link #prefetch} a source as soon as it knows about it.  This
+ * creates and decodes the source on a pool shared by all loaders, with one thread
+ * per core.  When the asset manager gets to the source, it just waits for the
+ * decoded result.
  */
 public class AudioSourceLoader extends AsynchronousAssetLoader<AudioSource, AudioSourceLoader.AudioSourceParameters> {
+    /** The pool for decoding prefetched sources (created on demand) */
+    private static ForkJoinPool decoders;
 
     /** The asynchronously read audio source */
     private AudioSource cachedSource;
+    /** The prefetched sources not yet claimed by the asset manager */
+    private final ObjectMap<String,Future<AudioSource>> prefetched;
     
     /**
      * The definable parameters for an {@link AudioSource}.
@@ -48,6 +65,47 @@ public class AudioSourceLoader extends AsynchronousAssetLoader<AudioSource, Audi
      */
     public AudioSourceLoader(FileHandleResolver resolver) {
         super(resolver);
+        prefetched = new ObjectMap<String,Future<AudioSource>>();
+    }
+
+    /**
+     * Starts creating and decoding the given audio source in the background.
+     *
+     * The source is fully decoded (with {@link AudioSource#getData}), so this should
+     * only be used for sources that will become sound buffers.  The asset manager
+     * must still be asked to load the source; it will claim the decoded source when
+     * it does.  Prefetching a file twice has no effect.
+     *
+     * This method must be called on the main thread.
+     *
+     * @param fileName  The name of the source to decode
+     */
+    public void prefetch(String fileName) {
+        final FileHandle file = resolve( fileName );
+        synchronized (prefetched) {
+            if (prefetched.containsKey( fileName )) {
+                return;
+            }
+            prefetched.put( fileName, getDecoders().submit( new Callable<AudioSource>() {
+                public AudioSource call() {
+                    AudioSource source = ((AudioEngine)Gdx.audio).newSource( file );
+                    source.getData();
+                    return source;
+                }
+            } ) );
+        }
+    }
+
+    /**
+     * Returns the pool shared by all loaders for decoding sources
+     *
+     * @return the pool shared by all loaders for decoding sources
+     */
+    private static synchronized ForkJoinPool getDecoders() {
+        if (decoders == null) {
+            decoders = new ForkJoinPool( Runtime.getRuntime().availableProcessors() );
+        }
+        return decoders;
     }
 
     /** 
@@ -65,7 +123,8 @@ public class AudioSourceLoader extends AsynchronousAssetLoader<AudioSource, Audi
      * Loads thread-safe part of the asset and injects any dependencies into the AssetManager.
      *
      * This is used to load non-OpenGL parts of the asset that do not require the context
-     * of the main thread.
+     * of the main thread.  If the source was prefetched, this waits for it to finish
+     * decoding.
      *
      * @param manager   The asset manager
      * @param fileName  The name of the asset to load
@@ -74,7 +133,23 @@ public class AudioSourceLoader extends AsynchronousAssetLoader<AudioSource, Audi
      */
     @Override
     public void loadAsync (AssetManager manager, String fileName, FileHandle file, AudioSourceParameters params) {
-        cachedSource = ((AudioEngine)Gdx.audio).newSource(file);
+        Future<AudioSource> pending;
+        synchronized (prefetched) {
+            pending = prefetched.remove( fileName );
+        }
+        if (pending == null) {
+            cachedSource = ((AudioEngine)Gdx.audio).newSource(file);
+            return;
+        }
+
+        try {
+            cachedSource = pending.get();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new GdxRuntimeException( "Interrupted while decoding "+fileName, ex );
+        } catch (ExecutionException ex) {
+            throw new GdxRuntimeException( "Error decoding "+fileName, ex.getCause() );
+        }
     }
 
     /** 
@@ -63,6 +63,8 @@ public class MusicBufferLoader extends AsynchronousAssetLoader<MusicBuffer, Musi
         public boolean looping;
         /** Whether to use a local loop behavior (loop one source only) */
         public boolean shortLoop;
+        /** Whether to play the sources together as synchronized stems */
+        public boolean stems;
 
         /**
          * Creates music buffer parameters for stereo CD sound.
@@ -100,6 +102,7 @@ public class MusicBufferLoader extends AsynchronousAssetLoader<MusicBuffer, Musi
             panning = 0.0f;
             looping = false;
             shortLoop = false;
+            stems = false;
         }
 
     }
@@ -162,6 +165,7 @@ public class MusicBufferLoader extends AsynchronousAssetLoader<MusicBuffer, Musi
         for(String deps : manager.getDependencies(fileName)) {
             cachedBuffer.addSource( manager.get(deps,AudioSource.class) );
         }
+        cachedBuffer.setStemMode( params.stems );
     }
 
     /** 
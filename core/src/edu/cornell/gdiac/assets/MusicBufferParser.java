@@ -86,6 +86,7 @@ public class MusicBufferParser implements AssetParser<MusicBuffer> {
             params.panning = 0.0f;
             params.looping = false;
             params.shortLoop = false;
+            params.stems = false;
             String file = root.asString();
             params.sources.add(file);
             keymap.put(root.name(), root.name());
@@ -97,6 +98,7 @@ public class MusicBufferParser implements AssetParser<MusicBuffer> {
             params.panning = root.getFloat( "panning", 0.0f );
             params.looping = root.getBoolean( "looping", false );
             params.shortLoop = root.getBoolean( "shortLoop", false );
+            params.stems = root.getBoolean( "stems", false );
             JsonValue sources = root.get("sources");
             if (sources != null) {
                 for (int ii = 0; ii < sources.size; ii++) {
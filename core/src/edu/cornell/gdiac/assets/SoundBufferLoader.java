@@ -29,8 +29,8 @@ import edu.cornell.gdiac.audio.*;
 public class SoundBufferLoader extends AsynchronousAssetLoader<SoundBuffer, SoundBufferLoader.SoundBufferParameters> {
     /** A reference to the file handle resolver (inaccessible in parent class) */
     protected FileHandleResolver resolver;
-    /** The asynchronously read SoundBuffer */
-    private SoundBuffer cachedBuffer;
+    /** The asynchronously decoded audio source */
+    private AudioSource cachedSource;
 
     /**
      * The definable parameters for a {@link SoundBuffer}.
@@ -41,6 +41,14 @@ public class SoundBufferLoader extends AsynchronousAssetLoader<SoundBuffer, Soun
 	static public class SoundBufferParameters extends AssetLoaderParameters<SoundBuffer> {
         /** The reference to the audio source in the asset manager */
         public String source;
+        /** The maximum number of simultaneous instances (0 for no limit) */
+        public int maxInstances = 0;
+        /** The minimum time between instances starting in seconds */
+        public float retrigger = 0;
+        /** Whether to restart the oldest instance (instead of dropping) at the limit */
+        public boolean restart = false;
+        /** The mixer bus (null for the default bus) */
+        public String bus = null;
 
         /**
          * Creates sound buffer parameters for the give audio source.
@@ -70,21 +78,22 @@ public class SoundBufferLoader extends AsynchronousAssetLoader<SoundBuffer, Soun
     }
 
     /** 
-     * Returns the {@link SoundBuffer} instance currently loaded by this loader.
+     * Returns the {@link AudioSource} instance currently decoded by this loader.
      *
-     * If nothing has been loaded, this returns {@code null}.
+     * If nothing has been decoded, this returns {@code null}.
      *
-     * @return the {@link SoundBuffer} instance currently loaded by this loader.
+     * @return the {@link AudioSource} instance currently decoded by this loader.
      */
-    protected SoundBuffer getLoadedSound () {
-        return cachedBuffer;
+    protected AudioSource getLoadedSource () {
+        return cachedSource;
     }
 
     /** 
      * Loads thread-safe part of the asset and injects any dependencies into the AssetManager.
      *
      * This is used to load non-OpenGL parts of the asset that do not require the context
-     * of the main thread.
+     * of the main thread.  This makes sure that the audio source is decoded, so that
+     * only the upload to OpenAL is left for the main thread.
      *
      * @param manager   The asset manager
      * @param fileName  The name of the asset to load
@@ -93,15 +102,16 @@ public class SoundBufferLoader extends AsynchronousAssetLoader<SoundBuffer, Soun
      */
     @Override
     public void loadAsync (AssetManager manager, String fileName, FileHandle file, SoundBufferParameters params) {
-        AudioSource source = manager.get(manager.getDependencies(fileName).first(),AudioSource.class);
-        cachedBuffer = ((AudioEngine)Gdx.audio).newSoundBuffer(source);
+        cachedSource = manager.get(manager.getDependencies(fileName).first(),AudioSource.class);
+        cachedSource.getData();
     }
 
     /** 
      * Loads the main thread part of the asset.
      *
      * This is used to load OpenGL parts of the asset that require the context of the
-     * main thread.
+     * main thread.  This uploads the decoded audio to OpenAL and applies the voice
+     * limits and mixer bus of the parameters.
      *
      * @param manager   The asset manager
      * @param fileName  The name of the asset to load
@@ -110,8 +120,16 @@ public class SoundBufferLoader extends AsynchronousAssetLoader<SoundBuffer, Soun
      */
     @Override
     public SoundBuffer loadSync (AssetManager manager, String fileName, FileHandle file, SoundBufferParameters params) {
-        SoundBuffer sound = cachedBuffer;
-        cachedBuffer = null;
+        SoundBuffer sound = ((AudioEngine)Gdx.audio).newSoundBuffer(cachedSource);
+        cachedSource = null;
+        if (sound != null && params != null) {
+            sound.setMaxInstances( params.maxInstances );
+            sound.setRetriggerInterval( params.retrigger );
+            sound.setLimitBehavior( params.restart );
+            if (params.bus != null) {
+                sound.setBus( params.bus );
+            }
+        }
         return sound;
     }
 
@@ -11,6 +11,7 @@
 package edu.cornell.gdiac.assets;
 
 import com.badlogic.gdx.assets.AssetManager;
+import com.badlogic.gdx.assets.loaders.AssetLoader;
 import com.badlogic.gdx.assets.loaders.TextureLoader;
 import com.badlogic.gdx.graphics.Pixmap;
 import com.badlogic.gdx.graphics.Texture;
@@ -18,6 +19,7 @@ import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.utils.GdxRuntimeException;
 import com.badlogic.gdx.utils.JsonValue;
 import com.badlogic.gdx.utils.ObjectMap;
+import edu.cornell.gdiac.audio.AudioSource;
 import edu.cornell.gdiac.audio.SoundBuffer;
 
 /**
@@ -68,8 +70,15 @@ public class SoundBufferParser implements AssetParser<SoundBuffer> {
     /**
      * Processes the next available sound buffer, loading it into the asset manager
      *
-     * {@link SoundBuffer} objects have no additional loader properties.  They are
-     * specified key : filename.
+     * {@link SoundBuffer} objects are specified key : filename.  Alternatively,
+     * they may be specified key : object, where the object has the filename as
+     * "file" and optional voice limits "instances" (an int), "retrigger" (a time
+     * in seconds), and "restart" (a boolean).  See {@link SoundBuffer} for the
+     * meaning of these limits.  The object may also name a mixer "bus" for the
+     * sound, such as "ui" for menu sounds.
+     *
+     * The audio source for the file starts decoding immediately, in parallel with
+     * the other sound buffers, instead of waiting for its turn in the asset manager.
      *
      * This method fails silently if there are no available assets to process.
      *
@@ -77,10 +86,26 @@ public class SoundBufferParser implements AssetParser<SoundBuffer> {
      * @param keymap    The mapping of JSON keys to asset file names
      */
     public void processNext(AssetManager manager, ObjectMap<String,String> keymap) {
-        String file = root.asString();
+        String file;
+        SoundBufferLoader.SoundBufferParameters params = null;
+        if (root.isString()) {
+            file = root.asString();
+        } else {
+            file = root.getString( "file" );
+            params = new SoundBufferLoader.SoundBufferParameters( file );
+            params.maxInstances = root.getInt( "instances", 0 );
+            params.retrigger = root.getFloat( "retrigger", 0.0f );
+            params.restart = root.getBoolean( "restart", false );
+            params.bus = root.getString( "bus", null );
+        }
         String asset = ParserUtils.safeConcatenate(file,root.name(),ALIAS_SEP,ALIAS_MASK);
         keymap.put(root.name(), asset);
-        manager.load( asset, SoundBuffer.class, null );
+        manager.load( asset, SoundBuffer.class, params );
+
+        AssetLoader loader = manager.getLoader( AudioSource.class );
+        if (loader instanceof AudioSourceLoader && !manager.isLoaded( file, AudioSource.class )) {
+            ((AudioSourceLoader)loader).prefetch( file );
+        }
         root = root.next();
     }
 
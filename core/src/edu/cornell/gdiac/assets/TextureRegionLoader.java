@@ -16,6 +16,7 @@ import com.badlogic.gdx.assets.loaders.*;
 import com.badlogic.gdx.assets.loaders.resolvers.*;
 import com.badlogic.gdx.files.FileHandle;
 import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.utils.Array;
 import com.badlogic.gdx.utils.GdxRuntimeException;
@@ -24,7 +25,8 @@ import com.badlogic.gdx.utils.GdxRuntimeException;
  * This class is an {@link AssetLoader} to load {@link TextureRegion} assets.
  *
  * A texture region asset should be specified by filename:name where name is a unique
- * name for the region.
+ * name for the region.  The file is either a texture or, if the parameters name an
+ * atlas region, a {@link TextureAtlas}.
  */
 public class TextureRegionLoader extends AsynchronousAssetLoader<TextureRegion, TextureRegionLoader.TextureRegionParameters> {
     /** A reference to the file handle resolver (inaccessible in parent class) */
@@ -50,6 +52,8 @@ public class TextureRegionLoader extends AsynchronousAssetLoader<TextureRegion,
         public int width  = -1;
         /** The pixel height of the texture region; use -1 for "remaining" height */
         public int height = -1;
+        /** The region name in a {@link TextureAtlas}; if set, source is the atlas file */
+        public String region = null;
 
         /**
          * Creates texture region parameters for the give texture.
@@ -137,6 +141,14 @@ public class TextureRegionLoader extends AsynchronousAssetLoader<TextureRegion,
      */
     @Override
     public void loadAsync(AssetManager manager, String fileName, FileHandle file, TextureRegionParameters params) {
+        if (params != null && params.region != null) {
+            TextureAtlas atlas = manager.get(params.source, TextureAtlas.class);
+            cachedRegion = atlas.findRegion(params.region);
+            if (cachedRegion == null) {
+                throw new GdxRuntimeException( "Atlas "+params.source+" has no region '"+params.region+"'." );
+            }
+            return;
+        }
         Texture texture = manager.get(manager.getDependencies(fileName).first());
         cachedRegion = load(texture, params);
     }
@@ -199,7 +211,11 @@ public class TextureRegionLoader extends AsynchronousAssetLoader<TextureRegion,
             params = new TextureRegionParameters( prefix );
         }
         Array<AssetDescriptor> deps = new Array<AssetDescriptor>(1);
-        deps.add(new AssetDescriptor<Texture>( params.source, Texture.class));
+        if (params.region != null) {
+            deps.add(new AssetDescriptor<TextureAtlas>( params.source, TextureAtlas.class));
+        } else {
+            deps.add(new AssetDescriptor<Texture>( params.source, Texture.class));
+        }
         return deps;
     }
 
@@ -31,6 +31,13 @@ import com.badlogic.gdx.utils.GdxRuntimeException;
  * the engine from the appropriate {@link ApplicationListener}.
  */
 public interface AudioEngine extends Audio {
+    /** The mixer bus for music (the default for a {@link MusicBuffer}) */
+    public static final String MUSIC_BUS = "music";
+    /** The mixer bus for sound effects (the default for a {@link SoundBuffer}) */
+    public static final String EFFECTS_BUS = "effects";
+    /** The mixer bus for user interface sounds, including the menu music */
+    public static final String UI_BUS = "ui";
+
     /**
      * Returns the number of simultaneous sound sources supported by this audio engine.
      *
@@ -164,4 +171,33 @@ public interface AudioEngine extends Audio {
      */
     public void resume();
 
+    // #mark Mixer Buses
+    /**
+     * Sets the gain of the given mixer bus.
+     *
+     * Every {@link SoundBuffer} and {@link MusicBuffer} is attached to a named bus.
+     * The gain of a bus scales the volume of every instance attached to it, on top of
+     * the volume of the instance itself.  So this is the way to change the volume of
+     * all music (or all effects) at once.  The change is pushed to the playing
+     * instances at the next update of the engine, no matter how often it is called.
+     *
+     * A bus is created (with gain 1) the first time it is named.  The standard buses
+     * are {@link #MUSIC_BUS}, {@link #EFFECTS_BUS} and {@link #UI_BUS}.
+     *
+     * @param bus   The name of the mixer bus
+     * @param gain  The bus gain in the range [0,1]
+     */
+    public void setBusGain(String bus, float gain);
+
+    /**
+     * Returns the gain of the given mixer bus.
+     *
+     * A bus that has never been named has gain 1.
+     *
+     * @param bus   The name of the mixer bus
+     *
+     * @return the gain of the given mixer bus.
+     */
+    public float getBusGain(String bus);
+
 }
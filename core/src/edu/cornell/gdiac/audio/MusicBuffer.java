@@ -197,7 +197,82 @@ public interface MusicBuffer extends Music {
      * @return the loop behavior of this music buffer.
      */
      public boolean getLoopBehavior();
-     
+
+    // #mark Stem Mixing
+    /**
+     * Sets whether the sources of this buffer play together as synchronized stems.
+     *
+     * By default, the sources of a music buffer form a queue, and are played one
+     * after the other.  In stem mode, all of the sources play at the same time,
+     * mixed together according to the gain of each stem ({@link #setStemVolume}).
+     * The stems are decoded in lockstep through small rotating buffers, so they
+     * never drift apart, no matter how many times they loop.  A stem that is
+     * shorter than the others is padded with silence, so that all of the stems
+     * loop together.  The duration of the buffer is that of the longest stem.
+     *
+     * In stem mode, there is no queue to navigate.  The methods {@link #advanceSource},
+     * {@link #jumpToSource} and {@link #reset} all restart every stem from the
+     * beginning. This setting should be changed only when the buffer is stopped.
+     *
+     * @param stems Whether the sources play together as synchronized stems
+     */
+    public void setStemMode(boolean stems);
+
+    /**
+     * Returns true if the sources of this buffer play together as synchronized stems.
+     *
+     * By default, the sources of a music buffer form a queue, and are played one
+     * after the other.  In stem mode, all of the sources play at the same time,
+     * mixed together according to the gain of each stem ({@link #setStemVolume}).
+     *
+     * @return true if the sources of this buffer play together as synchronized stems.
+     */
+    public boolean isStemMode();
+
+    /**
+     * Sets the gain of the stem at the given queue position.
+     *
+     * This gain is applied when the stems are mixed together, before the volume of
+     * the buffer as a whole.  A stem with a gain of 0 is still decoded, so that it
+     * stays in sync with the others.  As mixed audio is queued ahead of playback,
+     * the change is heard after a short delay. This setting has no effect if the
+     * buffer is not in stem mode.
+     *
+     * @param pos       The position in the source queue
+     * @param volume    The stem gain in the range [0,1]
+     */
+    public void setStemVolume(int pos, float volume);
+
+    /**
+     * Returns the gain of the stem at the given queue position.
+     *
+     * This gain is applied when the stems are mixed together, before the volume of
+     * the buffer as a whole.  Each stem has a gain of 1 when it is added.
+     *
+     * @param pos       The position in the source queue
+     *
+     * @return the gain of the stem at the given queue position.
+     */
+    public float getStemVolume(int pos);
+
+    // #mark Mixer Bus
+    /**
+     * Sets the mixer bus of this music buffer.
+     *
+     * The gain of the bus (see {@link AudioEngine#setBusGain}) scales the volume of
+     * this buffer, even while it is playing.  By default, a music buffer is attached
+     * to {@link AudioEngine#MUSIC_BUS}.
+     *
+     * @param bus   The name of the mixer bus
+     */
+    public void setBus(String bus);
+
+    /**
+     * Returns the mixer bus of this music buffer.
+     *
+     * @return the mixer bus of this music buffer.
+     */
+    public String getBus();
      
     // #mark Queue Management
     /**
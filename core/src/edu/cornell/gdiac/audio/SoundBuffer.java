@@ -34,6 +34,8 @@ import com.badlogic.gdx.files.FileHandle;
  * reason that OpenGL requires this).
  */
 public interface SoundBuffer extends Sound {
+    /** The priority of instances started without one (see {@link #play(float,int)}) */
+    public static final int DEFAULT_PRIORITY = 0;
 
     /**
      * The interface for a callback invoked as a sound instance is completed
@@ -96,8 +98,122 @@ public interface SoundBuffer extends Sound {
      */
     public float getDuration();
     
+    // #mark -
+    // #mark Mixer Bus
+    /**
+     * Sets the mixer bus of this sound.
+     *
+     * The gain of the bus (see {@link AudioEngine#setBusGain}) scales the volume of
+     * every instance of this sound, including those already playing.  By default, a
+     * sound is attached to {@link AudioEngine#EFFECTS_BUS}.
+     *
+     * @param bus   The name of the mixer bus
+     */
+    public void setBus(String bus);
+
+    /**
+     * Returns the mixer bus of this sound.
+     *
+     * @return the mixer bus of this sound.
+     */
+    public String getBus();
+
+    // #mark -
+    // #mark Voice Limits
+    /**
+     * Sets the maximum number of instances of this sound playing at once.
+     *
+     * When that many instances are playing, a new instance either replaces the oldest
+     * one or is not played at all (see {@link #setLimitBehavior}).  A value of 0 means
+     * that there is no limit (other than the capacity of the audio engine).
+     *
+     * @param max   The maximum number of simultaneous instances (0 for no limit)
+     */
+    public void setMaxInstances(int max);
+
+    /**
+     * Returns the maximum number of instances of this sound playing at once.
+     *
+     * A value of 0 means that there is no limit (other than the capacity of the audio
+     * engine).
+     *
+     * @return the maximum number of instances of this sound playing at once.
+     */
+    public int getMaxInstances();
+
+    /**
+     * Sets the minimum time between two instances of this sound starting.
+     *
+     * Any attempt to play this sound sooner than this after the last successful one
+     * is ignored (returning -1).  This keeps an event that fires every frame from
+     * restarting the sound every frame.  A value of 0 means there is no minimum.
+     *
+     * @param seconds   The minimum time between instances in seconds
+     */
+    public void setRetriggerInterval(float seconds);
+
+    /**
+     * Returns the minimum time between two instances of this sound starting.
+     *
+     * A value of 0 means there is no minimum.
+     *
+     * @return the minimum time between two instances of this sound starting.
+     */
+    public float getRetriggerInterval();
+
+    /**
+     * Sets what to do with a new instance when the maximum is already playing.
+     *
+     * If restart is true, the oldest instance is stopped (and reported as completed)
+     * to make room for the new one.  Otherwise the new instance is dropped, and the
+     * play method returns -1.  The default is to drop.
+     *
+     * @param restart   Whether to restart the oldest instance instead of dropping
+     */
+    public void setLimitBehavior(boolean restart);
+
+    /**
+     * Returns true if a new instance restarts the oldest when the maximum is playing.
+     *
+     * If this is false, the new instance is dropped instead.
+     *
+     * @return true if a new instance restarts the oldest when the maximum is playing.
+     */
+    public boolean getLimitBehavior();
+
     // #mark -
     // #mark Playback Control
+    /** 
+     * Plays an instance of this sound at the given volume and priority.
+     *
+     * If the sound is already playing, it will be played again, concurrently.
+     * The audio engine only has a limited number of voices.  If they are all in
+     * use, this instance replaces the oldest instance with the lowest priority,
+     * provided that priority is not higher than this one.  Otherwise the sound is
+     * not played.  Instances started without a priority have priority
+     * {@link #DEFAULT_PRIORITY}.
+     *
+     * @param volume    The volume in the range [0,1]
+     * @param priority  The priority of this instance (higher is kept longer)
+     *
+     * @return the id of the sound instance if successful, or -1 on failure. 
+     */
+    public long play(float volume, int priority);
+
+    /** 
+     * Plays an instance of this sound on a continuous loop at the given priority.
+     *
+     * This sound will not stop playing until it is explicitly stopped or the
+     * looping attribute is set to false.  Voices are claimed as described in
+     * {@link #play(float,int)}.
+     *
+     * @param volume    The volume in the range [0,1]
+     * @param priority  The priority of this instance (higher is kept longer)
+     *
+     * @return the id of the sound instance if successful, or -1 on failure. 
+     */
+    public long loop(float volume, int priority);
+
     /** 
      * Returns true if the given instance is actively playing
      *
@@ -7,12 +7,17 @@ import com.badlogic.gdx.files.FileHandle;
 import com.badlogic.gdx.utils.JsonReader;
 import com.badlogic.gdx.utils.JsonValue;
 import com.badlogic.gdx.utils.JsonWriter;
+import com.badlogic.gdx.utils.async.AsyncExecutor;
+import com.badlogic.gdx.utils.async.AsyncResult;
+import com.badlogic.gdx.utils.async.AsyncTask;
 import edu.cornell.gdiac.assets.AssetDirectory;
 import edu.cornell.gdiac.main.controller.LevelEditorController;
 import edu.cornell.gdiac.main.controller.WorldController;
 import edu.cornell.gdiac.main.controller.gaming.AssetLoader;
+import edu.cornell.gdiac.main.controller.gaming.ContinentAssets;
 import edu.cornell.gdiac.main.controller.gaming.GameplayController;
 import edu.cornell.gdiac.main.controller.gaming.LevelLoader;
+import edu.cornell.gdiac.main.controller.gaming.LevelTemplate;
 import edu.cornell.gdiac.main.controller.gaming.MenuController;
 import edu.cornell.gdiac.main.controller.opening.EndingController;
 import edu.cornell.gdiac.main.controller.opening.Loading;
@@ -30,10 +35,23 @@ public class GDXRoot extends Game implements ScreenListener {
 	public static final int GAMEPLAY_MENU = 150;
 	public static final int ENDING_GAME = 777;
 
+	/** The continents in the order their levels are played */
+	private static final MenuController.Continent[] CONTINENT_ORDER = new MenuController.Continent[]{
+			MenuController.Continent.Europe,
+			MenuController.Continent.Africa,
+			MenuController.Continent.Oceania,
+			MenuController.Continent.Asia,
+			MenuController.Continent.NorthAmerica,
+			MenuController.Continent.SouthAmerica,
+			MenuController.Continent.Antarctica
+	};
+
 	public static AssetLoader assetLoader;
 
 	/** AssetManager to load game assets (textures, sounds, etc.) */
 	public static AssetDirectory directory;
+	/** AssetManager for the level select menu */
+	private static AssetDirectory menuDirectory;
 
 	private int current = 0;
 	/** Drawing context to display graphics (VIEW CLASS) */
@@ -42,7 +60,12 @@ public class GDXRoot extends Game implements ScreenListener {
 	Loading loading;
 	/** List of all WorldControllers */
 //	private WorldController[] controllers;
-	public static LevelLoader[] levelLoaders;
+	/** Background worker that prepares the upcoming level */
+	private static AsyncExecutor prefetcher = new AsyncExecutor(1, "LevelPrefetch");
+	/** The level being prepared in the background (or null) */
+	private static AsyncResult<LevelLoader> prefetchResult;
+	/** The global index of the level being prepared in the background */
+	private static int prefetchIndex = -1;
 	GameplayController gameplayController = new GameplayController();
 	EndingController endingController;
 	public static int totalLevels;
@@ -89,63 +112,177 @@ public class GDXRoot extends Game implements ScreenListener {
 		setScreen(loading);
 	}
 
-	public static void load1() {
+	/**
+	 * Begins loading the shared game assets without waiting for them.
+	 *
+	 * @return the game asset directory
+	 */
+	public static AssetDirectory beginLoad1() {
 		directory = new AssetDirectory("assets.json");
 		directory.loadAssets();
+		return directory;
+	}
+
+	public static void load1() {
+		if (directory == null) {
+			beginLoad1();
+		}
 		directory.finishLoading();
 		assetLoader = new AssetLoader(directory);
 	}
 
+	/**
+	 * Begins loading the continent of the level behind the Play button.
+	 *
+	 * @return the continent asset directory
+	 */
+	public static AssetDirectory beginLoad2() {
+		countLevels();
+		return ContinentAssets.preload(getContinent(getSavedLevel()).getDirectory());
+	}
+
 	public static void load2() {
+		countLevels();
+		// Levels are built on demand; only prepare the one the Play button starts
+		prefetch(getSavedLevel());
+	}
+
+	/**
+	 * Begins loading the level select menu assets without waiting for them.
+	 *
+	 * @return the menu asset directory
+	 */
+	public static AssetDirectory beginLoad3() {
+		menuDirectory = new AssetDirectory("menu/menuAsset.json");
+		menuDirectory.loadAssets();
+		return menuDirectory;
+	}
+
+	public static void load3() {
+		if (menuDirectory == null) {
+			beginLoad3();
+		}
+		menuController = new MenuController(canvas, menuDirectory);
+	}
+
+	/**
+	 * Computes the total number of levels over all continents
+	 */
+	private static void countLevels() {
 		totalLevels = 0;
 		for(MenuController.Continent continent: MenuController.Continent.values()){
 			totalLevels += numOfLevels.get(continent);
 		}
-		int prevLevels = 0;
-		levelLoaders = new LevelLoader[totalLevels];
-		for(int i = 0; i < numOfLevels.get(MenuController.Continent.Europe); i++){
-			levelLoaders[i+prevLevels] = new LevelLoader("europe/europeMain.json", i);
-		}
-		prevLevels += numOfLevels.get(MenuController.Continent.Europe);
-		for(int i = 0; i < numOfLevels.get(MenuController.Continent.Africa); i++){
-			levelLoaders[i+prevLevels] = new LevelLoader("africa/africaMain.json", i);
-		}
-		prevLevels += numOfLevels.get(MenuController.Continent.Africa);
-		for(int i = 0; i < numOfLevels.get(MenuController.Continent.Oceania); i++){
-			levelLoaders[i+prevLevels] = new LevelLoader("oceania/oceaniaMain.json", i);
-		}
-		prevLevels += numOfLevels.get(MenuController.Continent.Oceania);
-		for(int i = 0; i < numOfLevels.get(MenuController.Continent.Asia); i++){
-			levelLoaders[i+prevLevels] = new LevelLoader("asia/asiaMain.json", i);
-		}
-		prevLevels += numOfLevels.get(MenuController.Continent.Asia);
-		for(int i = 0; i < numOfLevels.get(MenuController.Continent.NorthAmerica); i++){
-			levelLoaders[i+prevLevels] = new LevelLoader("northAmerica/northAmericaMain.json", i);
+	}
+
+	/**
+	 * Returns the global index of the level behind the Play button
+	 *
+	 * @return the global index of the level behind the Play button
+	 */
+	private static int getSavedLevel() {
+		return Math.min(value.getInt("next"), totalLevels-1);
+	}
+
+	/**
+	 * Returns the continent of the level with the given global index.
+	 *
+	 * @param index	The global level index
+	 *
+	 * @return the continent of the level
+	 */
+	private static MenuController.Continent getContinent(int index) {
+		for(MenuController.Continent continent: CONTINENT_ORDER){
+			if(index < numOfLevels.get(continent)){
+				return continent;
+			}
+			index -= numOfLevels.get(continent);
 		}
-		prevLevels += numOfLevels.get(MenuController.Continent.NorthAmerica);
-		for(int i = 0; i < numOfLevels.get(MenuController.Continent.SouthAmerica); i++){
-			levelLoaders[i+prevLevels] = new LevelLoader("southAmerica/southAmericaMain.json", i);
+		return CONTINENT_ORDER[CONTINENT_ORDER.length-1];
+	}
+
+	/**
+	 * Returns the parsed description of the level with the given global index.
+	 *
+	 * This method must be called on the main thread, as it may load the assets of
+	 * the level's continent.
+	 *
+	 * @param index	The global level index
+	 *
+	 * @return the parsed description of the level
+	 */
+	private static LevelTemplate getTemplate(int index) {
+		for(MenuController.Continent continent: CONTINENT_ORDER){
+			if(index < numOfLevels.get(continent)){
+				return LevelTemplate.get(continent.getDirectory(), index);
+			}
+			index -= numOfLevels.get(continent);
 		}
-		prevLevels += numOfLevels.get(MenuController.Continent.SouthAmerica);
-		for(int i = 0; i < numOfLevels.get(MenuController.Continent.Antarctica); i++){
-			levelLoaders[i+prevLevels] = new LevelLoader("antarctica/antarcticaMain.json", i);
+		return null;
+	}
+
+	/**
+	 * Starts building the level with the given global index in the background.
+	 *
+	 * Only the level geometry is prepared off the main thread; the player is added
+	 * when the level is taken by {@link #takeLevel}.
+	 *
+	 * @param index	The global level index
+	 */
+	private static void prefetch(int index) {
+		if (index < 0 || index >= totalLevels || index == prefetchIndex) {
+			return;
 		}
+		final LevelTemplate template = getTemplate(index);
+		prefetchIndex = index;
+		prefetchResult = prefetcher.submit(new AsyncTask<LevelLoader>() {
+			@Override
+			public LevelLoader call() {
+				return new LevelLoader(template, false);
+			}
+		});
 	}
 
-	public static void load3() {
-		menuController = new MenuController(canvas);
+	/**
+	 * Returns a new, unplayed instance of the level with the given global index.
+	 *
+	 * If the level was prefetched, this returns the prepared instance (waiting for it
+	 * if necessary).  Otherwise the level is built immediately.
+	 *
+	 * @param index	The global level index
+	 *
+	 * @return a new, unplayed instance of the level
+	 */
+	private static LevelLoader takeLevel(int index) {
+		LevelLoader loader = null;
+		if (index == prefetchIndex && prefetchResult != null) {
+			loader = prefetchResult.get();
+		}
+		prefetchResult = null;
+		prefetchIndex = -1;
+
+		// The continent may have been unloaded since the prefetch
+		LevelTemplate template = getTemplate(index);
+		if (loader == null || loader.getTemplate() != template) {
+			loader = new LevelLoader(template);
+		}
+		loader.finishLoading();
+		return loader;
 	}
 
 	@Override
 	public void dispose () {
 		setScreen(null);
+		prefetcher.dispose();
+		LevelTemplate.clear();
 	}
 
 	public void nextLevel(){
-		gameplayController.loadLevel(levelLoaders[current]);
+		gameplayController.loadLevel(takeLevel(current));
 		gameplayController.setCanvas(canvas);
 		gameplayController.reset();
 		setScreen(gameplayController);
+		prefetch(current+1);
 	}
 
 	/**
@@ -310,6 +447,8 @@ public class GDXRoot extends Game implements ScreenListener {
 			nextLevel();
 		} else if(screen instanceof LevelEditorController){
 			if(exitCode == EDITOR_GAMEPLAY){
+				// The editor rewrites this level, so never reuse a cached copy
+				LevelTemplate.evict("levelEditor.json");
 				LevelLoader levelLoader= new LevelLoader("levelEditor.json", 0);
 				levelEditorGameplayController = new GameplayController(true);
 				levelEditorGameplayController.loadLevel(levelLoader);
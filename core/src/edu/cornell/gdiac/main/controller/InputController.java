@@ -60,6 +60,9 @@ public class InputController {
     /** Whether the debug toggle was pressed. */
     private boolean debugPressed;
     private boolean debugPrevious;
+    /** Whether the profiler overlay toggle was pressed. */
+    private boolean profilePressed;
+    private boolean profilePrevious;
     /** Whether the exit button was pressed. */
     private boolean exitPressed;
     private boolean exitPrevious;
@@ -197,6 +200,15 @@ public class InputController {
         return debugPressed && !debugPrevious;
     }
 
+    /**
+     * Returns true if the player wants to toggle the profiler overlay.
+     *
+     * @return true if the player wants to toggle the profiler overlay.
+     */
+    public boolean didProfile() {
+        return profilePressed && !profilePrevious;
+    }
+
     /**
      * Returns true if the exit button was pressed.
      *
@@ -300,6 +312,7 @@ public class InputController {
         primePrevious  = primePressed;
         secondPrevious = secondPressed;
         debugPrevious  = debugPressed;
+        profilePrevious = profilePressed;
         exitPrevious = exitPressed;
         nextPrevious = nextPressed;
         prevPrevious = prevPressed;
@@ -369,6 +382,7 @@ public class InputController {
     private void readKeyboard(Rectangle bounds, Vector2 scale, boolean secondary) {
         // Give priority to gamepad results
         debugPressed = (secondary && debugPressed) || (Gdx.input.isKeyPressed(Input.Keys.Q));
+        profilePressed = Gdx.input.isKeyPressed(Input.Keys.F3);
         primePressed = (secondary && primePressed) || (Gdx.input.isKeyPressed(Input.Keys.UP)) || (Gdx.input.isKeyPressed(Input.Keys.W));
         secondPressed = (secondary && secondPressed) || (Gdx.input.isKeyPressed(Input.Keys.SPACE));
         prevPressed = (secondary && prevPressed) || (Gdx.input.isKeyPressed(Input.Keys.P));
@@ -134,19 +134,19 @@ public class LevelEditorController implements Screen, InputProcessor, Controller
         internal.finishLoading();
         white = internal.getEntry("white", Texture.class);
         snow = new TextureRegion(internal.getEntry("snow", Texture.class),40,40);
-        avatarStrip = new FilmStrip(internal.getEntry("avatarWalking", Texture.class), 1, 18);
-        exitStrip = new FilmStrip(internal.getEntry("exit", Texture.class), 1, 1);
-        noteLeftStrip = new FilmStrip(internal.getEntry("notcollected", Texture.class), 1, 1);
-        noteCollectedStrip = new FilmStrip(internal.getEntry("collected", Texture.class), 1, 1);
-        icicleStrip = new FilmStrip(internal.getEntry("icicle", Texture.class), 1, 1);
+        avatarStrip = new FilmStrip(internal.getRegion("avatarWalking"), 1, 18);
+        exitStrip = new FilmStrip(internal.getRegion("exit"), 1, 1);
+        noteLeftStrip = new FilmStrip(internal.getRegion("notcollected"), 1, 1);
+        noteCollectedStrip = new FilmStrip(internal.getRegion("collected"), 1, 1);
+        icicleStrip = new FilmStrip(internal.getRegion("icicle"), 1, 1);
         float[] vertices = {-40f,40f,40f,40f,0,-80f};
         short[] triangles = {0,1,2};
         icicleRegion = new PolygonRegion(icicleStrip, vertices,triangles);
 
-        water = new FilmStrip(internal.getEntry("water", Texture.class), 1,1);
+        water = new FilmStrip(internal.getRegion("water"), 1,1);
         water.setRegionWidth(40);
         water.setRegionHeight(40);
-        iceStrip= new FilmStrip(internal.getEntry("ice", Texture.class), 1, 1);
+        iceStrip= new FilmStrip(internal.getRegion("ice"), 1, 1);
         iceStrip.setRegionWidth(200);
         iceStrip.setRegionHeight(40);
         displayFont =  internal.getEntry("gameFont", BitmapFont.class);
@@ -26,10 +26,13 @@ import com.badlogic.gdx.utils.*;
 import com.badlogic.gdx.assets.*;
 import com.badlogic.gdx.graphics.*;
 import com.badlogic.gdx.graphics.g2d.*;
+import com.badlogic.gdx.graphics.profiling.GLProfiler;
 import com.badlogic.gdx.physics.box2d.*;
 import edu.cornell.gdiac.assets.AssetDirectory;
+import edu.cornell.gdiac.audio.MusicBuffer;
 import edu.cornell.gdiac.audio.SoundBuffer;
 import edu.cornell.gdiac.main.view.GameCanvas;
+import edu.cornell.gdiac.main.view.ProfilerOverlay;
 import edu.cornell.gdiac.util.*;
 import edu.cornell.gdiac.main.obstacle.*;
 
@@ -143,7 +146,8 @@ public abstract class WorldController implements Screen {
     protected Sound penguinLanding;
     protected Sound winning;
     protected Sound losing;
-    protected Sound[] BackgroundMusic = new Sound[7];
+    /** The level music, with one stem for each penguin */
+    protected MusicBuffer levelMusic;
 
 
     /**
@@ -182,47 +186,47 @@ public abstract class WorldController implements Screen {
 //        }
 
         // Allocate the tiles
-        avatarStrip = new FilmStrip(directory.getEntry("avatarWalking", Texture.class), 1, 18);
-        penguins.add(new FilmStrip(directory.getEntry("penguin", Texture.class), 1, 1));
-        penguins.add(new FilmStrip(directory.getEntry("penguin2", Texture.class), 1, 1));
-        penguins.add(new FilmStrip(directory.getEntry("penguin3", Texture.class), 1, 1));
-        penguins.add(new FilmStrip(directory.getEntry("penguin4", Texture.class), 1, 1));
-        penguins.add(new FilmStrip(directory.getEntry("penguin5", Texture.class), 1, 1));
-        penguins.add(new FilmStrip(directory.getEntry("penguin6", Texture.class), 1, 1));
-        penguins.add(new FilmStrip(directory.getEntry("penguin7", Texture.class), 1, 1));
-        avatarNormalStrip = new FilmStrip(directory.getEntry("avatarNormal", Texture.class), 1, 1);
-        penguinWalkingStrip = new FilmStrip(directory.getEntry("penguinWalking", Texture.class), 1, 29);
-        penguinRollingStrip = new FilmStrip(directory.getEntry("penguinRolling", Texture.class), 1, 1);
-        sealionStrip = new FilmStrip(directory.getEntry("sealion", Texture.class), 1, 1);
-        sealStrip = new FilmStrip(directory.getEntry("seal", Texture.class), 1, 1);
-        attackStrip = new FilmStrip(directory.getEntry("monsterAttacking", Texture.class), 1, 2);
-        icicleStrip = new FilmStrip(directory.getEntry("icicle", Texture.class), 1, 1);
-        exitStrip = new FilmStrip(directory.getEntry("exit", Texture.class), 1, 1);
+        avatarStrip = new FilmStrip(directory.getRegion("avatarWalking"), 1, 18);
+        penguins.add(new FilmStrip(directory.getRegion("penguin"), 1, 1));
+        penguins.add(new FilmStrip(directory.getRegion("penguin2"), 1, 1));
+        penguins.add(new FilmStrip(directory.getRegion("penguin3"), 1, 1));
+        penguins.add(new FilmStrip(directory.getRegion("penguin4"), 1, 1));
+        penguins.add(new FilmStrip(directory.getRegion("penguin5"), 1, 1));
+        penguins.add(new FilmStrip(directory.getRegion("penguin6"), 1, 1));
+        penguins.add(new FilmStrip(directory.getRegion("penguin7"), 1, 1));
+        avatarNormalStrip = new FilmStrip(directory.getRegion("avatarNormal"), 1, 1);
+        penguinWalkingStrip = new FilmStrip(directory.getRegion("penguinWalking"), 1, 29);
+        penguinRollingStrip = new FilmStrip(directory.getRegion("penguinRolling"), 1, 1);
+        sealionStrip = new FilmStrip(directory.getRegion("sealion"), 1, 1);
+        sealStrip = new FilmStrip(directory.getRegion("seal"), 1, 1);
+        attackStrip = new FilmStrip(directory.getRegion("monsterAttacking"), 1, 2);
+        icicleStrip = new FilmStrip(directory.getRegion("icicle"), 1, 1);
+        exitStrip = new FilmStrip(directory.getRegion("exit"), 1, 1);
         arrowTexture = directory.getEntry("arrow", Texture.class);
         energyBarOutlineTexture = directory.getEntry("energyBarOutline", Texture.class);
         energyBarTexture = directory.getEntry("energyBar", Texture.class);
-        punchStrip = new FilmStrip(directory.getEntry("avatarPunching", Texture.class), 1, 1);
-        noteLeftStrip = new FilmStrip(directory.getEntry("notcollected", Texture.class), 1, 1);
-        noteCollectedStrip = new FilmStrip(directory.getEntry("collected", Texture.class), 1, 1);
-        jumpRisingStrip = new FilmStrip(directory.getEntry("jumpRising", Texture.class), 1, 4);
-        jumpHangingStrip = new FilmStrip(directory.getEntry("jumpHanging", Texture.class), 1, 1);
-        jumpLandingStrip = new FilmStrip(directory.getEntry("jumpLanding", Texture.class), 1, 3);
-        throwingStrip = new FilmStrip(directory.getEntry("avatarThrow", Texture.class), 1, 6);
+        punchStrip = new FilmStrip(directory.getRegion("avatarPunching"), 1, 1);
+        noteLeftStrip = new FilmStrip(directory.getRegion("notcollected"), 1, 1);
+        noteCollectedStrip = new FilmStrip(directory.getRegion("collected"), 1, 1);
+        jumpRisingStrip = new FilmStrip(directory.getRegion("jumpRising"), 1, 4);
+        jumpHangingStrip = new FilmStrip(directory.getRegion("jumpHanging"), 1, 1);
+        jumpLandingStrip = new FilmStrip(directory.getRegion("jumpLanding"), 1, 3);
+        throwingStrip = new FilmStrip(directory.getRegion("avatarThrow"), 1, 6);
         worldAssetState = AssetState.COMPLETE;
-        icicleStrip = new FilmStrip(directory.getEntry("icicle", Texture.class), 10, 165);
-        iceStrip= new FilmStrip(directory.getEntry("ice", Texture.class), 1, 1);
-        snowTextureRegion = new TextureRegion(directory.getEntry("snow", Texture.class));
-        iceTextureRegion = new TextureRegion(directory.getEntry("ice", Texture.class));
-        waterStrip =new FilmStrip(directory.getEntry("water", Texture.class), 1, 1);
-        wavesStrip = new FilmStrip(directory.getEntry("waves", Texture.class), 1, 4);
-        ficeTextureRegion = new TextureRegion(directory.getEntry("floatingIce", Texture.class));
-        miceTextureRegion = new TextureRegion(directory.getEntry("ice", Texture.class));
+        icicleStrip = new FilmStrip(directory.getRegion("icicle"), 10, 165);
+        iceStrip= new FilmStrip(directory.getRegion("ice"), 1, 1);
+        snowTextureRegion = directory.getRegion("snow");
+        iceTextureRegion = directory.getRegion("ice");
+        waterStrip =new FilmStrip(directory.getRegion("water"), 1, 1);
+        wavesStrip = new FilmStrip(directory.getRegion("waves"), 1, 4);
+        ficeTextureRegion = directory.getRegion("floatingIce");
+        miceTextureRegion = directory.getRegion("ice");
         whiteTexture = directory.getEntry("white",Texture.class);
         blackTexture = directory.getEntry("black",Texture.class);
-        pauseButton = new TextureRegion(directory.getEntry("pauseButton", Texture.class));
-        pauseScreen = new TextureRegion(directory.getEntry("pauseScreen",Texture.class));
-        teachThrowingStrip = new FilmStrip(directory.getEntry("teachThrowing", Texture.class), 12, 8);;
-        deadStrip = new TextureRegion(directory.getEntry("dead",Texture.class));
+        pauseButton = directory.getRegion("pauseButton");
+        pauseScreen = directory.getRegion("pauseScreen");
+        teachThrowingStrip = new FilmStrip(directory.getRegion("teachThrowing"), 12, 8);;
+        deadStrip = directory.getRegion("dead");
 
         hitIcicle = directory.getEntry("hitIcicle", SoundBuffer.class);
         punching = directory.getEntry("punching", SoundBuffer.class);
@@ -235,13 +239,7 @@ public abstract class WorldController implements Screen {
         winning = directory.getEntry("winning", SoundBuffer.class);
         losing = directory.getEntry("losing",SoundBuffer.class);
 
-        BackgroundMusic[0] = directory.getEntry("l1",SoundBuffer.class);
-        BackgroundMusic[1] = directory.getEntry("l2",SoundBuffer.class);
-        BackgroundMusic[2] = directory.getEntry("l3",SoundBuffer.class);
-        BackgroundMusic[3] = directory.getEntry("l4",SoundBuffer.class);
-        BackgroundMusic[4] = directory.getEntry("l5",SoundBuffer.class);
-        BackgroundMusic[5] = directory.getEntry("l6",SoundBuffer.class);
-        BackgroundMusic[6] = directory.getEntry("l7",SoundBuffer.class);
+        levelMusic = directory.getEntry("levelMusic",MusicBuffer.class);
 
     }
 
@@ -323,6 +321,11 @@ public abstract class WorldController implements Screen {
     public static final int WORLD_VELOC = 6;
     /** Number of position iterations for the constrain solvers */
     public static final int WORLD_POSIT = 2;
+    /** The maximum number of physics steps in a single animation frame */
+    public static final int MAX_STEPS = 5;
+
+    /** The distance around the screen (in Box2d units) where objects are still drawn */
+    protected static final float CULL_MARGIN = 2.0f;
 
     /** Width of the game world in Box2d units */
     protected static final float DEFAULT_WIDTH  = 32.0f;
@@ -343,6 +346,12 @@ public abstract class WorldController implements Screen {
 
     /** The Box2D world */
     protected World world;
+    /** The frame time not yet simulated by the physics engine */
+    private float accumulator;
+    /** The objects on screen in the current frame (in drawing order) */
+    protected Array<Obstacle> visible = new Array<Obstacle>();
+    /** Cache for the region of the world on screen */
+    private Rectangle viewCache = new Rectangle();
     /** The boundary of the world */
     protected Rectangle bounds;
     /** The world scale */
@@ -356,6 +365,10 @@ public abstract class WorldController implements Screen {
     private boolean failed;
     /** Whether or not debug mode is active */
     private boolean debug;
+    /** The profiler overlay (null if it is not shown) */
+    private ProfilerOverlay overlay;
+    /** The GL call counter (only enabled while the overlay is shown) */
+    private GLProfiler glProfiler;
     /** Countdown active for winning or losing */
     private int countdown;
 
@@ -454,6 +467,7 @@ public abstract class WorldController implements Screen {
     protected WorldController(Rectangle bounds, Vector2 gravity) {
         assets = new Array<String>();
         world = new World(gravity,false);
+        world.setAutoClearForces(false);
         this.bounds = new Rectangle(bounds);
         this.scale = new Vector2(1,1);
         complete = false;
@@ -473,6 +487,9 @@ public abstract class WorldController implements Screen {
         objects.clear();
         addQueue.clear();
         world.dispose();
+        if (overlay != null) {
+            toggleProfiler();
+        }
         objects = null;
         addQueue = null;
         bounds = null;
@@ -504,6 +521,7 @@ public abstract class WorldController implements Screen {
         assert inBounds(obj) : "Object is not in bounds";
         objects.add(obj);
         obj.activatePhysics(world);
+        obj.interpolate(1.0f);
     }
 
     /**
@@ -542,6 +560,9 @@ public abstract class WorldController implements Screen {
     public boolean preUpdate(float dt) {
         InputController input = InputController.getInstance();
         input.readInput(bounds, scale);
+        if (input.didProfile()) {
+            toggleProfiler();
+        }
         if (listener == null) {
             return true;
         }
@@ -587,6 +608,13 @@ public abstract class WorldController implements Screen {
      * physics.  The primary method is the step() method in world.  This implementation
      * works for all applications and should not need to be overwritten.
      *
+     * The physics always advances by WORLD_STEP.  The frame time is added to an
+     * accumulator, and we take as many steps as fit in it (possibly none).  To keep a
+     * slow frame from causing ever more steps, at most MAX_STEPS are taken and the rest
+     * of the time is dropped.  Forces applied by update() are kept for every step in
+     * this frame.  Finally, each object is drawn between its last two physics states,
+     * according to the time left over in the accumulator.
+     *
      * @param dt Number of seconds since last animation frame
      */
     public void postUpdate(float dt) {
@@ -596,7 +624,23 @@ public abstract class WorldController implements Screen {
         }
 
         // Turn the physics engine crank.
-        world.step(WORLD_STEP,WORLD_VELOC,WORLD_POSIT);
+        accumulator += dt;
+        int steps = 0;
+        while (accumulator >= WORLD_STEP && steps < MAX_STEPS) {
+            for(Obstacle obj : objects) {
+                obj.savePreviousState();
+            }
+            FrameProfiler.getInstance().begin(FrameProfiler.Phase.PHYSICS);
+            world.step(WORLD_STEP,WORLD_VELOC,WORLD_POSIT);
+            FrameProfiler.getInstance().end(FrameProfiler.Phase.PHYSICS);
+            accumulator -= WORLD_STEP;
+            steps++;
+        }
+        if (accumulator >= WORLD_STEP) {
+            accumulator %= WORLD_STEP;
+        }
+        world.clearForces();
+        float alpha = accumulator/WORLD_STEP;
 
         // Garbage collect the deleted objects.
         // Note how we use the linked list nodes to delete O(1) in place.
@@ -611,8 +655,37 @@ public abstract class WorldController implements Screen {
             } else {
                 // Note that update is called last!
                 obj.update(dt);
+                obj.interpolate(alpha);
+            }
+        }
+    }
+
+    /**
+     * Returns the objects that are on screen, in drawing order.
+     *
+     * An object is on screen if its bounds overlap the camera view, expanded by
+     * CULL_MARGIN to account for images larger than the physics body.  Objects that
+     * do not know their bounds are always on screen.  The result is also stored in
+     * the visible list, so that the debug pass can reuse it.
+     *
+     * @return the objects that are on screen, in drawing order.
+     */
+    protected Array<Obstacle> cullObjects() {
+        OrthographicCamera camera = canvas.getCamera();
+        float width  = camera.viewportWidth*camera.zoom/scale.x;
+        float height = camera.viewportHeight*camera.zoom/scale.y;
+        viewCache.set(camera.position.x/scale.x-width/2-CULL_MARGIN,
+                      camera.position.y/scale.y-height/2-CULL_MARGIN,
+                      width+2*CULL_MARGIN, height+2*CULL_MARGIN);
+
+        visible.clear();
+        for(Obstacle obj : objects) {
+            Rectangle bounds = obj.getBounds();
+            if (bounds == null || bounds.overlaps(viewCache)) {
+                visible.add(obj);
             }
         }
+        return visible;
     }
 
     /**
@@ -629,13 +702,13 @@ public abstract class WorldController implements Screen {
         canvas.clear();
 
         canvas.begin();
-        for(Obstacle obj : objects) {
+        for(Obstacle obj : cullObjects()) {
             obj.draw(canvas);
         }
 
         if (debug) {
             canvas.beginDebug();
-            for(Obstacle obj : objects) {
+            for(Obstacle obj : visible) {
                 obj.drawDebug(canvas);
             }
             canvas.endDebug();
@@ -666,11 +739,80 @@ public abstract class WorldController implements Screen {
      */
     public void render(float delta) {
         if (active) {
-            if (preUpdate(delta)) {
+            FrameProfiler profiler = FrameProfiler.getInstance();
+            profiler.begin(FrameProfiler.Phase.FRAME);
+            profiler.begin(FrameProfiler.Phase.INPUT);
+            boolean proceed = preUpdate(delta);
+            profiler.end(FrameProfiler.Phase.INPUT);
+            if (proceed) {
+                profiler.begin(FrameProfiler.Phase.UPDATE);
                 update(delta); // This is the one that must be defined.
+                profiler.end(FrameProfiler.Phase.UPDATE);
+                profiler.begin(FrameProfiler.Phase.POST);
                 postUpdate(delta);
+                profiler.end(FrameProfiler.Phase.POST);
+            }
+            // The screen may have been switched (and this controller disposed)
+            if (canvas == null) {
+                profiler.end(FrameProfiler.Phase.FRAME);
+                return;
             }
+            canvas.resetRenderCalls();
+            profiler.begin(FrameProfiler.Phase.DRAW);
             draw(delta);
+            profiler.end(FrameProfiler.Phase.DRAW);
+            profiler.end(FrameProfiler.Phase.FRAME);
+            sampleProfiler(profiler);
+        }
+    }
+
+    /**
+     * Toggles the profiler overlay.
+     *
+     * The GL call counter is only enabled while the overlay is shown, as it wraps
+     * every GL call.  When the overlay is hidden, the percentile summary is logged.
+     */
+    private void toggleProfiler() {
+        if (overlay == null) {
+            overlay = new ProfilerOverlay();
+            if (glProfiler == null) {
+                glProfiler = new GLProfiler(Gdx.graphics);
+            }
+            glProfiler.enable();
+            glProfiler.reset();
+        } else {
+            overlay.dispose();
+            overlay = null;
+            glProfiler.disable();
+            StringBuilder summary = FrameProfiler.getInstance().summarize(new StringBuilder());
+            Gdx.app.log("FrameProfiler", summary.toString());
+        }
+    }
+
+    /**
+     * Records the frame counters and draws the overlay (if shown).
+     *
+     * The overlay is drawn after the frame is timed, so it does not skew the timings.
+     * The frame itself is ended by the application, which also times the audio.
+     *
+     * @param profiler  The frame profiler
+     */
+    private void sampleProfiler(FrameProfiler profiler) {
+        Runtime runtime = Runtime.getRuntime();
+        profiler.count(FrameProfiler.Counter.RENDER_CALLS, canvas.getRenderCalls());
+        profiler.count(FrameProfiler.Counter.BODIES, world.getBodyCount());
+        profiler.count(FrameProfiler.Counter.CONTACTS, world.getContactCount());
+        profiler.count(FrameProfiler.Counter.HEAP_KB, (int)((runtime.totalMemory()-runtime.freeMemory())/1024));
+        if (overlay != null) {
+            profiler.count(FrameProfiler.Counter.TEXTURE_BINDS, glProfiler.getTextureBindings());
+            glProfiler.reset();
+
+            OrthographicCamera camera = canvas.getCamera();
+            overlay.update(profiler);
+            canvas.begin();
+            canvas.drawText(overlay, camera.position.x-camera.viewportWidth/2+10,
+                            camera.position.y+camera.viewportHeight/2-10);
+            canvas.end();
         }
     }
 
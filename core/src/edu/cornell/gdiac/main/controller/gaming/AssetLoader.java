@@ -6,6 +6,7 @@ import com.badlogic.gdx.graphics.g2d.BitmapFont;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.utils.Array;
 import edu.cornell.gdiac.assets.AssetDirectory;
+import edu.cornell.gdiac.audio.MusicBuffer;
 import edu.cornell.gdiac.audio.SoundBuffer;
 import edu.cornell.gdiac.util.FilmStrip;
 
@@ -85,9 +86,10 @@ public class AssetLoader {
     public static Sound menuSellect;
     public static Sound bearLanding;
     public static Sound penguinLanding;
-    public static Sound winning;
-    public static Sound losing;
-    public static Sound[] BackgroundMusic = new Sound[7];
+    public static SoundBuffer winning;
+    public static SoundBuffer losing;
+    /** The level music, with one stem for each penguin */
+    public static MusicBuffer levelMusic;
 
     AssetDirectory directory;
 
@@ -97,42 +99,42 @@ public class AssetLoader {
     }
 
     public static void loadAssets(AssetDirectory directory){
-        avatarStrip = new FilmStrip(directory.getEntry("avatarWalking", Texture.class), 1, 18);
-        penguins.add(new FilmStrip(directory.getEntry("penguin", Texture.class), 1, 1));
-        penguins.add(new FilmStrip(directory.getEntry("penguin2", Texture.class), 1, 1));
-        penguins.add(new FilmStrip(directory.getEntry("penguin3", Texture.class), 1, 1));
-        penguins.add(new FilmStrip(directory.getEntry("penguin4", Texture.class), 1, 1));
-        penguins.add(new FilmStrip(directory.getEntry("penguin5", Texture.class), 1, 1));
-        penguins.add(new FilmStrip(directory.getEntry("penguin6", Texture.class), 1, 1));
-        penguins.add(new FilmStrip(directory.getEntry("penguin7", Texture.class), 1, 1));
-        avatarNormalStrip = new FilmStrip(directory.getEntry("avatarNormal", Texture.class), 1, 1);
-        icicleStrip = new FilmStrip(directory.getEntry("icicle", Texture.class), 1, 1);
-        exitStrip = new FilmStrip(directory.getEntry("exit", Texture.class), 1, 1);
-        cageStrip = new FilmStrip(directory.getEntry("cage", Texture.class), 1, 1);
-        punchStrip = new FilmStrip(directory.getEntry("avatarPunching", Texture.class), 1, 1);
-        noteLeftStrip = new FilmStrip(directory.getEntry("notcollected", Texture.class), 1, 1);
-        noteCollectedStrip = new FilmStrip(directory.getEntry("collected", Texture.class), 1, 1);
-        jumpRisingStrip = new FilmStrip(directory.getEntry("jumpRising", Texture.class), 1, 4);
-        jumpHangingStrip = new FilmStrip(directory.getEntry("jumpHanging", Texture.class), 1, 1);
-        jumpLandingStrip = new FilmStrip(directory.getEntry("jumpLanding", Texture.class), 1, 3);
-        throwingStrip = new FilmStrip(directory.getEntry("avatarThrow", Texture.class), 1, 6);
-        penguinWalkingStrip = new FilmStrip(directory.getEntry("penguinWalking", Texture.class), 1, 29);
-        penguinRollingStrip = new FilmStrip(directory.getEntry("penguinRolling", Texture.class), 1, 1);
-        icicleStrip = new FilmStrip(directory.getEntry("icicle", Texture.class), 10, 165);
-        iceStrip= new FilmStrip(directory.getEntry("ice", Texture.class), 1, 1);
-        snowTextureRegion = new TextureRegion(directory.getEntry("snow", Texture.class));
-        iceTextureRegion = new TextureRegion(directory.getEntry("ice", Texture.class));
-        waterStrip =new FilmStrip(directory.getEntry("water", Texture.class), 1, 1);
-        wavesStrip = new FilmStrip(directory.getEntry("waves", Texture.class), 1, 4);
-        ficeTextureRegion = new TextureRegion(directory.getEntry("floatingIce", Texture.class));
-        miceTextureRegion = new TextureRegion(directory.getEntry("ice", Texture.class));
+        avatarStrip = new FilmStrip(directory.getRegion("avatarWalking"), 1, 18);
+        penguins.add(new FilmStrip(directory.getRegion("penguin"), 1, 1));
+        penguins.add(new FilmStrip(directory.getRegion("penguin2"), 1, 1));
+        penguins.add(new FilmStrip(directory.getRegion("penguin3"), 1, 1));
+        penguins.add(new FilmStrip(directory.getRegion("penguin4"), 1, 1));
+        penguins.add(new FilmStrip(directory.getRegion("penguin5"), 1, 1));
+        penguins.add(new FilmStrip(directory.getRegion("penguin6"), 1, 1));
+        penguins.add(new FilmStrip(directory.getRegion("penguin7"), 1, 1));
+        avatarNormalStrip = new FilmStrip(directory.getRegion("avatarNormal"), 1, 1);
+        icicleStrip = new FilmStrip(directory.getRegion("icicle"), 1, 1);
+        exitStrip = new FilmStrip(directory.getRegion("exit"), 1, 1);
+        cageStrip = new FilmStrip(directory.getRegion("cage"), 1, 1);
+        punchStrip = new FilmStrip(directory.getRegion("avatarPunching"), 1, 1);
+        noteLeftStrip = new FilmStrip(directory.getRegion("notcollected"), 1, 1);
+        noteCollectedStrip = new FilmStrip(directory.getRegion("collected"), 1, 1);
+        jumpRisingStrip = new FilmStrip(directory.getRegion("jumpRising"), 1, 4);
+        jumpHangingStrip = new FilmStrip(directory.getRegion("jumpHanging"), 1, 1);
+        jumpLandingStrip = new FilmStrip(directory.getRegion("jumpLanding"), 1, 3);
+        throwingStrip = new FilmStrip(directory.getRegion("avatarThrow"), 1, 6);
+        penguinWalkingStrip = new FilmStrip(directory.getRegion("penguinWalking"), 1, 29);
+        penguinRollingStrip = new FilmStrip(directory.getRegion("penguinRolling"), 1, 1);
+        icicleStrip = new FilmStrip(directory.getRegion("icicle"), 10, 165);
+        iceStrip= new FilmStrip(directory.getRegion("ice"), 1, 1);
+        snowTextureRegion = directory.getRegion("snow");
+        iceTextureRegion = directory.getRegion("ice");
+        waterStrip =new FilmStrip(directory.getRegion("water"), 1, 1);
+        wavesStrip = new FilmStrip(directory.getRegion("waves"), 1, 4);
+        ficeTextureRegion = directory.getRegion("floatingIce");
+        miceTextureRegion = directory.getRegion("ice");
         whiteTexture = directory.getEntry("white",Texture.class);
         blackTexture = directory.getEntry("black",Texture.class);
-        pauseButton = new TextureRegion(directory.getEntry("pauseButton", Texture.class));
-        pauseScreen = new TextureRegion(directory.getEntry("pauseScreen",Texture.class));
-        teachThrowingStrip = new FilmStrip(directory.getEntry("teachThrowing", Texture.class), 12, 8);;
-        deadStrip = new TextureRegion(directory.getEntry("dead",Texture.class));
-        victoryStrip =  new TextureRegion(directory.getEntry("victory",Texture.class));
+        pauseButton = directory.getRegion("pauseButton");
+        pauseScreen = directory.getRegion("pauseScreen");
+        teachThrowingStrip = new FilmStrip(directory.getRegion("teachThrowing"), 12, 8);;
+        deadStrip = directory.getRegion("dead");
+        victoryStrip =  directory.getRegion("victory");
 
         hitIcicle = directory.getEntry("hitIcicle", SoundBuffer.class);
         punching = directory.getEntry("punching", SoundBuffer.class);
@@ -145,13 +147,7 @@ public class AssetLoader {
         winning = directory.getEntry("winning", SoundBuffer.class);
         losing = directory.getEntry("losing",SoundBuffer.class);
 
-        BackgroundMusic[0] = directory.getEntry("l1",SoundBuffer.class);
-        BackgroundMusic[1] = directory.getEntry("l2",SoundBuffer.class);
-        BackgroundMusic[2] = directory.getEntry("l3",SoundBuffer.class);
-        BackgroundMusic[3] = directory.getEntry("l4",SoundBuffer.class);
-        BackgroundMusic[4] = directory.getEntry("l5",SoundBuffer.class);
-        BackgroundMusic[5] = directory.getEntry("l6",SoundBuffer.class);
-        BackgroundMusic[6] = directory.getEntry("l7",SoundBuffer.class);
+        levelMusic = directory.getEntry("levelMusic",MusicBuffer.class);
 
     }
 
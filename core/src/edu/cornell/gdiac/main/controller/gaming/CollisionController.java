@@ -1,15 +1,18 @@
 package edu.cornell.gdiac.main.controller.gaming;
 
 import com.badlogic.gdx.audio.Sound;
+import com.badlogic.gdx.math.Rectangle;
 import com.badlogic.gdx.math.Vector2;
 import com.badlogic.gdx.physics.box2d.BodyDef;
+import com.badlogic.gdx.utils.Array;
 import edu.cornell.gdiac.main.model.*;
+import edu.cornell.gdiac.main.obstacle.ContactCategory;
 import edu.cornell.gdiac.main.obstacle.Obstacle;
 import edu.cornell.gdiac.main.obstacle.PolygonObstacle;
 import edu.cornell.gdiac.util.FilmStrip;
 import edu.cornell.gdiac.util.PooledList;
+import edu.cornell.gdiac.util.SpatialHash;
 
-import java.lang.reflect.Array;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -20,6 +23,20 @@ public class CollisionController {
 
     private Vector2 avatarPos;
 
+    /** The size of a cell in the proximity index (in physics units) */
+    private static final float CELL_SIZE = 2.0f;
+    /** The distance within which a note can be collected */
+    private static final float NOTE_RANGE = 1.0f;
+
+    /** The notes, penguins and avatar, indexed by position */
+    private SpatialHash<Obstacle> index = new SpatialHash<Obstacle>(CELL_SIZE);
+    /** The bounds of each water, computed once per level */
+    private Array<Rectangle> waterBounds = new Array<Rectangle>();
+    /** Cache for the results of a proximity query */
+    private Array<Obstacle> nearby = new Array<Obstacle>();
+    /** Cache for the notes close enough to be collected */
+    private Array<Note> noteCache = new Array<Note>();
+
     /**
      * Creates a CollisionController for the given screen dimensions.
      *
@@ -33,6 +50,44 @@ public class CollisionController {
         // Initialize cache objects
     }
 
+    /**
+     * Prepares the proximity queries for a new level.
+     *
+     * The notes never move, so they are indexed once.  The water bounds are also
+     * computed once, in the same order as the list of waters.
+     *
+     * @param notes  The notes of the level
+     * @param waters The waters of the level
+     */
+    public void setLevel(List<Note> notes, List<Water> waters) {
+        index.clear();
+        for (Note note : notes) {
+            if (!note.isCollected()) {
+                index.update(note, note.getX(), note.getY());
+            }
+        }
+        waterBounds.clear();
+        for (Water water : waters) {
+            waterBounds.add(new Rectangle(water.getX()-water.getWidth()/2, water.getY()-water.getHeight()/2,
+                                          water.getWidth(), water.getHeight()));
+        }
+    }
+
+    /**
+     * Moves the avatar and penguins to their current positions in the proximity index.
+     *
+     * This should be called after each physics update.
+     *
+     * @param avatar    The player avatar
+     * @param penguins  The penguins following the avatar
+     */
+    public void updateIndex(Player avatar, List<Penguin> penguins) {
+        index.update(avatar, avatar.getX(), avatar.getY());
+        for (Penguin p : penguins) {
+            index.update(p, p.getX(), p.getY());
+        }
+    }
+
 
     public void processCollision(ArrayList<Seal> seals, ArrayList<Sealion> sealions, Player avatar, PooledList<Obstacle> objects ){
         // Monster moving and attacking
@@ -136,8 +191,23 @@ public class CollisionController {
     public int penguin_note_interaction(List<Penguin> penguins, List<Note> notes, FilmStrip noteCollectedFilmStrip,
                                         int numNotes,
                                         PooledList<Obstacle> objects, int numPenguins,
-                                        Player avatar, Sound sound, float volume, ArrayList<FilmStrip> films){
-        for (Note note: notes){
+                                        Player avatar, Sound sound, ArrayList<FilmStrip> films){
+        // Only the notes near the avatar or a thrown penguin can be collected
+        nearby.clear();
+        index.query(avatar.getX(), avatar.getY(), NOTE_RANGE, nearby);
+        for (Penguin p : penguins) {
+            if (p.isThrowOut()) {
+                index.query(p.getX(), p.getY(), NOTE_RANGE, nearby);
+            }
+        }
+        noteCache.clear();
+        for (Obstacle obj : nearby) {
+            if (obj.getCategory() == ContactCategory.NOTE && !noteCache.contains((Note)obj, true)) {
+                noteCache.add((Note)obj);
+            }
+        }
+
+        for (Note note: noteCache){
             if (!note.isCollected()){
                 if(avatar.getPosition().dst(note.getPosition()) <= 1 && numPenguins > 0){
                     int last_index = numPenguins - 1;
@@ -149,6 +219,7 @@ public class CollisionController {
                     }
                     if(ret != null){
                         penguins.remove(ret);
+                        index.remove(ret);
                         objects.remove(ret);
                         ret.setActive(false);
                         ret.setAwake(false);
@@ -161,8 +232,9 @@ public class CollisionController {
                         }
                         note.setFilmStrip(noteCollectedFilmStrip);
                         note.setCollected(true);
+                        index.remove(note);
                         numNotes++;
-                        sound.play(volume);
+                        sound.play();
                     }
 
                 }else {
@@ -173,6 +245,7 @@ public class CollisionController {
                             p.setThrownOut(false);
                             objects.remove(p);
                             penguins.remove(p);
+                            index.remove(p);
                             if (avatar.getNumPenguins() > 0) {
                                 for (Penguin pen : avatar.getPenguins()) {
                                     pen.setOverlapFilmStrip(films.get(avatar.getNumPenguins() - 1));
@@ -181,8 +254,9 @@ public class CollisionController {
                             }
                             note.setFilmStrip(noteCollectedFilmStrip);
                             note.setCollected(true);
+                            index.remove(note);
                             numNotes++;
-                            sound.play(volume);
+                            sound.play();
                             break;
                         }
                     }
@@ -198,11 +272,11 @@ public class CollisionController {
 
 
     public void processCollision(List<PolygonObstacle> icicles, ArrayList<Boolean> hit, ArrayList<Integer> flag,
-                                 PooledList<Obstacle> objects, Sound hitIcicel, float volume){
+                                 PooledList<Obstacle> objects, Sound hitIcicel){
         for (int i = 0; i < icicles.size(); i++){
             if (hit.get(i)){
                 if(!icicles.get(i).isFixedRotation())
-                    hitIcicel.play(volume);
+                    hitIcicel.play();
                 if (flag.get(i) == 0) {
                     icicles.get(i).setBodyType(BodyDef.BodyType.DynamicBody);
                     icicles.get(i).setFixedRotation(true);
@@ -212,12 +286,13 @@ public class CollisionController {
     }
 
     public void processCollision(List<Water> waters, Player avatar){
-        for (Water water: waters){
-            water.setActive(false);
-            float leftX = water.getX()-((Water) water).getWidth()/2;
-            float rightX = water.getX()+((Water) water).getWidth()/2;
-            float downY = water.getY()-((Water) water).getHeight()/2;
-            float upY = water.getY()+((Water) water).getHeight()/2;
+        for (int i = 0; i < waters.size(); i++){
+            waters.get(i).setActive(false);
+            Rectangle bounds = waterBounds.get(i);
+            float leftX = bounds.x;
+            float rightX = bounds.x+bounds.width;
+            float downY = bounds.y;
+            float upY = bounds.y+bounds.height;
             if (avatar.getX() >= leftX && avatar.getX() <= rightX &&
                     avatar.getY()+avatar.getHeight()/2 >= downY && avatar.getY()+avatar.getHeight()/2 <= upY) {
                 GameplayController.hitWater(true);
@@ -226,12 +301,20 @@ public class CollisionController {
     }
 
     public void processCollision(List<Water> waters, List<Penguin> penguins, Player avatar){
-        for (Water water: waters){
-            for (Penguin p : penguins) {
-                float leftX = water.getX()-((Water) water).getWidth()/2;
-                float rightX = water.getX()+((Water) water).getWidth()/2;
-                float downY = water.getY()-((Water) water).getHeight()/2;
-                float upY = water.getY()+((Water) water).getHeight()/2;
+        for (Rectangle bounds : waterBounds){
+            float leftX = bounds.x;
+            float rightX = bounds.x+bounds.width;
+            float downY = bounds.y;
+            float upY = bounds.y+bounds.height;
+
+            // Penguins anywhere above or below the water are affected
+            nearby.clear();
+            index.query(leftX, -Float.MAX_VALUE, rightX, Float.MAX_VALUE, nearby);
+            for (Obstacle obj : nearby) {
+                if (obj.getCategory() != ContactCategory.PENGUIN) {
+                    continue;
+                }
+                Penguin p = (Penguin)obj;
                 if (p.getX() >= leftX && p.getX() <= rightX && p.getY() >= downY && p.getY() <= upY) {
                     if (p.isThrowOut() && !p.isGrounded()) {
                         if (avatar.getX() < p.getX()) {
@@ -0,0 +1,165 @@
+package edu.cornell.gdiac.main.controller.gaming;
+
+import com.badlogic.gdx.physics.box2d.Contact;
+import edu.cornell.gdiac.main.obstacle.ContactCategory;
+import edu.cornell.gdiac.main.obstacle.Obstacle;
+
+/**
+ * A table of contact handlers, keyed by the categories of the two obstacles.
+ *
+ * Looking up the handler for a contact is a single array access, so the contact
+ * listener does not have to test every rule against every contact.  A handler is
+ * registered for an ordered pair of categories, and it is always called with the
+ * obstacles in that order, whichever fixture Box2D reports first.  Several handlers
+ * may be registered for the same pair; they are called in registration order.
+ */
+public class ContactRouter {
+
+    /**
+     * A response to contacts between two categories of obstacle.
+     *
+     * Override only the methods that are needed.
+     */
+    public static abstract class Handler {
+        /**
+         * Called when the two obstacles begin to touch.
+         *
+         * @param contact   The Box2D contact
+         * @param first     The obstacle of the first registered category
+         * @param second    The obstacle of the second registered category
+         */
+        public void begin(Contact contact, Obstacle first, Obstacle second) {
+        }
+
+        /**
+         * Called when the two obstacles cease to touch.
+         *
+         * @param contact   The Box2D contact
+         * @param first     The obstacle of the first registered category
+         * @param second    The obstacle of the second registered category
+         */
+        public void end(Contact contact, Obstacle first, Obstacle second) {
+        }
+    }
+
+    /** A handler called with its obstacles in the opposite order */
+    private static class Swapped extends Handler {
+        /** The handler to call */
+        private final Handler handler;
+
+        Swapped(Handler handler) {
+            this.handler = handler;
+        }
+
+        public void begin(Contact contact, Obstacle first, Obstacle second) {
+            handler.begin(contact, second, first);
+        }
+
+        public void end(Contact contact, Obstacle first, Obstacle second) {
+            handler.end(contact, second, first);
+        }
+    }
+
+    /** Two handlers registered for the same pair */
+    private static class Chained extends Handler {
+        /** The handler registered first */
+        private final Handler head;
+        /** The handler registered second */
+        private final Handler tail;
+
+        Chained(Handler head, Handler tail) {
+            this.head = head;
+            this.tail = tail;
+        }
+
+        public void begin(Contact contact, Obstacle first, Obstacle second) {
+            head.begin(contact, first, second);
+            tail.begin(contact, first, second);
+        }
+
+        public void end(Contact contact, Obstacle first, Obstacle second) {
+            head.end(contact, first, second);
+            tail.end(contact, first, second);
+        }
+    }
+
+    /** The handlers, indexed by the ordinals of the two categories */
+    private final Handler[][] table;
+
+    /**
+     * Creates an empty contact table
+     */
+    public ContactRouter() {
+        int size = ContactCategory.values().length;
+        table = new Handler[size][size];
+    }
+
+    /**
+     * Registers a handler for contacts between the two categories.
+     *
+     * The handler receives the obstacle of category a first.  If a and b are the
+     * same category, the handler is called once per contact.
+     *
+     * @param a         The category of the first obstacle
+     * @param b         The category of the second obstacle
+     * @param handler   The handler to call
+     */
+    public void register(ContactCategory a, ContactCategory b, Handler handler) {
+        add(a, b, handler);
+        if (a != b) {
+            add(b, a, new Swapped(handler));
+        }
+    }
+
+    /**
+     * Registers a handler for contacts between the category and every other one.
+     *
+     * @param a         The category of the first obstacle
+     * @param handler   The handler to call
+     */
+    public void registerAll(ContactCategory a, Handler handler) {
+        for (ContactCategory b : ContactCategory.values()) {
+            register(a, b, handler);
+        }
+    }
+
+    /**
+     * Dispatches the beginning of a contact to its handlers.
+     *
+     * @param contact   The Box2D contact
+     * @param a         The obstacle of fixture A
+     * @param b         The obstacle of fixture B
+     */
+    public void begin(Contact contact, Obstacle a, Obstacle b) {
+        Handler handler = table[a.getCategory().ordinal()][b.getCategory().ordinal()];
+        if (handler != null) {
+            handler.begin(contact, a, b);
+        }
+    }
+
+    /**
+     * Dispatches the end of a contact to its handlers.
+     *
+     * @param contact   The Box2D contact
+     * @param a         The obstacle of fixture A
+     * @param b         The obstacle of fixture B
+     */
+    public void end(Contact contact, Obstacle a, Obstacle b) {
+        Handler handler = table[a.getCategory().ordinal()][b.getCategory().ordinal()];
+        if (handler != null) {
+            handler.end(contact, a, b);
+        }
+    }
+
+    /**
+     * Adds a handler to a single entry of the table
+     *
+     * @param a         The category of the first obstacle
+     * @param b         The category of the second obstacle
+     * @param handler   The handler to call
+     */
+    private void add(ContactCategory a, ContactCategory b, Handler handler) {
+        Handler current = table[a.ordinal()][b.ordinal()];
+        table[a.ordinal()][b.ordinal()] = (current == null ? handler : new Chained(current, handler));
+    }
+}
@@ -0,0 +1,118 @@
+package edu.cornell.gdiac.main.controller.gaming;
+
+import com.badlogic.gdx.utils.ObjectMap;
+import edu.cornell.gdiac.assets.AssetDirectory;
+
+/**
+ * A reference-counted registry of level asset directories.
+ *
+ * Every continent has a single asset directory (e.g. europe/europeMain.json) holding
+ * its background, font and level files.  Rather than having each level load its own
+ * copy, a {@link LevelTemplate} borrows the directory from this registry.  The
+ * directory is loaded on the first {@link #acquire} and unloaded when the last
+ * borrower calls {@link #release}.
+ */
+public class ContinentAssets {
+    /** A loaded asset directory and the number of borrowers */
+    private static class Entry {
+        /** The loaded asset directory */
+        AssetDirectory directory;
+        /** The number of outstanding acquisitions */
+        int references;
+    }
+
+    /** The loaded directories, keyed by directory file */
+    private static final ObjectMap<String, Entry> entries = new ObjectMap<>();
+
+    /**
+     * Returns the asset directory for the given file, loading it if necessary.
+     *
+     * Every call must be balanced by a call to {@link #release}.
+     *
+     * @param jsonFile  The asset directory file
+     *
+     * @return the loaded asset directory
+     */
+    public static AssetDirectory acquire(String jsonFile) {
+        Entry entry = preloadEntry(jsonFile);
+        entry.directory.finishLoading();
+        entry.references++;
+        return entry.directory;
+    }
+
+    /**
+     * Starts loading the asset directory for the given file without waiting for it.
+     *
+     * The returned directory can be driven incrementally with
+     * {@link AssetDirectory#update(int)}.  It is not borrowed by the caller, and
+     * stays in the registry until it has been acquired and released.
+     *
+     * @param jsonFile  The asset directory file
+     *
+     * @return the (possibly still loading) asset directory
+     */
+    public static AssetDirectory preload(String jsonFile) {
+        return preloadEntry(jsonFile).directory;
+    }
+
+    /**
+     * Returns the registry entry for the given file, creating it if necessary.
+     *
+     * @param jsonFile  The asset directory file
+     *
+     * @return the registry entry for the given file
+     */
+    private static Entry preloadEntry(String jsonFile) {
+        Entry entry = entries.get(jsonFile);
+        if (entry == null) {
+            entry = new Entry();
+            entry.directory = new AssetDirectory(jsonFile);
+            entry.directory.loadAssets();
+            entries.put(jsonFile, entry);
+        }
+        return entry;
+    }
+
+    /**
+     * Releases an asset directory previously returned by {@link #acquire}.
+     *
+     * When the last borrower releases the directory, its assets are unloaded.
+     *
+     * @param jsonFile  The asset directory file
+     */
+    public static void release(String jsonFile) {
+        Entry entry = entries.get(jsonFile);
+        if (entry == null) {
+            return;
+        }
+        entry.references--;
+        if (entry.references <= 0) {
+            entry.directory.unloadAssets();
+            entry.directory.dispose();
+            entries.remove(jsonFile);
+        }
+    }
+
+    /**
+     * Returns true if the asset directory for the given file is currently loaded
+     *
+     * @param jsonFile  The asset directory file
+     *
+     * @return true if the asset directory for the given file is currently loaded
+     */
+    public static boolean isLoaded(String jsonFile) {
+        return entries.containsKey(jsonFile);
+    }
+
+    /**
+     * Unloads all level assets of the given continent.
+     *
+     * This drops the cached templates of the continent, which in turn releases its
+     * asset directory.  Levels of this continent are reloaded on demand.
+     *
+     * @param continent The continent to unload
+     */
+    public static void unload(MenuController.Continent continent) {
+        LevelTemplate.evict(continent.getDirectory());
+    }
+}
@@ -14,12 +14,14 @@ import com.badlogic.gdx.physics.box2d.*;
 import com.badlogic.gdx.utils.JsonValue;
 import com.badlogic.gdx.utils.ObjectSet;
 import edu.cornell.gdiac.assets.AssetDirectory;
+import edu.cornell.gdiac.audio.AudioEngine;
 import edu.cornell.gdiac.audio.SoundBuffer;
 import edu.cornell.gdiac.main.GDXRoot;
 import edu.cornell.gdiac.main.controller.InputController;
 import edu.cornell.gdiac.main.model.*;
 import edu.cornell.gdiac.main.obstacle.*;
 import edu.cornell.gdiac.main.controller.WorldController;
+import edu.cornell.gdiac.main.view.HudCounter;
 import edu.cornell.gdiac.util.FilmStrip;
 import edu.cornell.gdiac.util.ScreenListener;
 
@@ -36,6 +38,8 @@ public class GameplayController extends WorldController implements ContactListen
     /** Listener that will update the player mode when we are done */
     private ScreenListener listener;
     private static final float MOUSE_TOL = 50f;
+    /** The voice priority of the win and lose jingles (never cut off by effects) */
+    private static final int JINGLE_PRIORITY = SoundBuffer.DEFAULT_PRIORITY+1;
 
     /** Position of Reset button */
     private Vector2 resetPos;
@@ -60,11 +64,14 @@ public class GameplayController extends WorldController implements ContactListen
     private ArrayList<Boolean> tiltList;
 
     private LevelLoader levelLoader;
+    /** Whether levelLoader was just handed over and has not been played yet */
+    private boolean freshLevel;
 
     private int timeCounter;
 
     private AssetLoader assetLoader = GDXRoot.assetLoader;
 
+    /** The game volume, applied to the music and effects buses */
     public float volume = 0.5f;
 
 
@@ -81,6 +88,10 @@ public class GameplayController extends WorldController implements ContactListen
     private int num_penguins;
     /** number of notes */
     private int num_notes;
+    /** HUD text for the notes collected */
+    private HudCounter noteCounter = new HudCounter("Notes collected: ");
+    /** HUD text for the penguins left */
+    private HudCounter penguinCounter = new HudCounter("Penguins: ");
 
     private int playerGround = 0;
     private static boolean hitWater = false;
@@ -110,13 +121,21 @@ public class GameplayController extends WorldController implements ContactListen
 
     /** Mark set to handle more sophisticated collision callbacks */
     protected ObjectSet<Fixture> sensorFixtures;
+    /** The contact handlers for each pair of object categories */
+    private ContactRouter contactRouter;
+
+    /** The static layer with the background (or -1 if it must be rebuilt) */
+    private int backgroundLayer = -1;
+    /** The static layer with the terrain (or -1 if it must be rebuilt) */
+    private int terrainLayer = -1;
+    /** The objects drawn in the terrain layer instead of individually */
+    private ObjectSet<Obstacle> staticObjects = new ObjectSet<Obstacle>();
 
     private int currentLevelNum;
 
     ArrayList<Integer> staticBodies = new ArrayList<>();
     ArrayList<Boolean> icicles_hit = new ArrayList<>();
 
-    long[] soundIDs = new long[7];
 
 
     /**
@@ -143,6 +162,7 @@ public class GameplayController extends WorldController implements ContactListen
 
         collisionController = new CollisionController(width, height);
         sensorFixtures = new ObjectSet<Fixture>();
+        contactRouter = createContactRouter();
 
         this.isEditingView = isEditingView;
 
@@ -177,8 +197,26 @@ public class GameplayController extends WorldController implements ContactListen
         this.failed = val;
     }
 
+    /**
+     * Returns true if the player has failed the level
+     *
+     * @return true if the player has failed the level
+     */
+    public boolean isFailure(){
+        return failed;
+    }
+
+    /**
+     * Sets the level to play on the next reset.
+     *
+     * The given level is used as is the first time, so it must not have been played
+     * before.  Later resets instantiate fresh copies of it.
+     *
+     * @param levelLoader   The level to play
+     */
     public void loadLevel(LevelLoader levelLoader){
         this.levelLoader = levelLoader;
+        this.freshLevel = true;
     }
 
     /**
@@ -223,6 +261,7 @@ public class GameplayController extends WorldController implements ContactListen
         world.dispose();
 
         world = new World(gravity,false);
+        world.setAutoClearForces(false);
         world.setContactListener(this);
         setComplete(false);
         setFailure(false);
@@ -255,10 +294,13 @@ public class GameplayController extends WorldController implements ContactListen
         }
         canvas.getCamera().update();
         collisionController = new CollisionController(1280, 720);
+        collisionController.setLevel(levelLoader.notesList, levelLoader.waterList);
+        collisionController.updateIndex(levelLoader.avatar, levelLoader.avatar.getPenguins());
 
         sensorFixtures = new ObjectSet<Fixture>();
         background = levelLoader.background;
         gameFont = levelLoader.gameFont;
+        terrainLayer = -1;
 
     }
 
@@ -268,7 +310,12 @@ public class GameplayController extends WorldController implements ContactListen
     private void populateLevel() {
         quitPos = new Vector2(canvas.getWidth()-80f, canvas.getHeight()-80f);
         buttonR = 20;
-        levelLoader = levelLoader.reset();
+        if (freshLevel) {
+            freshLevel = false;
+        } else {
+            levelLoader = levelLoader.reset();
+        }
+        levelLoader.finishLoading();
 
         for(PolygonObstacle snow: levelLoader.snowList){
             addObject(snow);
@@ -312,14 +359,13 @@ public class GameplayController extends WorldController implements ContactListen
             addObject(movingIce);
         }
 
-        for(int i=0;i<7;i++){
-            assetLoader.BackgroundMusic[i].stop();
-        }
-        for(int i=0;i<levelLoader.num_penguins;i++){
-            if(i>6) break;
-            soundIDs[i] = assetLoader.BackgroundMusic[i].loop(volume);
-
+        // One stem of the level music for each penguin
+        assetLoader.levelMusic.stop();
+        for(int i=0;i<assetLoader.levelMusic.getNumberOfSources();i++){
+            assetLoader.levelMusic.setStemVolume(i, i < levelLoader.num_penguins ? 1 : 0);
         }
+        applyVolume();
+        assetLoader.levelMusic.play();
 
     }
 
@@ -348,6 +394,19 @@ public class GameplayController extends WorldController implements ContactListen
         return true;
     }
 
+    /**
+     * Applies the game volume to the music and effects buses
+     *
+     * The volume is set once per bus, rather than on every sound that is played.
+     * Every sound and music buffer comes from the audio engine (the asset loaders
+     * require it), so the buses reach all of the game audio.
+     */
+    private void applyVolume() {
+        AudioEngine engine = (AudioEngine)Gdx.audio;
+        engine.setBusGain(AudioEngine.MUSIC_BUS, volume);
+        engine.setBusGain(AudioEngine.EFFECTS_BUS, volume);
+    }
+
     @Override
     public void dispose() {
 //        internal.dispose();
@@ -361,19 +420,13 @@ public class GameplayController extends WorldController implements ContactListen
         if(InputController.getInstance().isLowerVolume()){
             volume -= 0.01;
             if(volume <0 ) volume =0;
-            for(int i=0;i<num_notes;i++){
-                assetLoader.BackgroundMusic[i].setVolume(soundIDs[i],volume);
-            }
-            levelLoader.avatar.volume = volume;
+            applyVolume();
 
         }
         if(InputController.getInstance().isHigherVolume()){
             volume += 0.01;
             if(volume >1) volume = 1;
-            for(int i=0;i<num_notes;i++){
-                assetLoader.BackgroundMusic[i].setVolume(soundIDs[i],volume);
-            }
-            levelLoader.avatar.volume = volume;
+            applyVolume();
         }
         if(isPaused){
             if(InputController.getInstance().touchUp() && (Gdx.input.getX()< 450 || Gdx.input.getX()> 840
@@ -438,7 +491,7 @@ public class GameplayController extends WorldController implements ContactListen
         if (InputController.getInstance().didPunch() && punchCooldown <= 0) {
             levelLoader.avatar.setFilmStrip(assetLoader.punchStrip);
             levelLoader.avatar.setPunching(true);
-            assetLoader.punching.play(volume);
+            assetLoader.punching.play();
             punchCooldown = PUNCH_COOLDOWN;
         } else {
             punchCooldown -= 1;
@@ -455,17 +508,28 @@ public class GameplayController extends WorldController implements ContactListen
         }
 
         collisionController.processCollision(levelLoader.iciclesList, icicles_hit, staticBodies, objects,
-                assetLoader.hitIcicle,volume);
+                assetLoader.hitIcicle);
         collisionController.processCollision(levelLoader.waterList, levelLoader.avatar);
         collisionController.processCollision(levelLoader.waterList, levelLoader.avatar.getPenguins(),levelLoader.avatar);
 
         notesCollected = collisionController.penguin_note_interaction(levelLoader.avatar.getPenguins(), levelLoader.notesList, assetLoader.noteCollectedStrip, notesCollected,
-                objects, levelLoader.avatar.getNumPenguins(), levelLoader.avatar, assetLoader.collectingNote, volume, assetLoader.penguins);
+                objects, levelLoader.avatar.getNumPenguins(), levelLoader.avatar, assetLoader.collectingNote, assetLoader.penguins);
 
     }
 
 
 
+    /**
+     * Processes physics, and then updates the proximity index of the collision controller
+     *
+     * @param dt Number of seconds since last animation frame
+     */
+    @Override
+    public void postUpdate(float dt) {
+        super.postUpdate(dt);
+        collisionController.updateIndex(levelLoader.avatar, levelLoader.avatar.getPenguins());
+    }
+
     public void backToEdit(){
         if(isEditingView && (InputController.getInstance().getClickX() > 1200 &&
                 InputController.getInstance().getClickX() < 1260 &&
@@ -481,14 +545,14 @@ public class GameplayController extends WorldController implements ContactListen
         // camera
         // leave this for ending  levelLoader.avatar.getX() < constants.get("goal").get("pos").getFloat(0)
         float maxX = levelLoader.exit.getX() < 16 ? 320 : levelLoader.exit.getX();
-        if(levelLoader.avatar.getX()>16 && levelLoader.avatar.getX() < maxX){
-            if(levelLoader.avatar.getX()/32*1280 > cameraX){
-                canvas.getCamera().translate(levelLoader.avatar.getX()/32*1280-cameraX, 0f);
+        if(levelLoader.avatar.getDrawX()>16 && levelLoader.avatar.getDrawX() < maxX){
+            if(levelLoader.avatar.getDrawX()/32*1280 > cameraX){
+                canvas.getCamera().translate(levelLoader.avatar.getDrawX()/32*1280-cameraX, 0f);
                 canvas.getCamera().update();
                 cameraX = canvas.getCamera().position.x;
             }
-            else if(levelLoader.avatar.getX()/32*1280 < cameraX){
-                canvas.getCamera().translate(levelLoader.avatar.getX()/32*1280-cameraX, 0f);
+            else if(levelLoader.avatar.getDrawX()/32*1280 < cameraX){
+                canvas.getCamera().translate(levelLoader.avatar.getDrawX()/32*1280-cameraX, 0f);
                 canvas.getCamera().update();
                 cameraX = canvas.getCamera().position.x;
             }
@@ -505,7 +569,7 @@ public class GameplayController extends WorldController implements ContactListen
         if(levelLoader.avatar.isJumping()&&InputController.getInstance().didPrimary()){
             levelLoader.avatar.moveState = Player.animationState.jumpRising;
             levelLoader.avatar.setFilmStrip(assetLoader.jumpRisingStrip);
-            assetLoader.jumping.play(volume);
+            assetLoader.jumping.play();
         }
         levelLoader.avatar.setThrowing(InputController.getInstance().touchUp(), assetLoader.throwingP,Gdx.input.isKeyPressed(Input.Keys.SPACE));
         canThrow = true;
@@ -529,6 +593,57 @@ public class GameplayController extends WorldController implements ContactListen
             return 7+"-"+levelnum;
     }
 
+    /**
+     * Builds the static layers for the background and the terrain.
+     *
+     * The terrain layer holds the snow, the exit and every icicle that has not fallen.
+     * These are uploaded to the graphics card once, instead of every frame.
+     */
+    private void buildStaticLayers() {
+        canvas.clearStatic();
+        canvas.beginStatic();
+        canvas.addStaticBackground(background, 0, 0);
+        backgroundLayer = canvas.endStatic();
+
+        staticObjects.clear();
+        canvas.beginStatic();
+        for(PolygonObstacle snow: levelLoader.snowList){
+            addStaticObject(snow);
+        }
+        for(PolygonObstacle icicle: levelLoader.iciclesList){
+            if (icicle.getBodyType() == BodyDef.BodyType.StaticBody) {
+                addStaticObject(icicle);
+            }
+        }
+        addStaticObject(levelLoader.exit);
+        terrainLayer = canvas.endStatic();
+    }
+
+    /**
+     * Adds the object to the terrain layer, if it can be drawn there
+     *
+     * @param obj   The object to add
+     */
+    private void addStaticObject(Obstacle obj) {
+        if (obj.addStatic(canvas)) {
+            staticObjects.add(obj);
+        }
+    }
+
+    /**
+     * Returns true if an object in the terrain layer has started to move
+     *
+     * @return true if an object in the terrain layer has started to move
+     */
+    private boolean isTerrainStale() {
+        for(PolygonObstacle icicle: levelLoader.iciclesList){
+            if (icicle.getBodyType() != BodyDef.BodyType.StaticBody && staticObjects.contains(icicle)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     /**
      * Draw the physics objects together with foreground and background
      *
@@ -542,10 +657,13 @@ public class GameplayController extends WorldController implements ContactListen
         if(canvas==null){
             return;
         }
+        if (terrainLayer < 0 || isTerrainStale()) {
+            buildStaticLayers();
+        }
         canvas.clear();
 
         canvas.begin();
-        canvas.drawBackground(background,0, 0);
+        canvas.drawStatic(backgroundLayer);
         // draw tutorial text;
         if(levelLoader.jsonFile.startsWith("europe")){
             switch (levelLoader.getLevel()){
@@ -595,15 +713,18 @@ public class GameplayController extends WorldController implements ContactListen
             canvas.draw(assetLoader.blackTexture,new Color(1,1,1,0.4f),cameraX-1280/2,0,3000f,2000f);
         }
 
-        for(Obstacle obj : objects) {
-            obj.draw(canvas);
+        canvas.drawStatic(terrainLayer);
+        for(Obstacle obj : cullObjects()) {
+            if (!staticObjects.contains(obj)) {
+                obj.draw(canvas);
+            }
         }
 
-        String noteMsg = "Notes collected: "+ notesCollected + "/"+num_notes;
-        String penguinMsg = "Penguins: "+ levelLoader.avatar.getNumPenguins() + "/"+num_penguins;
+        noteCounter.set(notesCollected, num_notes);
+        penguinCounter.set(levelLoader.avatar.getNumPenguins(), num_penguins);
         if(!complete || failed) {
-            canvas.drawText(gameFont, noteMsg, 5.0f+canvas.getCamera().position.x-610, canvas.getHeight() - 30.0f);
-            canvas.drawText(gameFont, penguinMsg, 5.0f+canvas.getCamera().position.x-610, canvas.getHeight() - 75.0f);
+            canvas.drawText(gameFont, noteCounter, 5.0f+canvas.getCamera().position.x-610, canvas.getHeight() - 30.0f);
+            canvas.drawText(gameFont, penguinCounter, 5.0f+canvas.getCamera().position.x-610, canvas.getHeight() - 75.0f);
         }
         if(isPaused){
             canvas.drawFixed(assetLoader.pauseScreen, 0, 0);
@@ -614,9 +735,7 @@ public class GameplayController extends WorldController implements ContactListen
             }else if(InputController.getInstance().touchUp() &&Gdx.input.getX()>500 && Gdx.input.getY()>370&&Gdx.input.getX()<760 && Gdx.input.getY()<410){
                 isPaused = false;
                 disableMovement = false;
-                for(int i=0;i<7;i++){
-                    assetLoader.BackgroundMusic[i].stop();
-                }
+                assetLoader.levelMusic.stop();
                 canvas.end();
                 listener.updateScreen(this, GAMEPLAY_MENU);
                 return;
@@ -633,7 +752,7 @@ public class GameplayController extends WorldController implements ContactListen
 
         if (isDebug()) {
             canvas.beginDebug();
-            for(Obstacle obj : objects) {
+            for(Obstacle obj : visible) {
                 obj.drawDebug(canvas);
             }
             canvas.endDebug();
@@ -643,9 +762,8 @@ public class GameplayController extends WorldController implements ContactListen
         if (complete && !failed) {
             canvas.begin(); // DO NOT SCALE
             if(!endSoundPlaying) {
-                for(int i=0;i<7;i++)
-                    assetLoader.BackgroundMusic[i].stop();
-                assetLoader.winning.play(volume);
+                assetLoader.levelMusic.stop();
+                assetLoader.winning.play(1, JINGLE_PRIORITY);
                 endSoundPlaying = true;
             }
             gameFont.setColor(Color.WHITE);
@@ -657,9 +775,8 @@ public class GameplayController extends WorldController implements ContactListen
             levelLoader.avatar.setLinearVelocity(forceCache.set(0,levelLoader.avatar.getLinearVelocity().y));
             canvas.begin(); // DO NOT SCALE
             if(!endSoundPlaying) {
-                for(int i=0;i<7;i++)
-                    assetLoader.BackgroundMusic[i].stop();
-                assetLoader.losing.play(volume);
+                assetLoader.levelMusic.stop();
+                assetLoader.losing.play(1, JINGLE_PRIORITY);
                 endSoundPlaying = true;
             }
             gameFont.setColor(Color.WHITE);
@@ -679,106 +796,58 @@ public class GameplayController extends WorldController implements ContactListen
         hitWater = value;
     }
 
-    @Override
-    public void beginContact(Contact contact) {
-        Fixture fix1 = contact.getFixtureA();
-        Fixture fix2 = contact.getFixtureB();
-
-        Body body1 = fix1.getBody();
-        Body body2 = fix2.getBody();
-
-        Object fd1 = fix1.getUserData();
-        Object fd2 = fix2.getUserData();
-
-        try {
-            Obstacle bd1 = (Obstacle)body1.getUserData();
-            Obstacle bd2 = (Obstacle)body2.getUserData();
-
-            // See if we have landed on the ground.
-            boolean bd1IsGround = !(bd1 instanceof Penguin) && !(bd1 instanceof Note) && (!(bd1 instanceof Water));
-            boolean bd2IsGround = !(bd2 instanceof Penguin) && !(bd2 instanceof Note) && (!(bd2 instanceof Water));
-            if ((levelLoader.avatar.getSensorName().equals(fd2) && levelLoader.avatar != bd1 && bd1IsGround) ||
-                    (levelLoader.avatar.getSensorName().equals(fd1) && levelLoader.avatar != bd2 && bd2IsGround)) {
-                levelLoader.avatar.setGrounded(true);
-                playerGround += 1;
-
-                if(levelLoader.avatar.moveState == Player.animationState.jumpHanging ||
-                        levelLoader.avatar.moveState == Player.animationState.jumpRising){
-                    levelLoader.avatar.moveState = Player.animationState.jumpLanding;
-                    levelLoader.avatar.setFilmStrip(assetLoader.jumpLandingStrip);
-                    assetLoader.bearLanding.play(volume);
-                }
-                sensorFixtures.add(levelLoader.avatar == bd1 ? fix2 : fix1); // Could have more than one ground
-            }
-
-            // check whether the penguin is grounded
-            bd1IsGround = !(bd1 instanceof Note) && (!(bd1 instanceof Water));
-            bd2IsGround = !(bd2 instanceof Note) && (!(bd2 instanceof Water));
-            for(Penguin p: levelLoader.avatar.getPenguins()){
-                if ((p.getSensorName().equals(fd2) && p != bd1 && bd1 != levelLoader.avatar && bd1IsGround) ||
-                        (p.getSensorName().equals(fd1) && p != bd2 && bd2 != levelLoader.avatar && bd2IsGround)) {
-                    p.setGrounded(true);
-                    if(p.isThrowOut() && p.getBodyType()== BodyDef.BodyType.DynamicBody){
-                        if(p.getSoundPlaying())
-                            assetLoader.penguinLanding.play(volume);
-                        p.setSoundPlaying(false);
-                    }
-                    sensorFixtures.add(p == bd1 ? fix2 : fix1); // Could have more than one ground
-                }
-            }
-
-            if(bd1.getName().startsWith("snow") && bd2.getName().startsWith("icicle")){
-                WorldManifold worldmanifold;
-                worldmanifold = contact.getWorldManifold();
-                for(Vector2 point : worldmanifold.getPoints()){
-                    if (point.x == bd2.getX()){
-                        int index = Integer.parseInt(bd2.getName().substring(bd2.getName().length()-1));
-                        staticBodies.set(index, staticBodies.get(index)+1);
-                    }
-                }
-            }
-            if(bd2.getName().startsWith("snow") && bd1.getName().startsWith("icicle")){
-                WorldManifold worldmanifold;
-                worldmanifold = contact.getWorldManifold();
-                for(Vector2 point : worldmanifold.getPoints()){
-                    if (point.x == bd1.getX()){
-                        int index = Integer.parseInt(bd1.getName().substring(bd1.getName().length()-1));
-                        staticBodies.set(index, staticBodies.get(index)+1);
-                    }
-                }
+    /**
+     * Creates the table of contact handlers for this game.
+     *
+     * The handlers are registered in the order in which they should run when several
+     * apply to the same pair of categories.
+     *
+     * @return the table of contact handlers for this game
+     */
+    private ContactRouter createContactRouter() {
+        ContactRouter router = new ContactRouter();
 
+        // Count the snow supporting each icicle
+        router.register(ContactCategory.TERRAIN, ContactCategory.ICICLE, new ContactRouter.Handler() {
+            public void begin(Contact contact, Obstacle snow, Obstacle icicle) {
+                countSupport(contact, icicle, 1);
             }
-
-
-            if (bd1 instanceof Penguin && bd2.getName().startsWith("icicle")){
-                icicles_hit.set(levelLoader.iciclesList.indexOf(bd2),true);
+            public void end(Contact contact, Obstacle snow, Obstacle icicle) {
+                countSupport(contact, icicle, -1);
             }
+        });
 
-            if (bd2 instanceof Penguin && bd1.getName().startsWith("icicle")){
-                icicles_hit.set(levelLoader.iciclesList.indexOf(bd1),true);
+        router.register(ContactCategory.PENGUIN, ContactCategory.ICICLE, new ContactRouter.Handler() {
+            public void begin(Contact contact, Obstacle penguin, Obstacle icicle) {
+                icicles_hit.set(icicle.getCategoryIndex(), true);
             }
+        });
 
-            // set the ice bar tilt only for levelLoader.avatar
-            if ((bd1.getName()=="iceBar" || bd1.getName()=="floatingIceBar") &&
-                    (bd2 == levelLoader.avatar || bd2.getName().startsWith("icicle")) ) {
-                bd1.setFixedRotation(false);
-            }
-            if ((bd1 == levelLoader.avatar || bd1.getName().startsWith("icicle")) &&
-                    (bd2.getName()=="iceBar"|| bd2.getName()=="floatingIceBar")) {
-                bd2.setFixedRotation(false);
+        // set the ice bar tilt only for the avatar
+        ContactRouter.Handler tilt = new ContactRouter.Handler() {
+            public void begin(Contact contact, Obstacle bar, Obstacle other) {
+                bar.setFixedRotation(false);
             }
-
-
-            // Check for win condition
-            if ((bd1.getName() == "exit" && bd2 == levelLoader.avatar && notesCollected == num_notes) ||
-                    (bd1 == levelLoader.avatar && bd2.getName() == "exit" && notesCollected == num_notes)) {
-                setComplete(true);
+        };
+        router.register(ContactCategory.ICE_BAR, ContactCategory.PLAYER, tilt);
+        router.register(ContactCategory.ICE_BAR, ContactCategory.ICICLE, tilt);
+        router.register(ContactCategory.FLOATING_ICE_BAR, ContactCategory.PLAYER, tilt);
+        router.register(ContactCategory.FLOATING_ICE_BAR, ContactCategory.ICICLE, tilt);
+
+        // Check for win condition
+        router.register(ContactCategory.EXIT, ContactCategory.PLAYER, new ContactRouter.Handler() {
+            public void begin(Contact contact, Obstacle exit, Obstacle avatar) {
+                if (notesCollected == num_notes) {
+                    setComplete(true);
+                }
             }
+        });
 
-
-            if((bd1.getName() == bd2.getName()) && bd1.getName() == "floatingIceBar"){
-                FloatingIce master1 = (FloatingIce)((BoxObstacle)bd1).getMaster();
-                FloatingIce master2 = (FloatingIce)((BoxObstacle)bd2).getMaster();
+        //contact for floating ice bar
+        router.register(ContactCategory.FLOATING_ICE_BAR, ContactCategory.FLOATING_ICE_BAR, new ContactRouter.Handler() {
+            public void begin(Contact contact, Obstacle bar1, Obstacle bar2) {
+                FloatingIce master1 = (FloatingIce)((BoxObstacle)bar1).getMaster();
+                FloatingIce master2 = (FloatingIce)((BoxObstacle)bar2).getMaster();
                 if ( master1.getMomentum()>0){
                     master2.hitByFloatingIce(master1.getMomentum()/2, master1.getDirection());
                     master1.hitByFloatingIce(master1.getMomentum()/4,master1.getDirection());
@@ -787,192 +856,205 @@ public class GameplayController extends WorldController implements ContactListen
                     master1.hitByFloatingIce(master2.getMomentum()/2, master2.getDirection());
                     master2.hitByFloatingIce(master2.getMomentum()/4, master2.getDirection());
                 }
-
             }
-            else {
-
-
-                //contact for floating ice bar
-                if (bd1.getName() == "floatingIceBar") {
-                    ComplexObstacle master = ((BoxObstacle) bd1).getMaster();
-                    if (bd2.getName().startsWith("icicle") && bd2.getMass() != 0) {
-                        float force = (float) Math.log(bd2.getMass()) / 75;
-                        if (bd2.getX() < bd1.getX()) {
-                            force = -force;
-                        }
-                        ((FloatingIce) master).hitByIcicle(force);
-                    } else if (!(bd2 instanceof Penguin) && !(bd2 instanceof Player)) {
-                        WorldManifold worldmanifold;
-                        worldmanifold = contact.getWorldManifold();
-                        if (bd1.getX() < worldmanifold.getPoints()[0].x)
-                            ((FloatingIce) master).offsetX(1);
-                        else
-                            ((FloatingIce) master).offsetX(-1);
+        });
+        ContactRouter.Handler floating = new ContactRouter.Handler() {
+            public void begin(Contact contact, Obstacle bar, Obstacle other) {
+                FloatingIce master = (FloatingIce)((BoxObstacle) bar).getMaster();
+                if (other.getCategory() == ContactCategory.ICICLE && other.getMass() != 0) {
+                    float force = (float) Math.log(other.getMass()) / 75;
+                    if (other.getX() < bar.getX()) {
+                        force = -force;
                     }
-
+                    master.hitByIcicle(force);
+                } else if (bar.getX() < contact.getWorldManifold().getPoints()[0].x) {
+                    master.offsetX(1);
+                } else {
+                    master.offsetX(-1);
                 }
+            }
+        };
+        for (ContactCategory other : ContactCategory.values()) {
+            if (other != ContactCategory.FLOATING_ICE_BAR &&
+                    other != ContactCategory.PENGUIN && other != ContactCategory.PLAYER) {
+                router.register(ContactCategory.FLOATING_ICE_BAR, other, floating);
+            }
+        }
 
-                if (bd2.getName() == "floatingIceBar") {
-                    ComplexObstacle master = ((BoxObstacle) bd2).getMaster();
-                    if (bd1.getName().startsWith("icicle") && bd1.getMass() != 0) {
-                        float force = (float) Math.log(bd1.getMass()) / 75;
-                        if (bd1.getX() < bd2.getX()) {
-                            force = -force;
-                        }
-                        ((FloatingIce) master).hitByIcicle(force);
-                    } else if (!(bd1 instanceof Penguin) && !(bd1 instanceof Player)) {
-                        WorldManifold worldmanifold;
-                        worldmanifold = contact.getWorldManifold();
-                        if (bd2.getX() < worldmanifold.getPoints()[0].x)
-                            ((FloatingIce) master).offsetX(1);
-                        else
-                            ((FloatingIce) master).offsetX(-1);
-                    }
-                }
+        //contact for moving ice bar
+        router.register(ContactCategory.MOVING_ICE_BAR, ContactCategory.PENGUIN, new ContactRouter.Handler() {
+            public void begin(Contact contact, Obstacle bar, Obstacle penguin) {
+                ((MovingIce)((BoxObstacle)bar).getMaster()).addPenguin((Penguin)penguin);
+            }
+        });
+        router.register(ContactCategory.MOVING_ICE_BAR, ContactCategory.PLAYER, new ContactRouter.Handler() {
+            public void begin(Contact contact, Obstacle bar, Obstacle avatar) {
+                ((MovingIce)((BoxObstacle)bar).getMaster()).addPlayer((Player)avatar);
+            }
+            public void end(Contact contact, Obstacle bar, Obstacle avatar) {
+                ((MovingIce)((BoxObstacle)bar).getMaster()).removePlyaer();
+            }
+        });
+        router.register(ContactCategory.MOVING_ICE_BAR, ContactCategory.MOVING_ICE_BAR, new ContactRouter.Handler() {
+            public void begin(Contact contact, Obstacle bar1, Obstacle bar2) {
+                hitMovingIce(contact, bar1);
+                hitMovingIce(contact, bar2);
+            }
+        });
+        ContactRouter.Handler moving = new ContactRouter.Handler() {
+            public void begin(Contact contact, Obstacle bar, Obstacle other) {
+                hitMovingIce(contact, bar);
             }
+        };
+        for (ContactCategory other : ContactCategory.values()) {
+            if (other != ContactCategory.MOVING_ICE_BAR &&
+                    other != ContactCategory.PENGUIN && other != ContactCategory.PLAYER) {
+                router.register(ContactCategory.MOVING_ICE_BAR, other, moving);
+            }
+        }
 
-            //contact for moving ice bar
-            if(bd1.getName() == "movingIceBar"){
-                ComplexObstacle master = ((BoxObstacle)bd1).getMaster();
-                if(bd2.getName().startsWith("penguin") ){
-                    Penguin m = (Penguin) bd2;
-                    ((MovingIce) master).addPenguin(m);
-                }
-                else if (bd2 instanceof Player){
-                    Player p = (Player) bd2;
-                    ((MovingIce) master).addPlayer(p);
-                }
-                else  if (! (bd2 instanceof Penguin)){
-                    WorldManifold worldmanifold;
-                    worldmanifold = contact.getWorldManifold();
-                    if(bd1.getX()<worldmanifold.getPoints()[0].x) {
-                        ((MovingIce) master).hitSomething(1);
-                    }
-                    else
-                        ((MovingIce) master).hitSomething(-1);
-                }
+        return router;
+    }
 
+    /**
+     * Updates the amount of snow supporting an icicle.
+     *
+     * The snow only counts if it touches the icicle at its tip.
+     *
+     * @param contact   The contact between the snow and the icicle
+     * @param icicle    The icicle
+     * @param amount    The amount to add to the support count
+     */
+    private void countSupport(Contact contact, Obstacle icicle, int amount) {
+        for(Vector2 point : contact.getWorldManifold().getPoints()){
+            if (point.x == icicle.getX()){
+                int index = icicle.getCategoryIndex();
+                staticBodies.set(index, staticBodies.get(index)+amount);
             }
+        }
+    }
+
+    /**
+     * Turns a moving ice bar around after it hits something.
+     *
+     * @param contact   The contact with the other object
+     * @param bar       The moving ice bar
+     */
+    private void hitMovingIce(Contact contact, Obstacle bar) {
+        MovingIce master = (MovingIce)((BoxObstacle)bar).getMaster();
+        if(bar.getX()<contact.getWorldManifold().getPoints()[0].x) {
+            master.hitSomething(1);
+        }
+        else
+            master.hitSomething(-1);
+    }
 
-            if(bd2.getName() == "movingIceBar"){
-                ComplexObstacle master = ((BoxObstacle)bd2).getMaster();
-                if(bd1.getName().startsWith("penguin") ){
-                    Penguin m = (Penguin) bd1;
-                    ((MovingIce) master).addPenguin(m);
+    /**
+     * Grounds the owner of a sensor fixture if the sensor touches the ground.
+     *
+     * The avatar cannot stand on penguins, notes or water.  A penguin cannot stand
+     * on the avatar, notes or water.
+     *
+     * @param sensor    The fixture that may be a ground sensor
+     * @param owner     The obstacle of the sensor fixture
+     * @param ground    The other fixture of the contact
+     * @param other     The obstacle of the other fixture
+     */
+    private void beginGround(Fixture sensor, Obstacle owner, Fixture ground, Obstacle other) {
+        ContactCategory kind = other.getCategory();
+        if (owner == levelLoader.avatar) {
+            if (levelLoader.avatar.getSensorName().equals(sensor.getUserData()) &&
+                    kind != ContactCategory.PENGUIN && kind != ContactCategory.NOTE && kind != ContactCategory.WATER) {
+                levelLoader.avatar.setGrounded(true);
+                playerGround += 1;
+
+                if(levelLoader.avatar.moveState == Player.animationState.jumpHanging ||
+                        levelLoader.avatar.moveState == Player.animationState.jumpRising){
+                    levelLoader.avatar.moveState = Player.animationState.jumpLanding;
+                    levelLoader.avatar.setFilmStrip(assetLoader.jumpLandingStrip);
+                    assetLoader.bearLanding.play();
                 }
-                else if (bd1 instanceof Player){
-                    Player p = (Player) bd1;
-                    ((MovingIce) master).addPlayer(p);
+                sensorFixtures.add(ground); // Could have more than one ground
+            }
+        } else if (owner.getCategory() == ContactCategory.PENGUIN && owner != levelLoader.avatar.pseudoPenguin) {
+            Penguin p = (Penguin)owner;
+            if (p.getSensorName().equals(sensor.getUserData()) && other != levelLoader.avatar &&
+                    kind != ContactCategory.NOTE && kind != ContactCategory.WATER) {
+                p.setGrounded(true);
+                if(p.isThrowOut() && p.getBodyType()== BodyDef.BodyType.DynamicBody){
+                    if(p.getSoundPlaying())
+                        assetLoader.penguinLanding.play();
+                    p.setSoundPlaying(false);
                 }
-                else  if (! (bd1 instanceof Penguin)){
-                    WorldManifold worldmanifold;
-                    worldmanifold = contact.getWorldManifold();
+                sensorFixtures.add(ground); // Could have more than one ground
+            }
+        }
+    }
 
-                    if(bd2.getX()<worldmanifold.getPoints()[0].x) {
-                        ((MovingIce) master).hitSomething(1);
-                    }
-                    else
-                        ((MovingIce) master).hitSomething(-1);
+    /**
+     * Ungrounds the owner of a sensor fixture if the sensor leaves the ground.
+     *
+     * @param sensor    The fixture that may be a ground sensor
+     * @param owner     The obstacle of the sensor fixture
+     * @param ground    The other fixture of the contact
+     * @param other     The obstacle of the other fixture
+     */
+    private void endGround(Fixture sensor, Obstacle owner, Fixture ground, Obstacle other) {
+        ContactCategory kind = other.getCategory();
+        if (owner == levelLoader.avatar) {
+            if (levelLoader.avatar.getSensorName().equals(sensor.getUserData()) &&
+                    kind != ContactCategory.PENGUIN && kind != ContactCategory.NOTE && kind != ContactCategory.WATER) {
+                sensorFixtures.remove(ground);
+                playerGround -= 1;
+                if (playerGround == 0) {
+                    levelLoader.avatar.setGrounded(false);
                 }
-
             }
-
-
-        } catch (Exception e) {
-            e.printStackTrace();
+        } else if (owner.getCategory() == ContactCategory.PENGUIN && owner != levelLoader.avatar.pseudoPenguin) {
+            Penguin p = (Penguin)owner;
+            if (p.getSensorName().equals(sensor.getUserData()) && other != levelLoader.avatar &&
+                    kind != ContactCategory.NOTE && kind != ContactCategory.WATER) {
+                sensorFixtures.remove(ground);
+                p.setGrounded(false);
+            }
         }
     }
 
     @Override
-    public void endContact(Contact contact) {
+    public void beginContact(Contact contact) {
         Fixture fix1 = contact.getFixtureA();
         Fixture fix2 = contact.getFixtureB();
 
-        Body body1 = fix1.getBody();
-        Body body2 = fix2.getBody();
-
-        Object fd1 = fix1.getUserData();
-        Object fd2 = fix2.getUserData();
-
-        Object bd11 = body1.getUserData();
-        Object bd22 = body2.getUserData();
+        try {
+            Obstacle bd1 = (Obstacle)fix1.getBody().getUserData();
+            Obstacle bd2 = (Obstacle)fix2.getBody().getUserData();
 
-        boolean bd1IsGround = !(bd11 instanceof Penguin) && !(bd11 instanceof Note) && (!(bd11 instanceof Water));
-        boolean bd2IsGround = !(bd22 instanceof Penguin) && !(bd22 instanceof Note) && (!(bd22 instanceof Water));
-        if ((levelLoader.avatar.getSensorName().equals(fd2) && levelLoader.avatar != bd11 && bd1IsGround) ||
-                (levelLoader.avatar.getSensorName().equals(fd1) && levelLoader.avatar != bd22 && bd2IsGround)) {
-            sensorFixtures.remove(levelLoader.avatar == bd11 ? fix2 : fix1);
-            playerGround -= 1;
-            if (playerGround == 0) {
-                levelLoader.avatar.setGrounded(false);
-            }
-        }
+            // See if we have landed on the ground.
+            beginGround(fix1, bd1, fix2, bd2);
+            beginGround(fix2, bd2, fix1, bd1);
 
-        bd1IsGround = !(bd11 instanceof Note) && (!(bd11 instanceof Water));
-        bd2IsGround = !(bd22 instanceof Note) && (!(bd22 instanceof Water));
-        for(Penguin p: levelLoader.avatar.getPenguins()){
-            if ((p.getSensorName().equals(fd2) && p != bd11 && bd11 != levelLoader.avatar && bd1IsGround) ||
-                    (p.getSensorName().equals(fd1) && p != bd22 && bd22 != levelLoader.avatar && bd2IsGround)) {
-                sensorFixtures.remove(p == bd11 ? fix2 : fix1);
-                p.setGrounded(false);
-            }
+            contactRouter.begin(contact, bd1, bd2);
+        } catch (Exception e) {
+            e.printStackTrace();
         }
+    }
 
-
+    @Override
+    public void endContact(Contact contact) {
+        Fixture fix1 = contact.getFixtureA();
+        Fixture fix2 = contact.getFixtureB();
 
         try {
-            Obstacle bd1 = (Obstacle)body1.getUserData();
-            Obstacle bd2 = (Obstacle)body2.getUserData();
-
-            if(bd1.getName().startsWith("snow") && bd2.getName().startsWith("icicle")){
-                WorldManifold worldmanifold;
-                worldmanifold = contact.getWorldManifold();
-                for(Vector2 point : worldmanifold.getPoints()){
-                    if (point.x == bd2.getX()){
-                        int index = Integer.parseInt(bd2.getName().substring(bd2.getName().length()-1));
-                        staticBodies.set(index, staticBodies.get(index)-1);
-                    }
-                }
-            }
-            if(bd2.getName().startsWith("snow") && bd1.getName().startsWith("icicle")){
-                WorldManifold worldmanifold;
-                worldmanifold = contact.getWorldManifold();
-                for(Vector2 point : worldmanifold.getPoints()){
-                    if (point.x == bd1.getX()){
-                        int index = Integer.parseInt(bd1.getName().substring(bd1.getName().length()-1));
-                        staticBodies.set(index, staticBodies.get(index)-1);
-                    }
-                }
-            }
-
-        if(bd1.getName() == "movingIceBar"){
-            ComplexObstacle master = ((BoxObstacle)bd1).getMaster();
-            if(bd2.getName().startsWith("sealion") ){
-                Penguin m = (Penguin) bd2;
-                ((MovingIce) master).removePenguin(m);
-            }
-            else if (bd2 instanceof Player){
-                ((MovingIce) master).removePlyaer();
-            }
+            Obstacle bd1 = (Obstacle)fix1.getBody().getUserData();
+            Obstacle bd2 = (Obstacle)fix2.getBody().getUserData();
 
-        }
+            endGround(fix1, bd1, fix2, bd2);
+            endGround(fix2, bd2, fix1, bd1);
 
-        if(bd2.getName() == "movingIceBar"){
-            ComplexObstacle master = ((BoxObstacle)bd2).getMaster();
-            if(bd1.getName().startsWith("sealion") ){
-                Penguin m = (Penguin) bd1;
-                ((MovingIce) master).removePenguin(m);
-            }
-            else if (bd1 instanceof Player){
-                ((MovingIce) master).removePlyaer();
-            }
-
-        }
+            contactRouter.end(contact, bd1, bd2);
         }catch (Exception e) {
             e.printStackTrace();
         }
-
-
     }
 
     @Override
@@ -6,10 +6,10 @@ import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.math.Vector2;
 import com.badlogic.gdx.physics.box2d.BodyDef;
 import com.badlogic.gdx.utils.JsonValue;
-import edu.cornell.gdiac.assets.AssetDirectory;
 import edu.cornell.gdiac.main.GDXRoot;
 import edu.cornell.gdiac.main.model.*;
 import edu.cornell.gdiac.main.obstacle.BoxObstacle;
+import edu.cornell.gdiac.main.obstacle.ContactCategory;
 import edu.cornell.gdiac.main.obstacle.PolygonObstacle;
 
 import java.util.ArrayList;
@@ -17,7 +17,8 @@ import java.util.logging.Level;
 
 public class LevelLoader {
 
-    private AssetDirectory internal;
+    /** The shared, parsed description of this level */
+    private LevelTemplate template;
     private JsonValue constants;
     public AssetLoader assetLoader = GDXRoot.assetLoader;
     public Vector2 scale = new Vector2(40f, 40f);
@@ -41,19 +42,44 @@ public class LevelLoader {
     ArrayList<FloatingIce> floatingIcesList = new ArrayList<FloatingIce>();
     ArrayList<MovingIce> movingIcesList = new ArrayList<MovingIce>();
 
+    /**
+     * Returns a fresh copy of this level with newly instantiated obstacles.
+     *
+     * The copy shares the cached {@link LevelTemplate}, so no assets are reloaded
+     * unless the continent was unloaded in the meantime.
+     *
+     * @return a fresh copy of this level
+     */
     public LevelLoader reset(){
-        return new LevelLoader(jsonFile, level);
+        return new LevelLoader(LevelTemplate.get(jsonFile, level));
     }
 
     public LevelLoader(String jsonFile, int level){
-        this.jsonFile = jsonFile;
-        internal = new AssetDirectory(jsonFile);
-        internal.loadAssets();
-        internal.finishLoading();
-        background = internal.getEntry("background", Texture.class);
-        gameFont = internal.getEntry("gameFont", BitmapFont.class);
-        this.level = level;
-        constants = internal.getEntry( "level"+(level+1), JsonValue.class );
+        this(LevelTemplate.get(jsonFile, level));
+    }
+
+    public LevelLoader(LevelTemplate template){
+        this(template, true);
+    }
+
+    /**
+     * Creates a new instance of the given level.
+     *
+     * The level geometry only depends on the template, so it is safe to build on a
+     * background thread.  The player is not, as it shares static state with the level
+     * currently being played.  In that case pass false for withPlayer and call
+     * {@link #finishLoading} on the main thread before using the level.
+     *
+     * @param template      The parsed level description
+     * @param withPlayer    Whether to create the player immediately
+     */
+    public LevelLoader(LevelTemplate template, boolean withPlayer){
+        this.template = template;
+        this.jsonFile = template.getJsonFile();
+        this.level = template.getLevel();
+        background = template.getBackground();
+        gameFont = template.getGameFont();
+        constants = template.getConstants();
         JsonValue defaults = constants.get("defaults");
         num_penguins = defaults.getInt("num_penguins",0);
         num_notes = defaults.getInt("num_notes",0);
@@ -61,12 +87,26 @@ public class LevelLoader {
         loadSnow();
         loadIcicles();
         loadGoal();
-        loadPlayer();
         loadNotes();
         loadWater();
         loadIce();
         loadFloatingIces();
         loadMovingIce();
+        if (withPlayer) {
+            loadPlayer();
+        }
+    }
+
+    /**
+     * Completes a level created without its player.
+     *
+     * This method must be called on the main thread.  It does nothing if the player
+     * has already been created.
+     */
+    public void finishLoading(){
+        if (avatar == null) {
+            loadPlayer();
+        }
     }
 
     public void loadSnow(){
@@ -81,9 +121,12 @@ public class LevelLoader {
             obj.setDensity(defaults.getFloat("density", 0));
             obj.setFriction(defaults.getFloat("friction", 0));
             obj.setRestitution(defaults.getFloat("restitution", 0));
+            // Static terrain collides along its outline only
+            obj.setChain(defaults.getBoolean("chain", true));
             obj.setDrawScale(scale);
             obj.setTexture(assetLoader.snowTextureRegion);
             obj.setName(sname+ii);
+            obj.setCategory(ContactCategory.TERRAIN);
             snowList.add(obj);
         }
     }
@@ -102,6 +145,8 @@ public class LevelLoader {
             icicle.setDrawScale(scale);
             icicle.setTexture(assetLoader.icicleStrip);
             icicle.setName("icicle" + i);
+            icicle.setCategory(ContactCategory.ICICLE);
+            icicle.setCategoryIndex(i);
             iciclesList.add(icicle);
         }
     }
@@ -130,6 +175,7 @@ public class LevelLoader {
         this.exit.setRestitution(goal.getFloat("restitution"));
         this.exit.setDrawScale(scale);
         this.exit.setName("exit");
+        this.exit.setCategory(ContactCategory.EXIT);
     }
 
     public void loadPlayer(){
@@ -252,4 +298,13 @@ public class LevelLoader {
     public int getLevel(){
         return level;
     }
+
+    /**
+     * Returns the parsed description this level was built from
+     *
+     * @return the parsed description this level was built from
+     */
+    public LevelTemplate getTemplate(){
+        return template;
+    }
 }
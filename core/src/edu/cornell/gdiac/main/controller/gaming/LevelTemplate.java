@@ -0,0 +1,165 @@
+package edu.cornell.gdiac.main.controller.gaming;
+
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.utils.JsonValue;
+import com.badlogic.gdx.utils.ObjectMap;
+import edu.cornell.gdiac.assets.AssetDirectory;
+
+/**
+ * The parsed, immutable description of a single level.
+ *
+ * A template holds the decoded level JSON together with the background texture and
+ * font of its asset directory.  It is created once per (directory file, level index)
+ * and then shared by every {@link LevelLoader} built for that level, so restarting a
+ * level only instantiates fresh obstacles and never touches the asset manager.  The
+ * asset directory itself is borrowed from {@link ContinentAssets}, so all levels of
+ * a continent share a single copy of its assets.
+ *
+ * Templates are cached globally.  Use {@link #evict} for directories whose contents
+ * can change at runtime (e.g. the level editor output).
+ */
+public class LevelTemplate {
+    /** The cached templates, keyed by directory file and level index */
+    private static final ObjectMap<String, LevelTemplate> cache = new ObjectMap<>();
+
+    /** The asset directory file for this level */
+    private final String jsonFile;
+    /** The level index inside the asset directory */
+    private final int level;
+    /** The asset directory holding the level assets (borrowed) */
+    private final AssetDirectory internal;
+    /** The decoded level JSON */
+    private final JsonValue constants;
+    /** The level background */
+    private final Texture background;
+    /** The level font */
+    private final BitmapFont gameFont;
+
+    /**
+     * Returns the template for the given level, loading it if necessary.
+     *
+     * @param jsonFile  The asset directory file
+     * @param level     The level index (0-based)
+     *
+     * @return the template for the given level
+     */
+    public static LevelTemplate get(String jsonFile, int level) {
+        String key = key(jsonFile, level);
+        LevelTemplate template = cache.get(key);
+        if (template == null) {
+            template = new LevelTemplate(jsonFile, level);
+            cache.put(key, template);
+        }
+        return template;
+    }
+
+    /**
+     * Removes and disposes every cached template of the given asset directory.
+     *
+     * The next call to {@link #get} will reload the directory from disk.
+     *
+     * @param jsonFile  The asset directory file
+     */
+    public static void evict(String jsonFile) {
+        ObjectMap.Entries<String, LevelTemplate> entries = cache.entries();
+        while (entries.hasNext()) {
+            LevelTemplate template = entries.next().value;
+            if (template.jsonFile.equals(jsonFile)) {
+                template.dispose();
+                entries.remove();
+            }
+        }
+    }
+
+    /**
+     * Removes and disposes every cached template.
+     */
+    public static void clear() {
+        for (LevelTemplate template : cache.values()) {
+            template.dispose();
+        }
+        cache.clear();
+    }
+
+    /**
+     * Returns the cache key for the given level.
+     *
+     * @param jsonFile  The asset directory file
+     * @param level     The level index (0-based)
+     *
+     * @return the cache key for the given level
+     */
+    private static String key(String jsonFile, int level) {
+        return jsonFile + "#" + level;
+    }
+
+    /**
+     * Creates a new template from the given asset directory.
+     *
+     * @param jsonFile  The asset directory file
+     * @param level     The level index (0-based)
+     */
+    private LevelTemplate(String jsonFile, int level) {
+        this.jsonFile = jsonFile;
+        this.level = level;
+        internal = ContinentAssets.acquire(jsonFile);
+        background = internal.getEntry("background", Texture.class);
+        gameFont = internal.getEntry("gameFont", BitmapFont.class);
+        constants = internal.getEntry("level"+(level+1), JsonValue.class);
+    }
+
+    /**
+     * Releases the asset directory borrowed by this template.
+     */
+    private void dispose() {
+        ContinentAssets.release(jsonFile);
+    }
+
+    /**
+     * Returns the asset directory file for this level
+     *
+     * @return the asset directory file for this level
+     */
+    public String getJsonFile() {
+        return jsonFile;
+    }
+
+    /**
+     * Returns the level index inside the asset directory
+     *
+     * @return the level index inside the asset directory
+     */
+    public int getLevel() {
+        return level;
+    }
+
+    /**
+     * Returns the decoded level JSON.
+     *
+     * This value is shared and must not be modified.
+     *
+     * @return the decoded level JSON
+     */
+    public JsonValue getConstants() {
+        return constants;
+    }
+
+    /**
+     * Returns the level background
+     *
+     * @return the level background
+     */
+    public Texture getBackground() {
+        return background;
+    }
+
+    /**
+     * Returns the level font
+     *
+     * @return the level font
+     */
+    public BitmapFont getGameFont() {
+        return gameFont;
+    }
+}
@@ -48,13 +48,29 @@ public class  MenuController extends ClickListener implements Screen, InputProce
     private boolean prevTouched;
     private float zoomInTime = 0;
     public enum Continent{
-        NorthAmerica,
-        SouthAmerica,
-        Asia,
-        Europe,
-        Africa,
-        Antarctica,
-        Oceania
+        NorthAmerica("northAmerica/northAmericaMain.json"),
+        SouthAmerica("southAmerica/southAmericaMain.json"),
+        Asia("asia/asiaMain.json"),
+        Europe("europe/europeMain.json"),
+        Africa("africa/africaMain.json"),
+        Antarctica("antarctica/antarcticaMain.json"),
+        Oceania("oceania/oceaniaMain.json");
+
+        /** The asset directory holding the levels of this continent */
+        private final String directory;
+
+        Continent(String directory) {
+            this.directory = directory;
+        }
+
+        /**
+         * Returns the asset directory holding the levels of this continent
+         *
+         * @return the asset directory holding the levels of this continent
+         */
+        public String getDirectory() {
+            return directory;
+        }
     }
 
     private static HashMap<Continent, ArrayList> finished = new HashMap<>();
@@ -149,10 +165,14 @@ public class  MenuController extends ClickListener implements Screen, InputProce
      * This constructor initializes the models and controllers for the game.  The
      * view has already been initialized by the root class.
      *
+     * The given directory must be the menu asset directory with its assets queued.
+     * If it is still loading, this constructor waits for it to finish.
+     *
+     * @param canvas    The game canvas
+     * @param internal  The menu asset directory
      */
-    public MenuController(GameCanvas canvas) {
-        internal = new AssetDirectory("menu/menuAsset.json");
-        internal.loadAssets();
+    public MenuController(GameCanvas canvas, AssetDirectory internal) {
+        this.internal = internal;
         internal.finishLoading();
 
         FileHandle file = Gdx.files.local("menu/levelProgress.json");
@@ -659,6 +679,10 @@ public class  MenuController extends ClickListener implements Screen, InputProce
     }
 
     public void reset(){
+        // Back on the world map, so no continent is in use anymore
+        for(Continent continent: Continent.values()){
+            ContinentAssets.unload(continent);
+        }
         zoomIn = false;
         drawPoints = false;
         canvas.getCamera().position.x = 640;
@@ -0,0 +1,161 @@
+package edu.cornell.gdiac.main.controller.opening;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.TimeUtils;
+import edu.cornell.gdiac.assets.AssetDirectory;
+
+/**
+ * An incremental, multi-stage asset loader.
+ *
+ * Each stage loads one {@link AssetDirectory} and then runs a completion step on the
+ * main thread (e.g. building the controllers that use those assets).  Stages run in
+ * order.  The pipeline never blocks for longer than the time budget given to
+ * {@link #update}, so a loading screen can keep drawing while the work happens on the
+ * asset manager threads.
+ *
+ * Progress is weighted per stage, so a stage with many assets can account for more of
+ * the progress bar than a stage with a handful of them.
+ */
+public class LoadingPipeline {
+
+    /**
+     * A single step of the loading pipeline
+     */
+    public static abstract class Stage {
+        /** The share of the total progress taken by this stage */
+        private final float weight;
+        /** The directory being loaded (null until the stage begins) */
+        private AssetDirectory directory;
+
+        /**
+         * Creates a stage with the given progress weight
+         *
+         * @param weight    The share of the total progress taken by this stage
+         */
+        public Stage(float weight) {
+            this.weight = weight;
+        }
+
+        /**
+         * Begins loading the assets of this stage.
+         *
+         * This should only queue the assets (e.g. {@link AssetDirectory#loadAssets})
+         * and not wait for them.
+         *
+         * @return the directory to load
+         */
+        protected abstract AssetDirectory begin();
+
+        /**
+         * Completes this stage once its directory is loaded.
+         *
+         * This method is called on the main thread.
+         */
+        protected abstract void finish();
+    }
+
+    /** The stages of this pipeline, in order */
+    private Array<Stage> stages;
+    /** The index of the active stage */
+    private int current;
+    /** The sum of all stage weights */
+    private float totalWeight;
+    /** The sum of the weights of all completed stages */
+    private float doneWeight;
+    /** The time the first update happened (-1 if not started) */
+    private long startTime;
+    /** The time spent from the first update until the last stage completed */
+    private long elapsed;
+
+    /**
+     * Creates a new, empty loading pipeline
+     */
+    public LoadingPipeline() {
+        stages = new Array<Stage>();
+        startTime = -1;
+        elapsed = -1;
+    }
+
+    /**
+     * Appends a stage to this pipeline
+     *
+     * @param stage The stage to add
+     */
+    public void add(Stage stage) {
+        stages.add(stage);
+        totalWeight += stage.weight;
+    }
+
+    /**
+     * Advances loading for at most the given number of milliseconds.
+     *
+     * @param millis    The time budget for this call
+     *
+     * @return true if every stage has completed
+     */
+    public boolean update(int millis) {
+        long now = TimeUtils.millis();
+        if (startTime < 0) {
+            startTime = now;
+        }
+        long deadline = now+millis;
+        while (current < stages.size) {
+            Stage stage = stages.get(current);
+            if (stage.directory == null) {
+                stage.directory = stage.begin();
+            }
+            int remaining = (int)(deadline-TimeUtils.millis());
+            if (!stage.directory.update(Math.max(remaining, 1))) {
+                return false;
+            }
+            stage.finish();
+            doneWeight += stage.weight;
+            current++;
+            if (current == stages.size) {
+                elapsed = TimeUtils.timeSinceMillis(startTime);
+                Gdx.app.log("LoadingPipeline", "Assets loaded in "+elapsed+" ms");
+            } else if (TimeUtils.millis() >= deadline) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns true if every stage has completed
+     *
+     * @return true if every stage has completed
+     */
+    public boolean isDone() {
+        return current >= stages.size;
+    }
+
+    /**
+     * Returns the weighted progress of this pipeline in [0,1]
+     *
+     * @return the weighted progress of this pipeline in [0,1]
+     */
+    public float getProgress() {
+        if (totalWeight <= 0 || isDone()) {
+            return 1.0f;
+        }
+        float progress = doneWeight;
+        Stage stage = stages.get(current);
+        if (stage.directory != null) {
+            progress += stage.weight*stage.directory.getProgress();
+        }
+        return progress/totalWeight;
+    }
+
+    /**
+     * Returns the time in milliseconds it took to load all stages.
+     *
+     * This value is -1 if the pipeline has not completed.
+     *
+     * @return the time in milliseconds it took to load all stages.
+     */
+    public long getElapsed() {
+        return elapsed;
+    }
+}
@@ -19,7 +19,15 @@ import edu.cornell.gdiac.util.ScreenListener;
 public class OnboardingController implements Screen, InputProcessor, ControllerListener, Loading {
 
     private final float penguinY = 200;
-    private int flag = 0;
+    /** Time budget (in milliseconds) for asset loading each animation frame */
+    private static final int LOAD_BUDGET = 10;
+
+    /** The staged loading of the game assets */
+    private LoadingPipeline pipeline;
+    /** The loading percentage shown in loadingText (-1 if not yet shown) */
+    private int loadingPercent = -1;
+    /** The loading message, rebuilt only when the percentage changes */
+    private String loadingText;
 
     /** is ready for game mode*/
     private boolean isReady = false;
@@ -87,20 +95,48 @@ public class OnboardingController implements Screen, InputProcessor, ControllerL
 
         inputController = InputController.getInstance();
         active = true;
+
+        // Game assets first (most of the work), then the first level and the menu
+        pipeline = new LoadingPipeline();
+        pipeline.add(new LoadingPipeline.Stage(0.7f) {
+            @Override
+            protected AssetDirectory begin() {
+                return GDXRoot.beginLoad1();
+            }
+
+            @Override
+            protected void finish() {
+                GDXRoot.load1();
+            }
+        });
+        pipeline.add(new LoadingPipeline.Stage(0.1f) {
+            @Override
+            protected AssetDirectory begin() {
+                return GDXRoot.beginLoad2();
+            }
+
+            @Override
+            protected void finish() {
+                GDXRoot.load2();
+            }
+        });
+        pipeline.add(new LoadingPipeline.Stage(0.2f) {
+            @Override
+            protected AssetDirectory begin() {
+                return GDXRoot.beginLoad3();
+            }
+
+            @Override
+            protected void finish() {
+                GDXRoot.load3();
+            }
+        });
     }
 
     public void update(float delta) {
-        if (flag == 0) {
-            flag ++;
-        } else if (flag == 1) {
-            GDXRoot.load1();
-            flag ++;
-        } else if (flag == 2) {
-            GDXRoot.load2();
-            flag ++;
-        } else if (flag == 3) {
-            GDXRoot.load3();
-            flag ++;
+        if (!pipeline.isDone()) {
+            pipeline.update(LOAD_BUDGET);
+            return;
         }
         inputController.readInput();
         if(Math.abs(Gdx.input.getX() - 645) <= 95 && Math.abs(720 - Gdx.input.getY() - 340) <= 35){
@@ -142,13 +178,14 @@ public class OnboardingController implements Screen, InputProcessor, ControllerL
     public void draw() {
         canvas.begin();
         canvas.drawOverlay(front, true);
-        if (flag == 1) {
-            canvas.drawText(letterFont, "Loading .", 550, 400);
-        } else if (flag == 2) {
-            canvas.drawText(letterFont, "Loading ..", 550, 400);
-        } else if (flag == 3) {
-            canvas.drawText(letterFont, "Loading ...", 550, 400);
-        } else if (flag == 4) {
+        if (!pipeline.isDone()) {
+            int pct = (int)(pipeline.getProgress()*100);
+            if (pct != loadingPercent) {
+                loadingPercent = pct;
+                loadingText = "Loading "+pct+"%";
+            }
+            canvas.drawText(letterFont, loadingText, 550, 400);
+        } else {
             if(!isHoverLevel&&!isHoverPlay) {
                 drawStart(0.95f,0.95f,615,557);
             }
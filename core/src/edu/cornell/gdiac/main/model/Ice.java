@@ -50,6 +50,7 @@ public class Ice extends ComplexObstacle {
 
         iceBar = new BoxObstacle(data.get("pos").get(index).getFloat(0),data.get("pos").get(index).getFloat(1),width,height);
         iceBar.setName("iceBar");
+        iceBar.setCategory(ContactCategory.ICE_BAR);
         iceBar.setDensity(data.getFloat("bar_density"));
         iceBar.setFriction(data.getFloat("friction"));
         iceBar.setRestitution(data.getFloat("restitution"));
@@ -9,6 +9,7 @@ import com.badlogic.gdx.physics.box2d.joints.RevoluteJointDef;
 import com.badlogic.gdx.utils.JsonValue;
 import edu.cornell.gdiac.main.obstacle.BoxObstacle;
 import edu.cornell.gdiac.main.obstacle.ComplexObstacle;
+import edu.cornell.gdiac.main.obstacle.ContactCategory;
 import edu.cornell.gdiac.main.obstacle.WheelObstacle;
 
 import java.util.LinkedList;
@@ -45,6 +46,7 @@ public class MovingIce extends ComplexObstacle {
 
         iceBar = new BoxObstacle(data.get("pos").get(index).getFloat(0),data.get("pos").get(index).getFloat(1),width,height);
         iceBar.setName("movingIceBar");
+        iceBar.setCategory(ContactCategory.MOVING_ICE_BAR);
         iceBar.setDensity(data.getFloat("bar_density"));
         iceBar.setFriction(data.getFloat("friction"));
         iceBar.setRestitution(data.getFloat("restitution"));
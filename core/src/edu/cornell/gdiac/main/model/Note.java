@@ -6,6 +6,7 @@ import com.badlogic.gdx.physics.box2d.World;
 import com.badlogic.gdx.utils.JsonValue;
 import edu.cornell.gdiac.main.obstacle.BoxObstacle;
 import edu.cornell.gdiac.main.obstacle.CapsuleObstacle;
+import edu.cornell.gdiac.main.obstacle.ContactCategory;
 import edu.cornell.gdiac.main.view.GameCanvas;
 import edu.cornell.gdiac.util.FilmStrip;
 
@@ -37,6 +38,7 @@ public class Note extends BoxObstacle {
         setBodyType(StaticBody);
         setSensor(true);
         setName("note"+index);
+        setCategory(ContactCategory.NOTE);
         this.index = index;
         isCollected = false;
         this.data=data;
@@ -93,6 +95,6 @@ public class Note extends BoxObstacle {
      * @param canvas Drawing context
      */
     public void draw(GameCanvas canvas) {
-        canvas.draw(filmStrip,Color.WHITE,origin.x,origin.y,getX()*drawScale.x,getY()*drawScale.y,getAngle(),1f, 1f);
+        canvas.draw(filmStrip,Color.WHITE,origin.x,origin.y,getDrawX()*drawScale.x,getDrawY()*drawScale.y,getDrawAngle(),1f, 1f);
     }
 }
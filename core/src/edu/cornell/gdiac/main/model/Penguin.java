@@ -246,6 +246,7 @@ public class Penguin extends CapsuleObstacle {
         faceRight = true;
         this.index = index;
         setName("penguin"+index);
+        setCategory(ContactCategory.PENGUIN);
         this.data=data;
         soundPlaying = false;
     }
@@ -343,11 +344,11 @@ public class Penguin extends CapsuleObstacle {
     public void draw(GameCanvas canvas) {
         float effect = faceRight ? 1.0f : -1.0f;
         if(index == -1 && Player.numPenguins > 0){
-            canvas.draw(overlapStrip, Color.WHITE, origin.x, origin.y, getX() * drawScale.x, getY() * drawScale.y, 0, effect, 1.0f);
+            canvas.draw(overlapStrip, Color.WHITE, origin.x, origin.y, getDrawX() * drawScale.x, getDrawY() * drawScale.y, 0, effect, 1.0f);
             return;
         }
         if(isThrownOut){
-            canvas.draw(filmStrip, Color.WHITE, filmStrip.getRegionWidth()/2f, filmStrip.getRegionHeight()/2f, getX()*drawScale.x, getY()*drawScale.y-10f, getAngle(), 1f, 1f);
+            canvas.draw(filmStrip, Color.WHITE, filmStrip.getRegionWidth()/2f, filmStrip.getRegionHeight()/2f, getDrawX()*drawScale.x, getDrawY()*drawScale.y-10f, getDrawAngle(), 1f, 1f);
         }
     }
 
@@ -360,7 +361,7 @@ public class Penguin extends CapsuleObstacle {
      */
     public void drawDebug(GameCanvas canvas) {
         super.drawDebug(canvas);
-        canvas.drawPhysics(sensorShape,Color.RED,getX(),getY(),getAngle(),drawScale.x,drawScale.y);
+        canvas.drawPhysics(sensorShape,Color.RED,getDrawX(),getDrawY(),getDrawAngle(),drawScale.x,drawScale.y);
     }
 
     public void setMovingIceoffset(float x){
@@ -156,8 +156,6 @@ public class Player extends CapsuleObstacle {
 
     private float movingIceOffset=0;
 
-    public float volume = 0.5f;
-
     /**
      * Returns left/right movement of this character.
      *
@@ -431,7 +429,7 @@ public class Player extends CapsuleObstacle {
                         p.setBodyType(BodyDef.BodyType.DynamicBody);
                         p.setSensor(false);
                         setFilmStrip(throwingStrip);
-                        throwing.play(volume);
+                        throwing.play();
                         p.setFilmStrip(penguinRollingStrip);
                         p.setGrounded(false);
                         moveState = animationState.throwing;
@@ -600,6 +598,7 @@ public class Player extends CapsuleObstacle {
         shootCooldown = data.getInt("shoot_cooldown");
         jumpCooldown = data.getInt("jump_cooldown");
         setName("dude");
+        setCategory(ContactCategory.PLAYER);
     }
 
     /**
@@ -776,7 +775,7 @@ public class Player extends CapsuleObstacle {
     public void draw(GameCanvas canvas) {
 
         float effect = faceRight ? 1.0f : -1.0f;
-        canvas.draw(filmStrip,Color.WHITE,origin.x,origin.y,getX()*drawScale.x,getY()*drawScale.y,getAngle(),effect*0.25f,0.25f);
+        canvas.draw(filmStrip,Color.WHITE,origin.x,origin.y,getDrawX()*drawScale.x,getDrawY()*drawScale.y,getDrawAngle(),effect*0.25f,0.25f);
 
         if(Gdx.input.isTouched()&& throwingCount == 0 &&numPenguins>0&&!isThrowing){
             for(int i = 0; i<trajectories.length; i+=2){
@@ -798,7 +797,7 @@ public class Player extends CapsuleObstacle {
      */
     public void drawDebug(GameCanvas canvas) {
         super.drawDebug(canvas);
-        canvas.drawPhysics(sensorShape,Color.RED,getX(),getY(),getAngle(),drawScale.x,drawScale.y);
+        canvas.drawPhysics(sensorShape,Color.RED,getDrawX(),getDrawY(),getDrawAngle(),drawScale.x,drawScale.y);
     }
 
     public void setMovingIceoffset(float x){
@@ -236,7 +236,7 @@ public class Seal extends CapsuleObstacle {
      */
     public void draw(GameCanvas canvas) {
         float dir = faceRight == 1 ? -1.0f : 1.0f;
-        canvas.draw(filmStrip,Color.WHITE,origin.x,origin.y,getX()*drawScale.x,getY()*drawScale.y,getAngle(),dir*0.25f, 0.25f);
+        canvas.draw(filmStrip,Color.WHITE,origin.x,origin.y,getDrawX()*drawScale.x,getDrawY()*drawScale.y,getDrawAngle(),dir*0.25f, 0.25f);
     }
 
     /**
@@ -248,7 +248,7 @@ public class Seal extends CapsuleObstacle {
      */
     public void drawDebug(GameCanvas canvas) {
         super.drawDebug(canvas);
-        canvas.drawPhysics(sensorShape,Color.RED,getX(),getY(),getAngle(),drawScale.x,drawScale.y);
+        canvas.drawPhysics(sensorShape,Color.RED,getDrawX(),getDrawY(),getDrawAngle(),drawScale.x,drawScale.y);
     }
 }
 
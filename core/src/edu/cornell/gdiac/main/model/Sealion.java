@@ -199,7 +199,7 @@ public class Sealion extends PolygonObstacle {
      */
     public void draw(GameCanvas canvas) {
         float dir = faceRight == 1 ? -1.0f : 1.0f;
-        canvas.draw(filmStrip, Color.WHITE,origin.x,origin.y,getX()*drawScale.x,getY()*drawScale.y,getAngle(),dir*0.25f, 0.25f);
+        canvas.draw(filmStrip, Color.WHITE,origin.x,origin.y,getDrawX()*drawScale.x,getDrawY()*drawScale.y,getDrawAngle(),dir*0.25f, 0.25f);
     }
 
     public void setMovingIceoffset(float x){
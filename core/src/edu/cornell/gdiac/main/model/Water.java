@@ -1,5 +1,6 @@
 package edu.cornell.gdiac.main.model;
 import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.math.Vector2;
 import com.badlogic.gdx.physics.box2d.Fixture;
 import com.badlogic.gdx.physics.box2d.FixtureDef;
@@ -8,6 +9,7 @@ import com.badlogic.gdx.physics.box2d.World;
 import com.badlogic.gdx.utils.JsonValue;
 import edu.cornell.gdiac.main.obstacle.BoxObstacle;
 import edu.cornell.gdiac.main.obstacle.CapsuleObstacle;
+import edu.cornell.gdiac.main.obstacle.ContactCategory;
 import edu.cornell.gdiac.main.view.GameCanvas;
 import edu.cornell.gdiac.util.FilmStrip;
 public class Water extends BoxObstacle {
@@ -19,8 +21,10 @@ public class Water extends BoxObstacle {
     private final float WATER_FORCE;
     /** The dude is a slippery one */
     private final float WATER_FRICTION;
-    private FilmStrip waterStrip;
+    /** The wave animation, shared by all water bodies */
     private FilmStrip wavesStrip;
+    /** The water body, repeated across the full size of this object */
+    private TextureRegion waterRegion;
     private float pos_x;
     private float pos_y;
     private float width;
@@ -73,6 +77,7 @@ public class Water extends BoxObstacle {
         setActive(false);
         setAwake(false);
         setName(name+index);
+        setCategory(ContactCategory.WATER);
         setSensor(true);
     }
     /**
@@ -91,12 +96,20 @@ public class Water extends BoxObstacle {
         }
         return true;
     }
+    /**
+     * Sets the textures for this water body.
+     *
+     * The water texture must be standalone (not in an atlas) and repeat-wrapped, as
+     * it is tiled over the whole body in a single quad.  The waves are drawn one tile
+     * per physics unit along the top, all showing the current frame of the strip.
+     *
+     * @param waterStrip    The water texture
+     * @param wavesStrip    The wave animation, shared by all water bodies
+     */
     public void setFilmStrip(FilmStrip waterStrip, FilmStrip wavesStrip){
-        this.waterStrip = waterStrip.copy();
         this.wavesStrip = wavesStrip;
-        this.waterStrip.setRegionWidth((int)width*40);
-        this.waterStrip.setRegionHeight((int)(height-1)*40);
-        origin.set(this.waterStrip.getRegionWidth()/2.0f, this.waterStrip.getRegionHeight()/2.0f);
+        waterRegion = new TextureRegion(waterStrip.getTexture(), 0, 0, (int)width*40, (int)(height-1)*40);
+        origin.set(waterRegion.getRegionWidth()/2.0f, waterRegion.getRegionHeight()/2.0f);
     }
     /**
      * Updates the object's physics state (NOT GAME LOGIC).
@@ -123,12 +136,14 @@ public class Water extends BoxObstacle {
      * @param canvas Drawing context
      */
     public void draw(GameCanvas canvas) {
+        // One wave tile per physics unit, all on the same frame.  The tiles share a
+        // texture, so the batch still sends them in a single draw call.
         float startX = (getX()-width/2f)*drawScale.x;
         float y = (getY()+height/2f-1f)*drawScale.y;
         for (int i = 0; i<width; i++) {
-            float x = startX+40*i;
+            float x = startX+wavesStrip.getRegionWidth()*i;
             canvas.draw(wavesStrip,transparent,x, y, wavesStrip.getRegionWidth(), wavesStrip.getRegionHeight());
         }
-        canvas.draw(waterStrip,transparent,getX()*drawScale.x-waterStrip.getRegionWidth()/2f, (getY()-0.5f)*drawScale.y- waterStrip.getRegionHeight()/2f, waterStrip.getRegionWidth(), waterStrip.getRegionHeight());
+        canvas.draw(waterRegion,transparent,getX()*drawScale.x-waterRegion.getRegionWidth()/2f, (getY()-0.5f)*drawScale.y- waterRegion.getRegionHeight()/2f, waterRegion.getRegionWidth(), waterRegion.getRegionHeight());
     }
 }
\ No newline at end of file
@@ -103,6 +103,15 @@ public class BoxObstacle extends SimpleObstacle {
 	public float getHeight() {
 		return dimension.y;
 	}
+
+	/**
+	 * Returns the bounding box of this object, relative to its position and unrotated.
+	 *
+	 * @return the bounding box of this object, relative to its position and unrotated.
+	 */
+	protected Rectangle getLocalBounds() {
+		return localBoundsCache.set(-dimension.x/2.0f, -dimension.y/2.0f, dimension.x, dimension.y);
+	}
 	
 	/**
 	 * Sets the box height
@@ -208,7 +217,7 @@ public class BoxObstacle extends SimpleObstacle {
 	 * @param canvas Drawing context
 	 */
 	public void drawDebug(GameCanvas canvas) {
-		canvas.drawPhysics(shape,Color.YELLOW,getX(),getY(),getAngle(),drawScale.x,drawScale.y);
+		canvas.drawPhysics(shape,Color.YELLOW,getDrawX(),getDrawY(),getDrawAngle(),drawScale.x,drawScale.y);
 	}
 
 }
\ No newline at end of file
@@ -134,6 +134,15 @@ public class CapsuleObstacle extends SimpleObstacle {
 	public float getHeight() {
 		return dimension.y;
 	}
+
+	/**
+	 * Returns the bounding box of this object, relative to its position and unrotated.
+	 *
+	 * @return the bounding box of this object, relative to its position and unrotated.
+	 */
+	protected Rectangle getLocalBounds() {
+		return localBoundsCache.set(-dimension.x/2.0f, -dimension.y/2.0f, dimension.x, dimension.y);
+	}
 	
 	/**
 	 * Sets the box height
@@ -483,34 +492,34 @@ public class CapsuleObstacle extends SimpleObstacle {
 	 * @param canvas Drawing context
 	 */
 	public void drawDebug(GameCanvas canvas) {
-		canvas.drawPhysics(shape,Color.YELLOW,getX(),getY(),getAngle(),drawScale.x,drawScale.y);
+		canvas.drawPhysics(shape,Color.YELLOW,getDrawX(),getDrawY(),getDrawAngle(),drawScale.x,drawScale.y);
 		if (cap1 != null) {
 			// Need to manually rotate caps off axis
 			float dx; float dy;
 			if (isHorizontal(orient)) {
 				float r = -center.x;
-				dx = (float)(r*Math.cos(Math.PI+getAngle()));
-				dy = (float)(r*Math.sin(Math.PI+getAngle()));
+				dx = (float)(r*Math.cos(Math.PI+getDrawAngle()));
+				dy = (float)(r*Math.sin(Math.PI+getDrawAngle()));
 			} else {
 				float r = center.y+center.height;
-				dx = (float)(r*Math.cos(Math.PI/2.0f+getAngle()));
-				dy = (float)(r*Math.sin(Math.PI/2.0f+getAngle()));
+				dx = (float)(r*Math.cos(Math.PI/2.0f+getDrawAngle()));
+				dy = (float)(r*Math.sin(Math.PI/2.0f+getDrawAngle()));
 			}
-			canvas.drawPhysics(end1,Color.YELLOW,getX()+dx,getY()+dy,drawScale.x,drawScale.y);			
+			canvas.drawPhysics(end1,Color.YELLOW,getDrawX()+dx,getDrawY()+dy,drawScale.x,drawScale.y);			
 		}
 		if (cap2 != null) {
 			// Need to manually rotate caps off axis
 			float dx; float dy;
 			if (isHorizontal(orient)) {
 				float r = center.x+center.width;
-				dx = (float)(r*Math.cos(getAngle()));
-				dy = (float)(r*Math.sin(getAngle()));
+				dx = (float)(r*Math.cos(getDrawAngle()));
+				dy = (float)(r*Math.sin(getDrawAngle()));
 			} else {
 				float r = -center.y;
-				dx = (float)(r*Math.cos(-Math.PI/2.0f+getAngle()));
-				dy = (float)(r*Math.sin(-Math.PI/2.0f+getAngle()));
+				dx = (float)(r*Math.cos(-Math.PI/2.0f+getDrawAngle()));
+				dy = (float)(r*Math.sin(-Math.PI/2.0f+getDrawAngle()));
 			}
-			canvas.drawPhysics(end2,Color.YELLOW,getX()+dx,getY()+dy,drawScale.x,drawScale.y);			
+			canvas.drawPhysics(end2,Color.YELLOW,getDrawX()+dx,getDrawY()+dy,drawScale.x,drawScale.y);			
 		}
 	}
 
@@ -1028,6 +1028,56 @@ public abstract class ComplexObstacle extends Obstacle {
 			obj.update(delta);
 		}
 	}
+
+	/**
+	 * Records the current position and angle as the previous physics state.
+	 *
+	 * This method should be called just before each physics step.
+	 */
+	public void savePreviousState() {
+		super.savePreviousState();
+		// Delegate to components
+		for(Obstacle obj : bodies) {
+			obj.savePreviousState();
+		}
+	}
+
+	/**
+	 * Sets the drawing transform between the previous and current physics state
+	 *
+	 * @param alpha	The fraction of a physics step since the current state
+	 */
+	public void interpolate(float alpha) {
+		super.interpolate(alpha);
+		// Delegate to components
+		for(Obstacle obj : bodies) {
+			obj.interpolate(alpha);
+		}
+	}
+
+	/**
+	 * Returns the bounding box of all components in world coordinates (physics units)
+	 *
+	 * This method does NOT return a new rectangle.  It returns the same rectangle each
+	 * time it is called, and so cannot be used as an allocator.
+	 *
+	 * @return the bounding box of all components, or null if any size is unknown
+	 */
+	public Rectangle getBounds() {
+		boolean first = true;
+		for(Obstacle obj : bodies) {
+			Rectangle bounds = obj.getBounds();
+			if (bounds == null) {
+				return null;
+			} else if (first) {
+				boundsCache.set(bounds);
+				first = false;
+			} else {
+				boundsCache.merge(bounds);
+			}
+		}
+		return first ? null : boundsCache;
+	}
 	
 	/**
      * Sets the drawing scale for this physics object
@@ -0,0 +1,38 @@
+/*
+ * ContactCategory.java
+ *
+ * The kinds of physics objects that the contact listener distinguishes between.
+ * Every obstacle has a category, so that a contact can be routed to the right handler
+ * without comparing names or testing classes.
+ */
+package edu.cornell.gdiac.main.obstacle;
+
+/**
+ * The category of a physics object for contact handling.
+ *
+ * Objects that need no special handling keep the default category OTHER.
+ */
+public enum ContactCategory {
+    /** Any object without special contact behavior */
+    OTHER,
+    /** The static snow terrain */
+    TERRAIN,
+    /** An icicle that can be knocked down */
+    ICICLE,
+    /** The bar of a tilting ice platform */
+    ICE_BAR,
+    /** The bar of a floating ice platform */
+    FLOATING_ICE_BAR,
+    /** The bar of a moving ice platform */
+    MOVING_ICE_BAR,
+    /** The level goal */
+    EXIT,
+    /** The player avatar */
+    PLAYER,
+    /** A penguin following the player */
+    PENGUIN,
+    /** A collectible note */
+    NOTE,
+    /** The sea */
+    WATER
+}
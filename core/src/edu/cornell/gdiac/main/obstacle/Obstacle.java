@@ -47,6 +47,10 @@ public abstract class Obstacle {
 	protected boolean masseffect;
     /** A tag for debugging purposes */
     private String nametag;
+	/** The category of this object for contact handling */
+	private ContactCategory category = ContactCategory.OTHER;
+	/** The index of this object within its category (or -1 if none) */
+	private int categoryIndex = -1;
 	/** Drawing scale to convert physics units to pixels */
 	protected Vector2 drawScale;
 	/** Whether or not to use the custom mass data */
@@ -67,6 +71,22 @@ public abstract class Obstacle {
 	protected Vector2 centroidCache = new Vector2();
 	/** A cache value for when the user wants to access the drawing scale */
 	protected Vector2 scaleCache = new Vector2();
+	/** A cache value for when the user wants to access the world bounds */
+	protected Rectangle boundsCache = new Rectangle();
+	/** A cache value for the bounds relative to the object position */
+	protected Rectangle localBoundsCache = new Rectangle();
+
+	/// Interpolation state
+	/** The position at the start of the last physics step */
+	private Vector2 prevPosition = new Vector2();
+	/** The angle at the start of the last physics step */
+	private float prevAngle;
+	/** Whether the previous position and angle have been recorded */
+	private boolean hasPrevious;
+	/** The interpolated position to draw at */
+	private Vector2 drawPosition = new Vector2();
+	/** The interpolated angle to draw at */
+	private float drawAngle;
 
 
 	/// BodyDef Methods
@@ -186,6 +206,75 @@ public abstract class Obstacle {
 		bodyinfo.angle = value;
 	}
 	
+	/**
+	 * Returns the x-coordinate to draw this physics body at
+	 *
+	 * The physics runs at a fixed step, which does not match the frame rate. So the
+	 * body is drawn between its last two physics states, as set by {@link #interpolate}.
+	 *
+	 * @return the x-coordinate to draw this physics body at
+	 */
+	public float getDrawX() {
+		return drawPosition.x;
+	}
+
+	/**
+	 * Returns the y-coordinate to draw this physics body at
+	 *
+	 * The physics runs at a fixed step, which does not match the frame rate. So the
+	 * body is drawn between its last two physics states, as set by {@link #interpolate}.
+	 *
+	 * @return the y-coordinate to draw this physics body at
+	 */
+	public float getDrawY() {
+		return drawPosition.y;
+	}
+
+	/**
+	 * Returns the angle of rotation to draw this physics body at
+	 *
+	 * The physics runs at a fixed step, which does not match the frame rate. So the
+	 * body is drawn between its last two physics states, as set by {@link #interpolate}.
+	 *
+	 * @return the angle of rotation to draw this physics body at
+	 */
+	public float getDrawAngle() {
+		return drawAngle;
+	}
+
+	/**
+	 * Records the current position and angle as the previous physics state.
+	 *
+	 * This method should be called just before each physics step.
+	 */
+	public void savePreviousState() {
+		prevPosition.set(getX(),getY());
+		prevAngle = getAngle();
+		hasPrevious = true;
+	}
+
+	/**
+	 * Sets the drawing transform between the previous and current physics state
+	 *
+	 * An alpha of 0 draws at the state before the last physics step, while an alpha
+	 * of 1 draws at the current state.  If no step has been recorded yet, the body is
+	 * drawn at its current state.
+	 *
+	 * @param alpha	The fraction of a physics step since the current state
+	 */
+	public void interpolate(float alpha) {
+		float x = getX();
+		float y = getY();
+		float a = getAngle();
+		if (hasPrevious) {
+			x = prevPosition.x + (x - prevPosition.x) * alpha;
+			y = prevPosition.y + (y - prevPosition.y) * alpha;
+			a = prevAngle + (a - prevAngle) * alpha;
+		}
+		drawPosition.set(x,y);
+		drawAngle = a;
+	}
+
 	/**
 	 * Returns the linear velocity for this physics body
 	 *
@@ -888,6 +977,58 @@ public abstract class Obstacle {
     	drawScale.set(x,y);
     }
     	
+	/**
+	 * Returns the bounding box of this object, relative to its position and unrotated.
+	 *
+	 * This is used to skip drawing objects that are off screen.  Subclasses that know
+	 * their size should override this method.  The default returns null, which means
+	 * that the size is unknown and the object is always drawn.
+	 *
+	 * @return the bounding box of this object, relative to its position and unrotated.
+	 */
+	protected Rectangle getLocalBounds() {
+		return null;
+	}
+
+	/**
+	 * Returns the bounding box of this object in world coordinates (physics units)
+	 *
+	 * The box is for the object at its drawing position and angle (see {@link #interpolate}).
+	 * This method does NOT return a new rectangle.  It returns the same rectangle each
+	 * time it is called, and so cannot be used as an allocator.
+	 *
+	 * @return the bounding box of this object in world coordinates, or null if unknown
+	 */
+	public Rectangle getBounds() {
+		Rectangle local = getLocalBounds();
+		if (local == null) {
+			return null;
+		}
+		float x = getDrawX();
+		float y = getDrawY();
+		float angle = getDrawAngle();
+		if (angle == 0) {
+			return boundsCache.set(x+local.x, y+local.y, local.width, local.height);
+		}
+
+		// Rotate the corners and take their extent
+		float cos = MathUtils.cos(angle);
+		float sin = MathUtils.sin(angle);
+		float x0 = local.x*cos;
+		float x1 = (local.x+local.width)*cos;
+		float y0 = local.y*sin;
+		float y1 = (local.y+local.height)*sin;
+		float minx = Math.min(x0,x1)-Math.max(y0,y1);
+		float maxx = Math.max(x0,x1)-Math.min(y0,y1);
+		x0 = local.x*sin;
+		x1 = (local.x+local.width)*sin;
+		y0 = local.y*cos;
+		y1 = (local.y+local.height)*cos;
+		float miny = Math.min(x0,x1)+Math.min(y0,y1);
+		float maxy = Math.max(x0,x1)+Math.max(y0,y1);
+		return boundsCache.set(x+minx, y+miny, maxx-minx, maxy-miny);
+	}
+
 	/// DEBUG METHODS
 	/**
      * Returns the physics object tag.
@@ -911,6 +1052,49 @@ public abstract class Obstacle {
      	nametag = value; 
 	}
 
+	/// CONTACT METHODS
+	/**
+	 * Returns the category of this object for contact handling.
+	 *
+	 * The contact listener uses the category to find the handler for a contact,
+	 * instead of comparing the tags of the objects.
+	 *
+	 * @return the category of this object for contact handling.
+	 */
+	public ContactCategory getCategory() {
+		return category;
+	}
+
+	/**
+	 * Sets the category of this object for contact handling.
+	 *
+	 * @param value	the category of this object for contact handling
+	 */
+	public void setCategory(ContactCategory value) {
+		category = value;
+	}
+
+	/**
+	 * Returns the index of this object within its category.
+	 *
+	 * This is used for objects whose state is kept in a list by the controller
+	 * (e.g. icicles).  It is -1 if the object is not in such a list.
+	 *
+	 * @return the index of this object within its category.
+	 */
+	public int getCategoryIndex() {
+		return categoryIndex;
+	}
+
+	/**
+	 * Sets the index of this object within its category.
+	 *
+	 * @param value	the index of this object within its category
+	 */
+	public void setCategoryIndex(int value) {
+		categoryIndex = value;
+	}
+
 	public boolean isPaused() { return isPaused; }
 
 	public void setPaused(boolean value) { isPaused = value; }
@@ -997,6 +1181,20 @@ public abstract class Obstacle {
 	 */
 	public abstract void draw(GameCanvas canvas);
 
+	/**
+	 * Adds this object to the static layer being built by the canvas.
+	 *
+	 * This is only appropriate for objects that do not move or animate.  Such an object
+	 * should then not be drawn with draw().  The default implementation adds nothing.
+	 *
+	 * @param canvas Drawing context (between beginStatic() and endStatic())
+	 *
+	 * @return true if this object was added to the static layer
+	 */
+	public boolean addStatic(GameCanvas canvas) {
+		return false;
+	}
+
 	/**
 	 * Draws the outline of the physics body.
 	 *
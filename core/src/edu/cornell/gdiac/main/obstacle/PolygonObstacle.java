@@ -33,6 +33,10 @@ import edu.cornell.gdiac.main.view.GameCanvas;
 public class PolygonObstacle extends SimpleObstacle {
 	/** An earclipping triangular to make sure we work with convex shapes */
 	private static final EarClippingTriangulator TRIANGULATOR = new EarClippingTriangulator();
+	/** Vertices closer than this (squared) are merged (Box2D linear slop squared) */
+	private static final float WELD_DISTANCE2 = 0.005f*0.005f;
+	/** Vertices where the outline turns by less than this (sine of the angle) are colinear */
+	private static final float COLINEAR_EPSILON = 0.0001f;
 	
 	/** Shape information for this physics object */
 	protected PolygonShape[] shapes;
@@ -52,6 +56,14 @@ public class PolygonObstacle extends SimpleObstacle {
 	private Vector2 sizeCache;
 	/** Cache of the polygon vertices (for resizing) */
 	private float[] vertices;
+	/** The simplified polygon outline (for chain colliders) */
+	private float[] outline;
+	/** Whether to collide with a single chain loop instead of triangles */
+	private boolean chain;
+	/** The chain loop shape (null unless chain is true, and freed on deactivation) */
+	private ChainShape loop;
+	/** The chain loop fixture (null unless chain is true) */
+	private Fixture loopGeom;
 	
 	/** 
 	 * Returns the dimensions of this box
@@ -165,6 +177,40 @@ public class PolygonObstacle extends SimpleObstacle {
 		return region;
 	}
 
+	/**
+	 * Returns true if this polygon collides as a single chain loop
+	 *
+	 * @return true if this polygon collides as a single chain loop
+	 */
+	public boolean isChain() {
+		return chain;
+	}
+
+	/**
+	 * Sets whether this polygon collides as a single chain loop.
+	 *
+	 * A chain loop is one fixture for the whole outline, instead of one fixture per
+	 * triangle.  This is much cheaper for Box2D, and it removes the internal seams
+	 * that objects can catch on.  However, a chain has no area (and hence no mass),
+	 * and it only collides along its boundary.  So this should only be used for
+	 * static terrain.  Drawing is unaffected.
+	 *
+	 * @param value  whether this polygon collides as a single chain loop
+	 */
+	public void setChain(boolean value) {
+		if (chain == value) {
+			return;
+		}
+		chain = value;
+		if (chain) {
+			loop = createLoop(outline);
+		} else if (loop != null) {
+			loop.dispose();
+			loop = null;
+		}
+		markDirty(true);
+	}
+
 	/**
 	 * Initializes the bounding box (and drawing scale) for this polygon
 	 */
@@ -200,22 +246,28 @@ public class PolygonObstacle extends SimpleObstacle {
 	 * @param points   The polygon vertices
 	 */
 	private void initShapes(float[] points) {
-		// Triangulate
-		ShortArray array = TRIANGULATOR.computeTriangles(points);
-		trimColinear(points,array);
-		
-		tridx = new short[array.items.length];
-		System.arraycopy(array.items, 0, tridx, 0, tridx.length);
+		// Level outlines have long runs of colinear vertices; drop them first
+		points = simplify(points);
+		outline = points;
+
+		// Triangulate (the triangulator is shared, and levels may be built off the main thread)
+		synchronized (TRIANGULATOR) {
+			ShortArray array = TRIANGULATOR.computeTriangles(points);
+			trimColinear(points,array);
+
+			tridx = new short[array.items.length];
+			System.arraycopy(array.items, 0, tridx, 0, tridx.length);
+		}
 		
 		// Allocate space for physics triangles.
-		int tris = array.items.length / 3;
+		int tris = tridx.length / 3;
 		vertices = new float[tris*6];
 		shapes = new PolygonShape[tris];
 		geoms  = new Fixture[tris];
 		for(int ii = 0; ii < tris; ii++) {
 			for(int jj = 0; jj < 3; jj++) {
-				vertices[6*ii+2*jj  ] = points[2*array.items[3*ii+jj]  ];
-				vertices[6*ii+2*jj+1] = points[2*array.items[3*ii+jj]+1];
+				vertices[6*ii+2*jj  ] = points[2*tridx[3*ii+jj]  ];
+				vertices[6*ii+2*jj+1] = points[2*tridx[3*ii+jj]+1];
 			}
 			shapes[ii] = new PolygonShape();
 			shapes[ii].set(vertices,6*ii,6);
@@ -231,9 +283,115 @@ public class PolygonObstacle extends SimpleObstacle {
 			// WARNING: PolygonRegion constructor by REFERENCE
 			region = new PolygonRegion(texture,scaled,tridx);
 		}
+		initLocalBounds();
+	}
+
+	/**
+	 * Initializes the bounding box of the outline, relative to the polygon position
+	 */
+	private void initLocalBounds() {
+		float minx = outline[0];
+		float maxx = outline[0];
+		float miny = outline[1];
+		float maxy = outline[1];
+		for(int ii = 2; ii < outline.length; ii += 2) {
+			minx = Math.min(minx, outline[ii  ]);
+			maxx = Math.max(maxx, outline[ii  ]);
+			miny = Math.min(miny, outline[ii+1]);
+			maxy = Math.max(maxy, outline[ii+1]);
+		}
+		localBoundsCache.set(minx, miny, maxx-minx, maxy-miny);
+	}
 
+	/**
+	 * Returns the bounding box of this object, relative to its position and unrotated.
+	 *
+	 * @return the bounding box of this object, relative to its position and unrotated.
+	 */
+	protected Rectangle getLocalBounds() {
+		return localBoundsCache;
 	}
 	
+	/**
+	 * Returns the given polygon without duplicate or colinear vertices.
+	 *
+	 * A colinear vertex lies on the segment between its neighbors.  Spikes, where
+	 * the outline doubles back on itself, are kept.  Neither removed kind of vertex
+	 * changes the outline, so the simplified polygon has the same area and texture
+	 * coordinates.  But it triangulates into far fewer triangles (and hence physics
+	 * fixtures).  This never removes vertices below a triangle.
+	 *
+	 * @param points   The polygon vertices
+	 *
+	 * @return the simplified polygon vertices
+	 */
+	private static float[] simplify(float[] points) {
+		FloatArray result = new FloatArray(points.length);
+		for(int ii = 0; ii < points.length; ii += 2) {
+			if (result.size == 0 || !isWelded(result.items,result.size-2,points[ii],points[ii+1])) {
+				result.add(points[ii], points[ii+1]);
+			}
+		}
+		if (result.size > 2 && isWelded(result.items,0,result.items[result.size-2],result.items[result.size-1])) {
+			result.size -= 2;
+		}
+
+		// Removing a vertex can make its neighbors colinear
+		boolean changed = true;
+		while (changed && result.size > 6) {
+			changed = false;
+			int ii = 0;
+			while (ii < result.size && result.size > 6) {
+				int prev = (ii+result.size-2) % result.size;
+				int next = (ii+2) % result.size;
+				float[] items = result.items;
+				float ax = items[ii  ]-items[prev  ];
+				float ay = items[ii+1]-items[prev+1];
+				float bx = items[next  ]-items[ii  ];
+				float by = items[next+1]-items[ii+1];
+				// The cross product over the edge lengths is the sine of the turn
+				float lengths = (float)Math.sqrt((ax*ax+ay*ay)*(bx*bx+by*by));
+				float cross = ax*by-ay*bx;
+				if (ax*bx+ay*by > 0 && Math.abs(cross) < COLINEAR_EPSILON*lengths) {
+					result.removeRange(ii, ii+1);
+					changed = true;
+				} else {
+					ii += 2;
+				}
+			}
+		}
+		return result.toArray();
+	}
+
+	/**
+	 * Returns true if the vertex at the given offset is too close to (x,y)
+	 *
+	 * @param items   The vertex array
+	 * @param offset  The offset of the vertex in the array
+	 * @param x       The x-coordinate to compare
+	 * @param y       The y-coordinate to compare
+	 *
+	 * @return true if the vertex at the given offset is too close to (x,y)
+	 */
+	private static boolean isWelded(float[] items, int offset, float x, float y) {
+		float dx = items[offset  ]-x;
+		float dy = items[offset+1]-y;
+		return dx*dx+dy*dy < WELD_DISTANCE2;
+	}
+
+	/**
+	 * Returns a chain loop for the given polygon
+	 *
+	 * @param points   The polygon vertices
+	 *
+	 * @return a chain loop for the given polygon
+	 */
+	private static ChainShape createLoop(float[] points) {
+		ChainShape result = new ChainShape();
+		result.createLoop(points);
+		return result;
+	}
+
 	/**
 	 * Removes colinear vertices from the given triangulation.
 	 *
@@ -284,6 +442,17 @@ public class PolygonObstacle extends SimpleObstacle {
 			scaled[ii+1] *= scaley;
 		}
 
+		// A chain shape cannot be changed once created
+		for(int ii = 0; ii < outline.length; ii+= 2) {
+			outline[ii  ] *= scalex;
+			outline[ii+1] *= scaley;
+		}
+		if (loop != null) {
+			loop.dispose();
+			loop = createLoop(outline);
+		}
+		initLocalBounds();
+
 		dimension.set(width,height);
 	}
 
@@ -300,13 +469,37 @@ public class PolygonObstacle extends SimpleObstacle {
 		releaseFixtures();
 		
 		// Create the fixtures
-		for(int ii = 0; ii < shapes.length; ii++) {
-			fixture.shape = shapes[ii];
-			geoms[ii] = body.createFixture(fixture);
+		if (chain) {
+			if (loop == null) {
+				loop = createLoop(outline);
+			}
+			fixture.shape = loop;
+			loopGeom = body.createFixture(fixture);
+		} else {
+			for(int ii = 0; ii < shapes.length; ii++) {
+				fixture.shape = shapes[ii];
+				geoms[ii] = body.createFixture(fixture);
+			}
 		}
 		markDirty(false);
 	}
 	
+	/**
+	 * Destroys the physics Body of this object, removing it from the world.
+	 *
+	 * This also frees the chain loop, which is rebuilt if the body is activated again.
+	 *
+	 * @param world Box2D world that stores body
+	 */
+	public void deactivatePhysics(World world) {
+		super.deactivatePhysics(world);
+		loopGeom = null;
+		if (loop != null) {
+			loop.dispose();
+			loop = null;
+		}
+	}
+
 	/**
 	 * Release the fixtures for this body, reseting the shape
 	 *
@@ -314,10 +507,15 @@ public class PolygonObstacle extends SimpleObstacle {
 	 */
 	protected void releaseFixtures() {
 		if (geoms[0] != null) {
-			for(Fixture fix : geoms) {
-				body.destroyFixture(fix);
+			for(int ii = 0; ii < geoms.length; ii++) {
+				body.destroyFixture(geoms[ii]);
+				geoms[ii] = null;
 			}
 		}
+		if (loopGeom != null) {
+			body.destroyFixture(loopGeom);
+			loopGeom = null;
+		}
 	}
 
 	/**
@@ -368,8 +566,25 @@ public class PolygonObstacle extends SimpleObstacle {
 	 */
 	public void draw(GameCanvas canvas) {
 		if (region != null) {
-			canvas.draw(region,Color.WHITE,0,0,getX()*drawScale.x,getY()*drawScale.y,getAngle(),1,1);
+			canvas.draw(region,Color.WHITE,0,0,getDrawX()*drawScale.x,getDrawY()*drawScale.y,getDrawAngle(),1,1);
+		}
+	}
+
+	/**
+	 * Adds the polygon of this object to the static layer being built by the canvas.
+	 *
+	 * The static layer does not rotate polygons, so only unrotated polygons are added.
+	 *
+	 * @param canvas Drawing context (between beginStatic() and endStatic())
+	 *
+	 * @return true if this object was added to the static layer
+	 */
+	public boolean addStatic(GameCanvas canvas) {
+		if (region == null || getDrawAngle() != 0) {
+			return false;
 		}
+		canvas.addStatic(region,getDrawX()*drawScale.x,getDrawY()*drawScale.y);
+		return true;
 	}
 
 
@@ -381,8 +596,14 @@ public class PolygonObstacle extends SimpleObstacle {
 	 * @param canvas Drawing context
 	 */
 	public void drawDebug(GameCanvas canvas) {
+		if (chain) {
+			if (loop != null) {
+				canvas.drawPhysics(loop,Color.YELLOW,getDrawX(),getDrawY(),getDrawAngle(),drawScale.x,drawScale.y);
+			}
+			return;
+		}
 		for(PolygonShape tri : shapes) {
-			canvas.drawPhysics(tri,Color.YELLOW,getX(),getY(),getAngle(),drawScale.x,drawScale.y);
+			canvas.drawPhysics(tri,Color.YELLOW,getDrawX(),getDrawY(),getDrawAngle(),drawScale.x,drawScale.y);
 		}
 	}
 	
@@ -775,9 +775,24 @@ public abstract class SimpleObstacle extends Obstacle {
 	 */
 	public void draw(GameCanvas canvas) {
 		if (texture != null) {
-			canvas.draw(texture,Color.WHITE,origin.x,origin.y,getX()*drawScale.x,getY()*drawScale.x,getAngle(),1,1);
+			canvas.draw(texture,Color.WHITE,origin.x,origin.y,getDrawX()*drawScale.x,getDrawY()*drawScale.x,getDrawAngle(),1,1);
 		}
 	}
+
+	/**
+	 * Adds the texture of this object to the static layer being built by the canvas.
+	 *
+	 * @param canvas Drawing context (between beginStatic() and endStatic())
+	 *
+	 * @return true if this object was added to the static layer
+	 */
+	public boolean addStatic(GameCanvas canvas) {
+		if (texture == null) {
+			return false;
+		}
+		canvas.addStatic(texture,origin.x,origin.y,getDrawX()*drawScale.x,getDrawY()*drawScale.x,getDrawAngle(),1,1);
+		return true;
+	}
 	
 	/**
 	 * Returns the Box2D body for this object.
@@ -10,6 +10,7 @@
  * LibGDX version, 2/6/2015
  */
 package edu.cornell.gdiac.main.obstacle;
+import com.badlogic.gdx.math.*;
 import com.badlogic.gdx.graphics.*;
 import com.badlogic.gdx.physics.box2d.*;
 
@@ -34,6 +35,16 @@ public class WheelObstacle extends SimpleObstacle {
 	public float getRadius() {
 		return shape.getRadius();
 	}
+
+	/**
+	 * Returns the bounding box of this object, relative to its position and unrotated.
+	 *
+	 * @return the bounding box of this object, relative to its position and unrotated.
+	 */
+	protected Rectangle getLocalBounds() {
+		float radius = getRadius();
+		return localBoundsCache.set(-radius, -radius, 2*radius, 2*radius);
+	}
 	
 	/**
 	 * Sets the radius of this circle
@@ -113,7 +124,7 @@ public class WheelObstacle extends SimpleObstacle {
 	 * @param canvas Drawing context
 	 */
 	 public void drawDebug(GameCanvas canvas) {
-		canvas.drawPhysics(shape,Color.YELLOW,getX(),getY(),drawScale.x,drawScale.y);
+		canvas.drawPhysics(shape,Color.YELLOW,getDrawX(),getDrawY(),drawScale.x,drawScale.y);
 	}
 
 }
\ No newline at end of file
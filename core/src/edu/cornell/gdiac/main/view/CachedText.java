@@ -0,0 +1,88 @@
+package edu.cornell.gdiac.main.view;
+
+import com.badlogic.gdx.graphics.g2d.Batch;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.BitmapFontCache;
+import com.badlogic.gdx.graphics.g2d.GlyphLayout;
+
+/**
+ * A laid out piece of text, ready to be drawn.
+ *
+ * The glyph vertices are computed once and kept in a {@link BitmapFontCache}.  Drawing
+ * only moves the cache to the requested position.  The text must be laid out again
+ * (with {@link #setText}) when it changes or when the font color or scale changes,
+ * which {@link #isStale} detects.
+ */
+class CachedText {
+    /** The vertices of the laid out text (null until the first layout) */
+    private BitmapFontCache cache;
+    /** The layout of the text (owned by the cache) */
+    private GlyphLayout layout;
+    /** The font color at layout time */
+    private float color;
+    /** The font x-scale at layout time */
+    private float scaleX;
+    /** The font y-scale at layout time */
+    private float scaleY;
+
+    /**
+     * Returns true if this text must be laid out again for the given font
+     *
+     * @param font  The font to draw with
+     *
+     * @return true if this text must be laid out again for the given font
+     */
+    public boolean isStale(BitmapFont font) {
+        return cache == null || cache.getFont() != font ||
+               color != font.getColor().toFloatBits() ||
+               scaleX != font.getData().scaleX || scaleY != font.getData().scaleY;
+    }
+
+    /**
+     * Lays out the given text with the current color and scale of the font
+     *
+     * @param font  The font to draw with
+     * @param text  The text to lay out
+     */
+    public void setText(BitmapFont font, CharSequence text) {
+        if (cache == null || cache.getFont() != font) {
+            cache = font.newFontCache();
+        }
+        cache.clear();
+        cache.setColor(font.getColor());
+        layout = cache.addText(text, 0, 0);
+        color  = font.getColor().toFloatBits();
+        scaleX = font.getData().scaleX;
+        scaleY = font.getData().scaleY;
+    }
+
+    /**
+     * Returns the width of the laid out text
+     *
+     * @return the width of the laid out text
+     */
+    public float getWidth() {
+        return layout.width;
+    }
+
+    /**
+     * Returns the height of the laid out text
+     *
+     * @return the height of the laid out text
+     */
+    public float getHeight() {
+        return layout.height;
+    }
+
+    /**
+     * Draws the laid out text with its top left corner at the given position.
+     *
+     * @param batch The batch to draw to
+     * @param x     The x-coordinate of the left edge
+     * @param y     The y-coordinate of the top edge
+     */
+    public void draw(Batch batch, float x, float y) {
+        cache.setPosition(x, y);
+        cache.draw(batch);
+    }
+}
@@ -22,6 +22,7 @@ import com.badlogic.gdx.graphics.*;
 import com.badlogic.gdx.graphics.g2d.*;
 import com.badlogic.gdx.graphics.glutils.*;
 import com.badlogic.gdx.physics.box2d.*;
+import com.badlogic.gdx.utils.ObjectMap;
 
 /**
  * Primary view class for the game, abstracting the basic graphics calls.
@@ -38,7 +39,9 @@ public class GameCanvas {
         /** We are drawing sprites */
         STANDARD,
         /** We are drawing outlines */
-        DEBUG
+        DEBUG,
+        /** We are building static geometry */
+        STATIC
     }
 
     /**
@@ -65,7 +68,33 @@ public class GameCanvas {
 
     /** Rendering context for the debug outlines */
     private ShapeRenderer debugRender;
-    private ShapeRenderer shapeRenderer;
+
+    /** Geometry that never moves, kept on the graphics card between frames */
+    private SpriteCache staticCache;
+    /** The maximum number of quads in all static layers */
+    private static final int MAX_STATIC_QUADS = 8191;
+
+    /** The number of floats per vertex in the sprite batch (x, y, color, u, v) */
+    private static final int VERTEX_SIZE = 5;
+    /** The maximum number of segments in a primitive circle */
+    private static final int MAX_SEGMENTS = 64;
+    /** The triangles of a primitive quad */
+    private static final short[] QUAD_TRIANGLES = {0, 1, 2, 0, 2, 3};
+    /** A 1x1 white texture for drawing primitives through the sprite batch */
+    private Texture pixel;
+    /** Vertex cache for primitives */
+    private float[] primVertices;
+    /** Triangle cache for primitives */
+    private short[] primTriangles;
+
+    /** The maximum number of strings with a cached layout */
+    private static final int MAX_CACHED_TEXT = 256;
+    /** The cached text layouts, by font and string */
+    private ObjectMap<BitmapFont, ObjectMap<String, CachedText>> textCache;
+    /** The number of strings in the text cache */
+    private int cachedTexts;
+    /** The number of draw calls since the last reset (for profiling) */
+    private int renderCalls;
 
     /** Track whether or not we are active (for error checking) */
     private DrawPass active;
@@ -101,20 +130,29 @@ public class GameCanvas {
         active = DrawPass.INACTIVE;
         spriteBatch = new PolygonSpriteBatch();
         debugRender = new ShapeRenderer();
-        shapeRenderer = new ShapeRenderer();
+        staticCache = new SpriteCache(MAX_STATIC_QUADS, true);
 
         // Set the projection matrix (for proper scaling)
         camera = new OrthographicCamera(getWidth(),getHeight());
         camera.setToOrtho(false);
         spriteBatch.setProjectionMatrix(camera.combined);
         debugRender.setProjectionMatrix(camera.combined);
-        shapeRenderer.setProjectionMatrix(camera.combined);
 
         // Initialize the cache objects
         holder = new TextureRegion();
         local  = new Affine2();
         global = new Matrix4();
         vertex = new Vector2();
+
+        // Primitives are textured with a single white texel
+        Pixmap white = new Pixmap(1, 1, Pixmap.Format.RGBA8888);
+        white.setColor(Color.WHITE);
+        white.fill();
+        pixel = new Texture(white);
+        white.dispose();
+        primVertices  = new float[(MAX_SEGMENTS+1)*VERTEX_SIZE];
+        primTriangles = new short[3*MAX_SEGMENTS];
+        textCache = new ObjectMap<BitmapFont, ObjectMap<String, CachedText>>();
     }
 
     /**
@@ -127,6 +165,10 @@ public class GameCanvas {
         }
         spriteBatch.dispose();
         spriteBatch = null;
+        staticCache.dispose();
+        staticCache = null;
+        pixel.dispose();
+        pixel = null;
         local  = null;
         global = null;
         vertex = null;
@@ -381,9 +423,183 @@ public class GameCanvas {
     public void end() {
 
         spriteBatch.end();
+        renderCalls += spriteBatch.renderCalls;
         active = DrawPass.INACTIVE;
     }
 
+    /**
+     * Returns the number of draw calls made since the last reset
+     *
+     * This includes both the sprite batch and the static layers.
+     *
+     * @return the number of draw calls made since the last reset
+     */
+    public int getRenderCalls() {
+        return renderCalls;
+    }
+
+    /**
+     * Resets the count of draw calls to zero
+     */
+    public void resetRenderCalls() {
+        renderCalls = 0;
+    }
+
+    /**
+     * Removes all static layers.
+     *
+     * Static layers are geometry that is drawn the same way every frame.  It is built
+     * once, in a beginStatic()/endStatic() pass, and then stays on the graphics card.
+     * Layer ids from before this call are no longer valid.
+     */
+    public void clearStatic() {
+        if (active != DrawPass.INACTIVE) {
+            Gdx.app.error("GameCanvas", "Cannot clear static layers while drawing active", new IllegalStateException());
+            return;
+        }
+        staticCache.clear();
+    }
+
+    /**
+     * Start building a new static layer.
+     *
+     * Use the addStatic methods to add geometry to the layer.  Nothing is drawn until
+     * the layer is passed to drawStatic(int).
+     */
+    public void beginStatic() {
+        if (active != DrawPass.INACTIVE) {
+            Gdx.app.error("GameCanvas", "Cannot build static layer while drawing active", new IllegalStateException());
+            return;
+        }
+        staticCache.beginCache();
+        active = DrawPass.STATIC;
+    }
+
+    /**
+     * Finishes building a static layer, uploading it to the graphics card.
+     *
+     * @return the id of the new layer (for drawStatic(int))
+     */
+    public int endStatic() {
+        if (active != DrawPass.STATIC) {
+            Gdx.app.error("GameCanvas", "Cannot end static layer without active beginStatic()", new IllegalStateException());
+            return -1;
+        }
+        active = DrawPass.INACTIVE;
+        return staticCache.endCache();
+    }
+
+    /**
+     * Adds the seamless background image to the static layer.
+     *
+     * This places the image exactly as drawBackground(Texture, float, float) does.
+     *
+     * @param image  Texture to draw as an overlay
+     * @param x      The x-coordinate of the bottom left corner
+     * @param y 	 The y-coordinate of the bottom left corner
+     */
+    public void addStaticBackground(Texture image, float x, float y) {
+        if (active != DrawPass.STATIC) {
+            Gdx.app.error("GameCanvas", "Cannot add without active beginStatic()", new IllegalStateException());
+            return;
+        }
+
+        float w = image.getWidth();
+        staticCache.add(image, x,   y);
+        staticCache.add(image, x+w, y);
+        staticCache.add(image, x+2*w, y);
+    }
+
+    /**
+     * Adds the texture with the given transformations to the static layer.
+     *
+     * This places the texture exactly as the untinted version of
+     * draw(TextureRegion, Color, float, float, float, float, float, float, float) does.
+     *
+     * @param region The texture to draw
+     * @param ox 	The x-coordinate of texture origin (in pixels)
+     * @param oy 	The y-coordinate of texture origin (in pixels)
+     * @param x 	The x-coordinate of the texture origin (on screen)
+     * @param y 	The y-coordinate of the texture origin (on screen)
+     * @param angle The rotation angle (in radians) about the origin.
+     * @param sx 	The x-axis scaling factor
+     * @param sy 	The y-axis scaling factor
+     */
+    public void addStatic(TextureRegion region, float ox, float oy,
+                          float x, float y, float angle, float sx, float sy) {
+        if (active != DrawPass.STATIC) {
+            Gdx.app.error("GameCanvas", "Cannot add without active beginStatic()", new IllegalStateException());
+            return;
+        }
+
+        staticCache.setColor(Color.WHITE);
+        staticCache.add(region, x-ox, y-oy, ox, oy, region.getRegionWidth(), region.getRegionHeight(),
+                        sx, sy, 180.0f*angle/(float)Math.PI);
+    }
+
+    /**
+     * Adds the polygonal region at the given position to the static layer.
+     *
+     * This places the polygon exactly as draw(PolygonRegion, float, float) does.  The
+     * cache only stores quads, so each triangle is stored as a quad with a repeated
+     * last vertex.
+     *
+     * @param region The polygon to draw
+     * @param x 	The x-coordinate of the bottom left corner
+     * @param y 	The y-coordinate of the bottom left corner
+     */
+    public void addStatic(PolygonRegion region, float x, float y) {
+        if (active != DrawPass.STATIC) {
+            Gdx.app.error("GameCanvas", "Cannot add without active beginStatic()", new IllegalStateException());
+            return;
+        }
+
+        float[] positions = region.getVertices();
+        float[] coords = region.getTextureCoords();
+        short[] triangles = region.getTriangles();
+        float color = Color.WHITE.toFloatBits();
+
+        float[] quads = new float[(triangles.length/3)*4*VERTEX_SIZE];
+        int pos = 0;
+        for(int ii = 0; ii < triangles.length; ii += 3) {
+            for(int jj = 0; jj < 4; jj++) {
+                int index = 2*triangles[ii+Math.min(jj,2)];
+                quads[pos++] = positions[index  ]+x;
+                quads[pos++] = positions[index+1]+y;
+                quads[pos++] = color;
+                quads[pos++] = coords[index  ];
+                quads[pos++] = coords[index+1];
+            }
+        }
+        staticCache.add(region.getRegion().getTexture(), quads, 0, quads.length);
+    }
+
+    /**
+     * Draws a static layer in the current drawing sequence.
+     *
+     * Everything drawn earlier in the sequence is flushed first, so the layer appears
+     * on top of it.
+     *
+     * @param layer The id of the layer (from endStatic())
+     */
+    public void drawStatic(int layer) {
+        if (active != DrawPass.STANDARD) {
+            Gdx.app.error("GameCanvas", "Cannot draw without active begin()", new IllegalStateException());
+            return;
+        }
+
+        spriteBatch.end();
+        renderCalls += spriteBatch.renderCalls;
+        Gdx.gl.glEnable(GL20.GL_BLEND);
+        Gdx.gl.glBlendFunc(spriteBatch.getBlendSrcFunc(), spriteBatch.getBlendDstFunc());
+        staticCache.setProjectionMatrix(spriteBatch.getProjectionMatrix());
+        staticCache.begin();
+        staticCache.draw(layer);
+        staticCache.end();
+        renderCalls += staticCache.renderCalls;
+        spriteBatch.begin();
+    }
+
     /**
      * Draws the tinted texture at the given position.
      *
@@ -979,6 +1195,10 @@ public class GameCanvas {
     /**
      * Draws text on the screen.
      *
+     * The layout of the text is cached, so this is meant for text that does not
+     * change every frame (e.g. tutorial messages).  Use {@link HudCounter} for
+     * counters.
+     *
      * @param text The string to draw
      * @param font The font to use
      * @param x The x-coordinate of the lower-left corner
@@ -989,8 +1209,7 @@ public class GameCanvas {
             Gdx.app.error("GameCanvas", "Cannot draw without active begin()", new IllegalStateException());
             return;
         }
-        GlyphLayout layout = new GlyphLayout(font,text);
-        font.draw(spriteBatch, layout, x, y);
+        getCachedText(text, font).draw(spriteBatch, x, y);
     }
 
     /**
@@ -1006,10 +1225,87 @@ public class GameCanvas {
             return;
         }
 
-        GlyphLayout layout = new GlyphLayout(font,text);
-        float x = (getWidth()  - layout.width) / 2.0f;
-        float y = (getHeight() + layout.height) / 2.0f;
-        font.draw(spriteBatch, layout, x+camera.position.x-640, y+offset);
+        CachedText layout = getCachedText(text, font);
+        float x = (getWidth()  - layout.getWidth()) / 2.0f;
+        float y = (getHeight() + layout.getHeight()) / 2.0f;
+        layout.draw(spriteBatch, x+camera.position.x-640, y+offset);
+    }
+
+    /**
+     * Draws a HUD counter on the screen.
+     *
+     * The counter is only laid out again when its numbers change.
+     *
+     * @param font      The font to use
+     * @param counter   The counter to draw
+     * @param x         The x-coordinate of the lower-left corner
+     * @param y         The y-coordinate of the lower-left corner
+     */
+    public void drawText(BitmapFont font, HudCounter counter, float x, float y) {
+        if (active != DrawPass.STANDARD) {
+            Gdx.app.error("GameCanvas", "Cannot draw without active begin()", new IllegalStateException());
+            return;
+        }
+        if (counter.isDirty() || counter.layout.isStale(font)) {
+            counter.layout.setText(font, counter.getText());
+            counter.clean();
+        }
+        counter.layout.draw(spriteBatch, x, y);
+    }
+
+    /**
+     * Draws the profiler overlay on the screen.
+     *
+     * The overlay is only laid out again when its text changes.
+     *
+     * @param overlay   The overlay to draw
+     * @param x         The x-coordinate of the upper-left corner
+     * @param y         The y-coordinate of the upper-left corner
+     */
+    public void drawText(ProfilerOverlay overlay, float x, float y) {
+        if (active != DrawPass.STANDARD) {
+            Gdx.app.error("GameCanvas", "Cannot draw without active begin()", new IllegalStateException());
+            return;
+        }
+        BitmapFont font = overlay.getFont();
+        if (overlay.isDirty() || overlay.layout.isStale(font)) {
+            overlay.layout.setText(font, overlay.getText());
+            overlay.clean();
+        }
+        overlay.layout.draw(spriteBatch, x, y);
+    }
+
+    /**
+     * Returns the cached layout of the given text, laying it out if necessary
+     *
+     * @param text The string to draw
+     * @param font The font to use
+     *
+     * @return the cached layout of the given text
+     */
+    private CachedText getCachedText(String text, BitmapFont font) {
+        ObjectMap<String, CachedText> texts = textCache.get(font);
+        if (texts == null) {
+            texts = new ObjectMap<String, CachedText>();
+            textCache.put(font, texts);
+        }
+        CachedText result = texts.get(text);
+        if (result == null) {
+            if (cachedTexts >= MAX_CACHED_TEXT) {
+                // Text is not meant to change each frame; just start over
+                textCache.clear();
+                textCache.put(font, texts);
+                texts.clear();
+                cachedTexts = 0;
+            }
+            result = new CachedText();
+            texts.put(text, result);
+            cachedTexts++;
+        }
+        if (result.isStale(font)) {
+            result.setText(font, text);
+        }
+        return result;
     }
     /**
      * Draw an unscaled overlay image.
@@ -1279,6 +1575,41 @@ public class GameCanvas {
         debugRender.line(x0, y0, x1, y1);
     }
 
+    /**
+     * Draws the outline of the given chain in the specified color
+     *
+     * @param shape The Box2d shape
+     * @param color The outline color
+     * @param x  The x-coordinate of the shape position
+     * @param y  The y-coordinate of the shape position
+     * @param angle  The shape angle of rotation
+     * @param sx The amount to scale the x-axis
+     * @param sy The amount to scale the y-axis
+     */
+    public void drawPhysics(ChainShape shape, Color color, float x, float y, float angle, float sx, float sy) {
+        if (active != DrawPass.DEBUG) {
+            Gdx.app.error("GameCanvas", "Cannot draw without active beginDebug()", new IllegalStateException());
+            return;
+        }
+
+        local.setToScaling(sx,sy);
+        local.translate(x,y);
+        local.rotateRad(angle);
+
+        // A loop repeats its first vertex at the end
+        float x0, y0, x1, y1;
+        debugRender.setColor(color);
+        for(int ii = 0; ii < shape.getVertexCount()-1; ii++) {
+            shape.getVertex(ii  ,vertex);
+            local.applyTo(vertex);
+            x0 = vertex.x; y0 = vertex.y;
+            shape.getVertex(ii+1,vertex);
+            local.applyTo(vertex);
+            x1 = vertex.x; y1 = vertex.y;
+            debugRender.line(x0, y0, x1, y1);
+        }
+    }
+
     /**
      * Draws the outline of the given shape in the specified color
      *
@@ -1353,78 +1684,237 @@ public class GameCanvas {
         font.draw(spriteBatch, text, x, y);
     }
 
+    /**
+     * Draws a line of the given width.
+     *
+     * Like all primitives, the coordinates are in screen space (they do not scroll
+     * with the camera).  The line is drawn as a quad through the sprite batch, so it
+     * does not interrupt the current drawing pass.
+     *
+     * @param color     The line color
+     * @param start     The start of the line
+     * @param end       The end of the line
+     * @param lineWidth The line width in pixels
+     */
     public void drawLine(Color color, Vector2 start, Vector2 end, int lineWidth){
-        spriteBatch.end();
-        shapeRenderer.begin(ShapeRenderer.ShapeType.Line);
-        Gdx.gl.glLineWidth(lineWidth);
-        shapeRenderer.setColor(color);
-        shapeRenderer.line(start, end);
-        Gdx.gl.glLineWidth(1);
-        shapeRenderer.end();
-        spriteBatch.begin();
+        drawLine(color, start.x, start.y, end.x, end.y, lineWidth);
     }
 
+    /**
+     * Draws a filled circle.
+     *
+     * Like all primitives, the coordinates are in screen space (they do not scroll
+     * with the camera).
+     *
+     * @param color     The circle color
+     * @param x         The x-coordinate of the center
+     * @param y         The y-coordinate of the center
+     * @param radius    The circle radius
+     */
     public void drawCircle(Color color, float x, float y, float radius){
-        spriteBatch.end();
-        shapeRenderer.begin(ShapeRenderer.ShapeType.Filled);
-        Gdx.gl.glLineWidth(radius);
-        shapeRenderer.setColor(color);
-        shapeRenderer.circle(x, y, radius);
-        shapeRenderer.end();
-        spriteBatch.begin();
+        if (active != DrawPass.STANDARD) {
+            Gdx.app.error("GameCanvas", "Cannot draw without active begin()", new IllegalStateException());
+            return;
+        }
+        fillEllipse(x, y, radius, radius, color.toFloatBits());
     }
 
+    /**
+     * Draws the (one pixel) outline of a rectangle.
+     *
+     * Like all primitives, the coordinates are in screen space (they do not scroll
+     * with the camera).
+     *
+     * @param color     The outline color
+     * @param x         The x-coordinate of the bottom left corner
+     * @param y         The y-coordinate of the bottom left corner
+     * @param width     The rectangle width
+     * @param height    The rectangle height
+     */
     public void drawSquare(Color color, float x, float y, float width, float height){
-        spriteBatch.end();
-        shapeRenderer.begin(ShapeRenderer.ShapeType.Line);
-        Gdx.gl.glLineWidth(1);
-        shapeRenderer.setColor(color);
-        shapeRenderer.rect(x,y,width,height);
-        shapeRenderer.end();
-        spriteBatch.begin();
+        if (active != DrawPass.STANDARD) {
+            Gdx.app.error("GameCanvas", "Cannot draw without active begin()", new IllegalStateException());
+            return;
+        }
+        float bits = color.toFloatBits();
+        fillRect(x, y, width, 1, bits);
+        fillRect(x, y+height-1, width, 1, bits);
+        fillRect(x, y+1, 1, height-2, bits);
+        fillRect(x+width-1, y+1, 1, height-2, bits);
     }
 
+    /**
+     * Draws a line of the given width.
+     *
+     * Like all primitives, the coordinates are in screen space (they do not scroll
+     * with the camera).
+     *
+     * @param color     The line color
+     * @param startX    The x-coordinate of the line start
+     * @param startY    The y-coordinate of the line start
+     * @param endX      The x-coordinate of the line end
+     * @param endY      The y-coordinate of the line end
+     * @param lineWidth The line width in pixels
+     */
     public void drawLine(Color color, float startX, float startY, float endX, float endY, int lineWidth){
-        spriteBatch.end();
-        shapeRenderer.begin(ShapeRenderer.ShapeType.Line);
-        Gdx.gl.glLineWidth(lineWidth);
-        shapeRenderer.setColor(color);
-        shapeRenderer.line(startX, startY, endX, endY);
-        Gdx.gl.glLineWidth(1);
-        shapeRenderer.end();
-        spriteBatch.begin();
+        if (active != DrawPass.STANDARD) {
+            Gdx.app.error("GameCanvas", "Cannot draw without active begin()", new IllegalStateException());
+            return;
+        }
+        float dx = endX-startX;
+        float dy = endY-startY;
+        float len = (float)Math.sqrt(dx*dx+dy*dy);
+        if (len == 0) {
+            return;
+        }
+        // Offset both ends by half the width along the normal
+        float nx = -dy/len*lineWidth/2.0f;
+        float ny =  dx/len*lineWidth/2.0f;
+        float bits = color.toFloatBits();
+        setPrimitive(0, startX+nx, startY+ny, bits);
+        setPrimitive(1, startX-nx, startY-ny, bits);
+        setPrimitive(2, endX-nx, endY-ny, bits);
+        setPrimitive(3, endX+nx, endY+ny, bits);
+        spriteBatch.draw(pixel, primVertices, 0, 4*VERTEX_SIZE, QUAD_TRIANGLES, 0, QUAD_TRIANGLES.length);
     }
 
+    /**
+     * Draws a line of dots (filled circles of radius 1) from the second point to the first.
+     *
+     * Like all primitives, the coordinates are in screen space (they do not scroll
+     * with the camera).
+     *
+     * @param dotDist   The distance between two dots
+     * @param x1        The x-coordinate of the line start
+     * @param y1        The y-coordinate of the line start
+     * @param x2        The x-coordinate of the line end
+     * @param y2        The y-coordinate of the line end
+     * @param color     The dot color
+     */
     public void drawDottedLine(int dotDist, float x1, float y1, float x2, float y2, Color color) {
-        spriteBatch.end();
-        shapeRenderer.begin(ShapeRenderer.ShapeType.Filled);
-        shapeRenderer.setColor(color);
-        Vector2 vec2 = new Vector2(x2, y2).sub(new Vector2(x1, y1));
-        float length = vec2.len();
+        if (active != DrawPass.STANDARD) {
+            Gdx.app.error("GameCanvas", "Cannot draw without active begin()", new IllegalStateException());
+            return;
+        }
+        float bits = color.toFloatBits();
+        float dx = x2-x1;
+        float dy = y2-y1;
+        float length = (float)Math.sqrt(dx*dx+dy*dy);
         for(int i = 0; i < length; i += dotDist) {
-            vec2.clamp(length - i, length - i);
-            shapeRenderer.circle(x1+vec2.x, y1+vec2.y, 1f);
-            //shapeRenderer.point(x1 + vec2.x, y1 + vec2.y, 0);
+            float t = (length-i)/length;
+            fillEllipse(x1+dx*t, y1+dy*t, 1f, 1f, bits);
         }
-        shapeRenderer.end();
-        spriteBatch.begin();
     }
 
+    /**
+     * Draws a filled ellipse inside the given rectangle.
+     *
+     * Like all primitives, the coordinates are in screen space (they do not scroll
+     * with the camera).
+     *
+     * @param color     The ellipse color
+     * @param x         The x-coordinate of the bottom left corner of the bounding box
+     * @param y         The y-coordinate of the bottom left corner of the bounding box
+     * @param width     The width of the bounding box
+     * @param height    The height of the bounding box
+     */
     public void drawEllipse(Color color, float x, float y, float width, float height){
-        spriteBatch.end();
-        shapeRenderer.begin(ShapeRenderer.ShapeType.Filled);
-        shapeRenderer.setColor(color);
-        shapeRenderer.ellipse(x,y,width,height);
-        shapeRenderer.end();
-        spriteBatch.begin();
+        if (active != DrawPass.STANDARD) {
+            Gdx.app.error("GameCanvas", "Cannot draw without active begin()", new IllegalStateException());
+            return;
+        }
+        fillEllipse(x+width/2, y+height/2, width/2, height/2, color.toFloatBits());
     }
 
+    /**
+     * Draws a filled triangle.
+     *
+     * Like all primitives, the coordinates are in screen space (they do not scroll
+     * with the camera).
+     *
+     * @param color The triangle color
+     * @param x1    The x-coordinate of the first vertex
+     * @param y1    The y-coordinate of the first vertex
+     * @param x2    The x-coordinate of the second vertex
+     * @param y2    The y-coordinate of the second vertex
+     * @param x3    The x-coordinate of the third vertex
+     * @param y3    The y-coordinate of the third vertex
+     */
     public void drawTriangle(Color color, float x1, float y1, float x2, float y2, float x3, float y3){
-        spriteBatch.end();
-        shapeRenderer.begin(ShapeRenderer.ShapeType.Filled);
-        shapeRenderer.setColor(color);
-        shapeRenderer.triangle(x1, y1, x2, y2, x3, y3);
-        shapeRenderer.end();
-        spriteBatch.begin();
+        if (active != DrawPass.STANDARD) {
+            Gdx.app.error("GameCanvas", "Cannot draw without active begin()", new IllegalStateException());
+            return;
+        }
+        float bits = color.toFloatBits();
+        setPrimitive(0, x1, y1, bits);
+        setPrimitive(1, x2, y2, bits);
+        setPrimitive(2, x3, y3, bits);
+        spriteBatch.draw(pixel, primVertices, 0, 3*VERTEX_SIZE, QUAD_TRIANGLES, 0, 3);
+    }
+
+    /**
+     * Draws a filled, axis-aligned rectangle (screen space)
+     *
+     * @param x         The x-coordinate of the bottom left corner
+     * @param y         The y-coordinate of the bottom left corner
+     * @param width     The rectangle width
+     * @param height    The rectangle height
+     * @param bits      The packed rectangle color
+     */
+    private void fillRect(float x, float y, float width, float height, float bits) {
+        if (width <= 0 || height <= 0) {
+            return;
+        }
+        setPrimitive(0, x, y, bits);
+        setPrimitive(1, x+width, y, bits);
+        setPrimitive(2, x+width, y+height, bits);
+        setPrimitive(3, x, y+height, bits);
+        spriteBatch.draw(pixel, primVertices, 0, 4*VERTEX_SIZE, QUAD_TRIANGLES, 0, QUAD_TRIANGLES.length);
+    }
+
+    /**
+     * Draws a filled ellipse as a triangle fan (screen space)
+     *
+     * The number of segments grows with the radius, as in {@link ShapeRenderer}.
+     *
+     * @param cx    The x-coordinate of the center
+     * @param cy    The y-coordinate of the center
+     * @param rx    The horizontal radius
+     * @param ry    The vertical radius
+     * @param bits  The packed ellipse color
+     */
+    private void fillEllipse(float cx, float cy, float rx, float ry, float bits) {
+        int segments = (int)(6*(float)Math.cbrt(Math.max(rx, ry)));
+        segments = Math.min(MAX_SEGMENTS, Math.max(6, segments));
+        float step = MathUtils.PI2/segments;
+        setPrimitive(0, cx, cy, bits);
+        for (int ii = 0; ii < segments; ii++) {
+            setPrimitive(ii+1, cx+rx*MathUtils.cos(ii*step), cy+ry*MathUtils.sin(ii*step), bits);
+            primTriangles[3*ii  ] = 0;
+            primTriangles[3*ii+1] = (short)(ii+1);
+            primTriangles[3*ii+2] = (short)((ii+1)%segments+1);
+        }
+        spriteBatch.draw(pixel, primVertices, 0, (segments+1)*VERTEX_SIZE, primTriangles, 0, 3*segments);
+    }
+
+    /**
+     * Stores a primitive vertex in the vertex cache.
+     *
+     * Screen coordinates are scaled by the ratio of the viewport to the screen, and
+     * then shifted by the camera offset (as in drawFixed).  So the primitive stays put
+     * while the sprite batch scrolls or zooms with the camera.
+     *
+     * @param index The vertex index
+     * @param x     The x-coordinate in screen space
+     * @param y     The y-coordinate in screen space
+     * @param bits  The packed vertex color
+     */
+    private void setPrimitive(int index, float x, float y, float bits) {
+        int off = index*VERTEX_SIZE;
+        primVertices[off  ] = x*camera.viewportWidth/getWidth()+camera.position.x-camera.viewportWidth/2;
+        primVertices[off+1] = y*camera.viewportHeight/getHeight()+camera.position.y-camera.viewportHeight/2;
+        primVertices[off+2] = bits;
+        primVertices[off+3] = 0.5f;
+        primVertices[off+4] = 0.5f;
     }
 }
\ No newline at end of file
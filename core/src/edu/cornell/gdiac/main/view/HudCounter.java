@@ -0,0 +1,79 @@
+package edu.cornell.gdiac.main.view;
+
+/**
+ * A line of HUD text of the form "label value/total".
+ *
+ * The counter keeps its own character buffer, so updating it does not concatenate
+ * strings.  The text is only rebuilt (and laid out again) when one of the numbers
+ * changes.  Draw it with {@link GameCanvas#drawText}.
+ */
+public class HudCounter {
+    /** The text before the numbers */
+    private final String label;
+    /** The current text */
+    private final StringBuilder text;
+    /** The current value */
+    private int value;
+    /** The current total */
+    private int total;
+    /** Whether the text changed since the last layout */
+    private boolean dirty;
+    /** The laid out text */
+    CachedText layout;
+
+    /**
+     * Creates a new counter with the given label
+     *
+     * @param label The text before the numbers (e.g. "Penguins: ")
+     */
+    public HudCounter(String label) {
+        this.label = label;
+        text = new StringBuilder(label.length()+16);
+        layout = new CachedText();
+        set(0, 0);
+    }
+
+    /**
+     * Sets the numbers of this counter.
+     *
+     * The text is only rebuilt if a number changed.
+     *
+     * @param value The current value
+     * @param total The current total
+     */
+    public void set(int value, int total) {
+        if (text.length() > 0 && this.value == value && this.total == total) {
+            return;
+        }
+        this.value = value;
+        this.total = total;
+        text.setLength(0);
+        text.append(label).append(value).append('/').append(total);
+        dirty = true;
+    }
+
+    /**
+     * Returns the current text of this counter
+     *
+     * @return the current text of this counter
+     */
+    public CharSequence getText() {
+        return text;
+    }
+
+    /**
+     * Returns true if the text changed since the last call to {@link #clean}
+     *
+     * @return true if the text changed since the last call to {@link #clean}
+     */
+    boolean isDirty() {
+        return dirty;
+    }
+
+    /**
+     * Marks the current text as laid out
+     */
+    void clean() {
+        dirty = false;
+    }
+}
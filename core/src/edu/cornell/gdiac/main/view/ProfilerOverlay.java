@@ -0,0 +1,106 @@
+package edu.cornell.gdiac.main.view;
+
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.utils.Disposable;
+import edu.cornell.gdiac.util.FrameProfiler;
+
+/**
+ * An on-screen table of the frame profiler statistics.
+ *
+ * Like {@link HudCounter}, the overlay keeps its own character buffer, so updating
+ * it does not concatenate strings.  The text is only rebuilt a few times a second,
+ * so that the numbers are readable and the layout cost stays out of the timings.
+ * The overlay draws with the built-in libGDX font, so it does not depend on the
+ * assets of any level.  Draw it with {@link GameCanvas#drawText}.
+ */
+public class ProfilerOverlay implements Disposable {
+    /** The number of frames between text updates */
+    private static final int REFRESH = 15;
+
+    /** The font to draw with */
+    private final BitmapFont font;
+    /** The current text */
+    private final StringBuilder text;
+    /** The frames until the next text update */
+    private int countdown;
+    /** Whether the text changed since the last layout */
+    private boolean dirty;
+    /** The laid out text */
+    CachedText layout;
+
+    /**
+     * Creates a new, empty overlay
+     *
+     * This must be called on the rendering thread, as it creates a font.
+     */
+    public ProfilerOverlay() {
+        font = new BitmapFont();
+        text = new StringBuilder(1024);
+        layout = new CachedText();
+        countdown = 0;
+    }
+
+    /**
+     * Disposes of the font of this overlay
+     */
+    public void dispose() {
+        font.dispose();
+    }
+
+    /**
+     * Updates the text from the profiler statistics.
+     *
+     * The text is only rebuilt every few frames.  The timings are over completed
+     * frames, while the counters are those just sampled for the frame in progress.
+     *
+     * @param profiler  The profiler to report
+     */
+    public void update(FrameProfiler profiler) {
+        if (countdown-- > 0) {
+            return;
+        }
+        countdown = REFRESH;
+        text.setLength(0);
+        profiler.summarize(text);
+        text.append("draw calls ").append(profiler.getCurrent(FrameProfiler.Counter.RENDER_CALLS));
+        text.append("   binds ").append(profiler.getCurrent(FrameProfiler.Counter.TEXTURE_BINDS));
+        text.append("   bodies ").append(profiler.getCurrent(FrameProfiler.Counter.BODIES));
+        text.append("   contacts ").append(profiler.getCurrent(FrameProfiler.Counter.CONTACTS));
+        text.append("   heap ").append(profiler.getCurrent(FrameProfiler.Counter.HEAP_KB)).append(" KB");
+        dirty = true;
+    }
+
+    /**
+     * Returns the font of this overlay
+     *
+     * @return the font of this overlay
+     */
+    public BitmapFont getFont() {
+        return font;
+    }
+
+    /**
+     * Returns the current text of this overlay
+     *
+     * @return the current text of this overlay
+     */
+    public CharSequence getText() {
+        return text;
+    }
+
+    /**
+     * Returns true if the text changed since the last call to {@link #clean}
+     *
+     * @return true if the text changed since the last call to {@link #clean}
+     */
+    boolean isDirty() {
+        return dirty;
+    }
+
+    /**
+     * Marks the current text as laid out
+     */
+    void clean() {
+        dirty = false;
+    }
+}
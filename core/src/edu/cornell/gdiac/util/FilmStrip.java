@@ -51,6 +51,12 @@ public class FilmStrip extends TextureRegion {
 	
 	/** The active animation frame */
 	private int frame;
+
+	/** The left edge of the filmstrip in the texture (non-zero in an atlas page) */
+	private int xoff;
+
+	/** The top edge of the filmstrip in the texture (non-zero in an atlas page) */
+	private int yoff;
 	
 	/**
 	 * Creates a new filmstrip from the given texture.
@@ -76,6 +82,53 @@ public class FilmStrip extends TextureRegion {
 	 * @param size The number of frames in the filmstrip
 	 */
 	public FilmStrip(Texture texture, int rows, int cols, int size) {
+		this(texture,0,0,texture.getWidth(),texture.getHeight(),rows,cols,size);
+	}
+
+	/**
+	 * Creates a new filmstrip from the given texture region.
+	 *
+	 * The frames are taken from the region only, so the filmstrip may live
+	 * on a shared texture atlas page.
+	 *
+	 * @param region The texture region to use
+	 * @param rows The number of rows in the filmstrip
+	 * @param cols The number of columns in the filmstrip
+	 */
+	public FilmStrip(TextureRegion region, int rows, int cols) {
+		this(region,rows,cols,rows*cols);
+	}
+
+	/**
+	 * Creates a new filmstrip from the given texture region.
+	 *
+	 * The frames are taken from the region only, so the filmstrip may live
+	 * on a shared texture atlas page.  The value size must be less than or
+	 * equal to rows*cols, or this constructor will raise an error.
+	 *
+	 * @param region The texture region to use
+	 * @param rows The number of rows in the filmstrip
+	 * @param cols The number of columns in the filmstrip
+	 * @param size The number of frames in the filmstrip
+	 */
+	public FilmStrip(TextureRegion region, int rows, int cols, int size) {
+		this(region.getTexture(),region.getRegionX(),region.getRegionY(),
+			 region.getRegionWidth(),region.getRegionHeight(),rows,cols,size);
+	}
+
+	/**
+	 * Creates a new filmstrip from the given rectangle of a texture.
+	 *
+	 * @param texture The texture image to use
+	 * @param x The left edge of the filmstrip in the texture
+	 * @param y The top edge of the filmstrip in the texture
+	 * @param width The width of the filmstrip in the texture
+	 * @param height The height of the filmstrip in the texture
+	 * @param rows The number of rows in the filmstrip
+	 * @param cols The number of columns in the filmstrip
+	 * @param size The number of frames in the filmstrip
+	 */
+	private FilmStrip(Texture texture, int x, int y, int width, int height, int rows, int cols, int size) {
 		super(texture);
 		if (size > rows*cols) {
 			Gdx.app.error("FilmStrip", "Invalid strip size", new IllegalArgumentException());
@@ -84,8 +137,10 @@ public class FilmStrip extends TextureRegion {
 		this.rows = rows;
 		this.cols = cols;
 		this.size = size;
-		rwidth  = texture.getWidth()/cols;
-		rheight = texture.getHeight()/rows;
+		xoff = x;
+		yoff = y;
+		rwidth  = width/cols;
+		rheight = height/rows;
 		setFrame(0);
 	}
 	
@@ -120,8 +175,8 @@ public class FilmStrip extends TextureRegion {
 			return;
 		}
 		this.frame = frame;
-		int x = (frame % cols)*rwidth;
-		int y = (frame / cols)*rheight;
+		int x = xoff+(frame % cols)*rwidth;
+		int y = yoff+(frame / cols)*rheight;
 		setRegion(x,y,rwidth,rheight);
 	}
 
@@ -133,8 +188,8 @@ public class FilmStrip extends TextureRegion {
 	public void nextFrame() {
 		frame +=1;
 		frame %= size;
-		int x = (frame % cols)*rwidth;
-		int y = (frame / cols)*rheight;
+		int x = xoff+(frame % cols)*rwidth;
+		int y = yoff+(frame / cols)*rheight;
 		setRegion(x,y,rwidth,rheight);
 	}
 
@@ -148,7 +203,7 @@ public class FilmStrip extends TextureRegion {
 	 * @return a copy of this filmstrip
 	 */
 	public FilmStrip copy() {
-		return new FilmStrip( getTexture(), rows, cols, size );
+		return new FilmStrip( getTexture(), xoff, yoff, rwidth*cols, rheight*rows, rows, cols, size );
 	}
 
 }
\ No newline at end of file
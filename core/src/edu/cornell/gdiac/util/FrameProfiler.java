@@ -0,0 +1,287 @@
+/*
+ * FrameProfiler.java
+ *
+ * Stutter is hard to diagnose by eye.  This class records how long each phase of the
+ * game loop takes, along with a few counters, for the last few seconds of frames.
+ * Recording only reads the clock and writes into preallocated arrays, so it is cheap
+ * enough to leave on in every build.
+ */
+package edu.cornell.gdiac.util;
+
+import java.util.Arrays;
+
+/**
+ * A recorder of per-frame timings and counters.
+ *
+ * Each phase and counter has a ring buffer of the last HISTORY frames.  Timings are
+ * added to the frame in progress, so a phase may be timed several times in one frame
+ * (e.g. several physics steps).  Call {@link #endFrame} once per frame to close the
+ * frame in progress.  All statistics are over completed frames only.
+ *
+ * No method of this class allocates memory.  This class is a singleton, since the
+ * phases it times are spread across the application and the game loop.
+ */
+public class FrameProfiler {
+    /** The timed phases of a frame */
+    public enum Phase {
+        /** The whole frame, from input to drawing */
+        FRAME,
+        /** Reading input (preUpdate) */
+        INPUT,
+        /** The game logic (update) */
+        UPDATE,
+        /** Stepping the physics world (part of POST) */
+        PHYSICS,
+        /** Physics and object updates (postUpdate) */
+        POST,
+        /** Drawing the frame */
+        DRAW,
+        /** Refilling the audio buffers (outside of the frame) */
+        AUDIO
+    }
+
+    /** The counters sampled once per frame */
+    public enum Counter {
+        /** The number of draw calls by the sprite batch */
+        RENDER_CALLS,
+        /** The number of texture binds (only while GL profiling is enabled) */
+        TEXTURE_BINDS,
+        /** The number of Box2D bodies */
+        BODIES,
+        /** The number of Box2D contacts */
+        CONTACTS,
+        /** The heap in use, in kilobytes */
+        HEAP_KB
+    }
+
+    /** The number of frames of history */
+    public static final int HISTORY = 240;
+
+    /** The singleton instance of the profiler */
+    private static FrameProfiler theProfiler = null;
+
+    /**
+     * Return the singleton instance of the profiler
+     *
+     * @return the singleton instance of the profiler
+     */
+    public static FrameProfiler getInstance() {
+        if (theProfiler == null) {
+            theProfiler = new FrameProfiler();
+        }
+        return theProfiler;
+    }
+
+    /** The time of each phase in nanoseconds, indexed by phase and then frame */
+    private final long[][] times;
+    /** The start time of each phase currently being timed */
+    private final long[] starts;
+    /** The value of each counter, indexed by counter and then frame */
+    private final int[][] counts;
+    /** Scratch space for computing percentiles */
+    private final long[] sorted;
+    /** The padded display name of each phase */
+    private final String[] labels;
+    /** The ring buffer index of the frame in progress */
+    private int current;
+    /** The number of completed frames in the ring buffers */
+    private int frames;
+
+    /**
+     * Creates a new profiler with no history
+     */
+    private FrameProfiler() {
+        times  = new long[Phase.values().length][HISTORY];
+        starts = new long[Phase.values().length];
+        counts = new int[Counter.values().length][HISTORY];
+        sorted = new long[HISTORY];
+        labels = new String[Phase.values().length];
+        for (Phase phase : Phase.values()) {
+            String name = phase.name().toLowerCase();
+            labels[phase.ordinal()] = String.format("%-8s", name);
+        }
+    }
+
+    /**
+     * Starts timing the given phase
+     *
+     * @param phase The phase to time
+     */
+    public void begin(Phase phase) {
+        starts[phase.ordinal()] = System.nanoTime();
+    }
+
+    /**
+     * Stops timing the given phase, adding the time to the frame in progress
+     *
+     * @param phase The phase to time
+     */
+    public void end(Phase phase) {
+        times[phase.ordinal()][current] += System.nanoTime()-starts[phase.ordinal()];
+    }
+
+    /**
+     * Sets the value of a counter for the frame in progress
+     *
+     * @param counter   The counter to set
+     * @param value     The counter value
+     */
+    public void count(Counter counter, int value) {
+        counts[counter.ordinal()][current] = value;
+    }
+
+    /**
+     * Completes the frame in progress and starts a new one
+     */
+    public void endFrame() {
+        current = (current+1) % HISTORY;
+        frames = Math.min(frames+1, HISTORY);
+        for (long[] phase : times) {
+            phase[current] = 0;
+        }
+        for (int[] counter : counts) {
+            counter[current] = 0;
+        }
+    }
+
+    /**
+     * Returns the number of completed frames recorded (at most HISTORY)
+     *
+     * @return the number of completed frames recorded
+     */
+    public int getFrames() {
+        return frames;
+    }
+
+    /**
+     * Returns the time of the phase in the last completed frame, in nanoseconds
+     *
+     * @param phase The phase to query
+     *
+     * @return the time of the phase in the last completed frame
+     */
+    public long getLast(Phase phase) {
+        return frames == 0 ? 0 : times[phase.ordinal()][previous()];
+    }
+
+    /**
+     * Returns the value of the counter in the last completed frame
+     *
+     * @param counter   The counter to query
+     *
+     * @return the value of the counter in the last completed frame
+     */
+    public int getLast(Counter counter) {
+        return frames == 0 ? 0 : counts[counter.ordinal()][previous()];
+    }
+
+    /**
+     * Returns the value of the counter in the frame in progress
+     *
+     * This is 0 if the counter has not been set yet this frame.
+     *
+     * @param counter   The counter to query
+     *
+     * @return the value of the counter in the frame in progress
+     */
+    public int getCurrent(Counter counter) {
+        return counts[counter.ordinal()][current];
+    }
+
+    /**
+     * Returns the average time of the phase over the history, in nanoseconds
+     *
+     * @param phase The phase to query
+     *
+     * @return the average time of the phase over the history
+     */
+    public long getAverage(Phase phase) {
+        if (frames == 0) {
+            return 0;
+        }
+        long total = 0;
+        long[] values = times[phase.ordinal()];
+        for (int ii = 1; ii <= frames; ii++) {
+            total += values[(current-ii+HISTORY) % HISTORY];
+        }
+        return total/frames;
+    }
+
+    /**
+     * Returns the given percentile of the phase time over the history, in nanoseconds
+     *
+     * A percentile of 0.5 is the median, and 1 is the worst frame.
+     *
+     * @param phase         The phase to query
+     * @param percentile    The percentile, from 0 to 1
+     *
+     * @return the given percentile of the phase time over the history
+     */
+    public long getPercentile(Phase phase, float percentile) {
+        if (frames == 0) {
+            return 0;
+        }
+        long[] values = times[phase.ordinal()];
+        for (int ii = 1; ii <= frames; ii++) {
+            sorted[ii-1] = values[(current-ii+HISTORY) % HISTORY];
+        }
+        Arrays.sort(sorted, 0, frames);
+        int index = (int)Math.ceil(percentile*frames)-1;
+        return sorted[Math.max(0, Math.min(frames-1, index))];
+    }
+
+    /**
+     * Appends a table of the phase percentiles over the history to the given text
+     *
+     * @param text  The text to append to
+     *
+     * @return the text, for chaining
+     */
+    public StringBuilder summarize(StringBuilder text) {
+        text.append("phase       avg    p50    p95    p99    max  (ms over ");
+        text.append(frames).append(" frames)\n");
+        for (Phase phase : Phase.values()) {
+            text.append(labels[phase.ordinal()]);
+            appendMillis(text, getAverage(phase));
+            appendMillis(text, getPercentile(phase, 0.50f));
+            appendMillis(text, getPercentile(phase, 0.95f));
+            appendMillis(text, getPercentile(phase, 0.99f));
+            appendMillis(text, getPercentile(phase, 1.00f));
+            text.append('\n');
+        }
+        return text;
+    }
+
+    /**
+     * Appends a time in milliseconds, with two decimal places, to the given text
+     *
+     * This is used instead of formatting a float, which allocates memory.
+     *
+     * @param text  The text to append to
+     * @param nanos The time in nanoseconds
+     *
+     * @return the text, for chaining
+     */
+    public static StringBuilder appendMillis(StringBuilder text, long nanos) {
+        long hundredths = (nanos+5000)/10000;
+        long whole = hundredths/100;
+        for (long ii = 1000; ii > 1 && whole < ii; ii /= 10) {
+            text.append(' ');
+        }
+        text.append(whole).append('.');
+        long fraction = hundredths % 100;
+        if (fraction < 10) {
+            text.append('0');
+        }
+        return text.append(fraction);
+    }
+
+    /**
+     * Returns the ring buffer index of the last completed frame
+     *
+     * @return the ring buffer index of the last completed frame
+     */
+    private int previous() {
+        return (current-1+HISTORY) % HISTORY;
+    }
+}
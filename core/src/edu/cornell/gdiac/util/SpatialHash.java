@@ -0,0 +1,179 @@
+/*
+ * SpatialHash.java
+ *
+ * Proximity tests between every pair of objects get expensive quickly.  This class
+ * buckets objects by position in a uniform grid, so that a query only looks at the
+ * objects in the cells around the area of interest.
+ */
+package edu.cornell.gdiac.util;
+
+import com.badlogic.gdx.utils.*;
+
+/**
+ * A uniform grid of cells for finding objects near a point or in a box.
+ *
+ * Each object is stored as a point, in the cell containing its position.  Moving an
+ * object only touches the grid if it changes cells, so the index can be kept up to
+ * date every frame.  A query returns every object in the cells overlapping the query
+ * box.  This is a superset of the objects in the box, so the caller must still do an
+ * exact test on the results.
+ */
+public class SpatialHash<T> {
+    /** The width and height of a cell */
+    private final float cellSize;
+    /** The objects in each occupied cell, keyed by packed cell coordinates */
+    private final IntMap<Array<T>> cells;
+    /** The packed cell coordinates of each object */
+    private final ObjectIntMap<T> keys;
+    /** The smallest cell x-coordinate ever occupied since the last clear */
+    private int minCol;
+    /** The largest cell x-coordinate ever occupied since the last clear */
+    private int maxCol;
+    /** The smallest cell y-coordinate ever occupied since the last clear */
+    private int minRow;
+    /** The largest cell y-coordinate ever occupied since the last clear */
+    private int maxRow;
+
+    /**
+     * Creates an empty grid with the given cell size
+     *
+     * The cell size should be about the size of a typical query.
+     *
+     * @param cellSize  The width and height of a cell
+     */
+    public SpatialHash(float cellSize) {
+        this.cellSize = cellSize;
+        cells = new IntMap<Array<T>>();
+        keys = new ObjectIntMap<T>();
+        clear();
+    }
+
+    /**
+     * Removes all objects from this grid
+     */
+    public void clear() {
+        for (Array<T> cell : cells.values()) {
+            cell.clear();
+        }
+        keys.clear();
+        minCol = minRow = Integer.MAX_VALUE;
+        maxCol = maxRow = Integer.MIN_VALUE;
+    }
+
+    /**
+     * Adds an object at the given position, or moves it there if already present
+     *
+     * @param item  The object to store
+     * @param x     The x-coordinate of the object
+     * @param y     The y-coordinate of the object
+     */
+    public void update(T item, float x, float y) {
+        int col = cell(x);
+        int row = cell(y);
+        int key = pack(col, row);
+        if (keys.containsKey(item)) {
+            int old = keys.get(item, 0);
+            if (old == key) {
+                return;
+            }
+            cells.get(old).removeValue(item, true);
+        }
+        keys.put(item, key);
+        Array<T> cell = cells.get(key);
+        if (cell == null) {
+            cell = new Array<T>(false, 4);
+            cells.put(key, cell);
+        }
+        cell.add(item);
+
+        minCol = Math.min(minCol, col);
+        maxCol = Math.max(maxCol, col);
+        minRow = Math.min(minRow, row);
+        maxRow = Math.max(maxRow, row);
+    }
+
+    /**
+     * Removes an object from this grid
+     *
+     * This method does nothing if the object is not in the grid.
+     *
+     * @param item  The object to remove
+     */
+    public void remove(T item) {
+        if (keys.containsKey(item)) {
+            int key = keys.remove(item, 0);
+            cells.get(key).removeValue(item, true);
+        }
+    }
+
+    /**
+     * Adds the objects in the cells near the given point to result.
+     *
+     * The objects may be up to one cell further than the given radius, so the caller
+     * must check the actual distance.
+     *
+     * @param x         The x-coordinate of the point
+     * @param y         The y-coordinate of the point
+     * @param radius    The search radius
+     * @param result    The array to add the objects to
+     *
+     * @return the result array, for chaining
+     */
+    public Array<T> query(float x, float y, float radius, Array<T> result) {
+        return query(x-radius, y-radius, x+radius, y+radius, result);
+    }
+
+    /**
+     * Adds the objects in the cells overlapping the given box to result.
+     *
+     * The box may be unbounded (e.g. use -Float.MAX_VALUE and Float.MAX_VALUE for a
+     * column), as only occupied cells are visited.  The objects may be up to one cell
+     * outside of the box, so the caller must check the actual position.
+     *
+     * @param minX      The left edge of the box
+     * @param minY      The bottom edge of the box
+     * @param maxX      The right edge of the box
+     * @param maxY      The top edge of the box
+     * @param result    The array to add the objects to
+     *
+     * @return the result array, for chaining
+     */
+    public Array<T> query(float minX, float minY, float maxX, float maxY, Array<T> result) {
+        int col0 = Math.max(cell(minX), minCol);
+        int col1 = Math.min(cell(maxX), maxCol);
+        int row0 = Math.max(cell(minY), minRow);
+        int row1 = Math.min(cell(maxY), maxRow);
+        for (int col = col0; col <= col1; col++) {
+            for (int row = row0; row <= row1; row++) {
+                Array<T> cell = cells.get(pack(col, row));
+                if (cell != null) {
+                    result.addAll(cell);
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns the cell coordinate containing the given position coordinate
+     *
+     * @param value The position coordinate
+     *
+     * @return the cell coordinate containing the given position coordinate
+     */
+    private int cell(float value) {
+        return (int)Math.floor(value/cellSize);
+    }
+
+    /**
+     * Returns the key of the cell at the given cell coordinates
+     *
+     * @param col   The cell x-coordinate
+     * @param row   The cell y-coordinate
+     *
+     * @return the key of the cell at the given cell coordinates
+     */
+    private static int pack(int col, int row) {
+        return (col << 16) | (row & 0xFFFF);
+    }
+}
@@ -16,6 +16,7 @@ import com.badlogic.gdx.backends.lwjgl.audio.OpenALLwjglAudio;
 
 import edu.cornell.gdiac.assets.ResourceManager;
 import edu.cornell.gdiac.util.Controllers;
+import edu.cornell.gdiac.util.FrameProfiler;
 /**
  * This class represents a desktop game application using Lwjgl.
  *
@@ -29,6 +30,8 @@ public class GDXApp extends LwjglProxy {
 
     /** The replacement audio engine */
     protected GDXAudio engine;
+    /** Whether a profiled frame is in progress */
+    private boolean profiling;
 
     /**
      * Creates a game application with the given listener and settings.
@@ -81,9 +84,19 @@ public class GDXApp extends LwjglProxy {
         if (!LwjglApplicationConfiguration.disableAudio) {
             try {
                 // No that we have initialized OpenAL, steel its resources
-                engine = new GDXAudio(config.audioDeviceSimultaneousSources,
-                        config.audioDeviceBufferCount,
-                        config.audioDeviceBufferSize);
+                if (config instanceof GDXAppSettings.Configuration) {
+                    GDXAppSettings settings = ((GDXAppSettings.Configuration)config).settings;
+                    engine = new GDXAudio(config.audioDeviceSimultaneousSources,
+                            config.audioDeviceBufferCount,
+                            config.audioDeviceBufferSize,
+                            settings.musicBufferCount,
+                            settings.musicBufferSize,
+                            settings.useAudioThread);
+                } else {
+                    engine = new GDXAudio(config.audioDeviceSimultaneousSources,
+                            config.audioDeviceBufferCount,
+                            config.audioDeviceBufferSize);
+                }
             } catch (Throwable t) {
                 log("GDXApp", "Couldn't initialize secondary audio; falling back", t);
                 engine = null;
@@ -137,14 +150,26 @@ public class GDXApp extends LwjglProxy {
 
     /**
      * Updates the audio loop for any PCM buffering
+     *
+     * The time spent is recorded as the AUDIO phase of the {@link FrameProfiler}.
+     * The audio is updated at the start of every pass of the main loop, on every
+     * screen.  So this is also where the profiler ends the previous frame.
      */
     @Override
     protected void updateAudio() {
+        FrameProfiler profiler = FrameProfiler.getInstance();
+        if (profiling) {
+            profiler.endFrame();
+        }
+        profiling = true;
+
+        profiler.begin(FrameProfiler.Phase.AUDIO);
         if (engine != null) {
             engine.update();
         } else if (audio != null) {
             audio.update();
         }
+        profiler.end(FrameProfiler.Phase.AUDIO);
     }
 
     /**
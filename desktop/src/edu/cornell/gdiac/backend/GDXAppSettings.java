@@ -61,6 +61,17 @@ public class GDXAppSettings {
     public int audioDeviceBufferSize = 512;
     /** The audio device buffer count **/
     public int audioDeviceBufferCount = 9;
+    /** The music buffer size in bytes (never less than 16384) **/
+    public int musicBufferSize = 16384;
+    /** The number of buffers queued for each music buffer **/
+    public int musicBufferCount = 4;
+    /**
+     * Whether to refill music buffers on a dedicated audio thread
+     *
+     * If this is false, music is refilled once a frame, and long frames may cause the
+     * music to stutter.
+     */
+    public boolean useAudioThread = true;
     /** The initial background color */
     public Color initialBackgroundColor = Color.BLACK;
     /**
@@ -106,7 +117,7 @@ public class GDXAppSettings {
      * @return the equivalent {@link LwjglApplicationConfiguration} for this {@link GDXApp} configuration.
      */
     LwjglApplicationConfiguration getLwjglConfiguration() {
-        LwjglApplicationConfiguration config = new LwjglApplicationConfiguration();
+        LwjglApplicationConfiguration config = new Configuration(this);
         config.title = title;
         config.width = width;
         config.height = height;
@@ -130,4 +141,25 @@ public class GDXAppSettings {
         config.disableAudio = false;
         return config;
     }
+
+    /**
+     * This class is an {@link LwjglApplicationConfiguration} that remembers its settings.
+     *
+     * {@link GDXApp} initializes audio in its parent constructor, before it can store
+     * its settings.  So the audio settings that LWJGL does not know about must travel
+     * with the LWJGL configuration.
+     */
+    static class Configuration extends LwjglApplicationConfiguration {
+        /** The settings that produced this configuration */
+        final GDXAppSettings settings;
+
+        /**
+         * Creates an (unset) configuration for the given settings
+         *
+         * @param settings  The settings that produce this configuration
+         */
+        Configuration(GDXAppSettings settings) {
+            this.settings = settings;
+        }
+    }
 }
\ No newline at end of file
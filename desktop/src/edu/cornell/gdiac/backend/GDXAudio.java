@@ -25,6 +25,8 @@ import org.lwjgl.BufferUtils;
 import org.lwjgl.openal.*;
 
 import java.nio.*;
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentLinkedQueue;
 
 /**
  * This class is an implementation of the {@link Audio} interface using OpenAL.
@@ -60,6 +62,13 @@ public class GDXAudio implements AudioEngine {
     private final int deviceBufferSize;
     /** The number of buffers in an audio device */
     private final int deviceBufferCount;
+    /** The buffer size of a music stream */
+    private final int musicBufferSize;
+    /** The number of buffers in a music stream */
+    private final int musicBufferCount;
+
+    /** The thread refilling music streams (null if they are refilled by update) */
+    private Streamer streamer;
     
     /** Whether audio has been disabled */
     private boolean noDevice = false;
@@ -74,13 +83,36 @@ public class GDXAudio implements AudioEngine {
     /** Mapping from an array index to an audio source */
     private IntIntMap indexToSource = new IntIntMap();
 
-    /** The ring buffer of audio source managers */
+    /** The audio source managers, indexed by source slot */
     private OpenALBuffer[] buffers;
-    /** The ring buffer pointer */
-    private int recentIndex;
+    /** The stack of unclaimed source slots */
+    private int[] freeSlots;
+    /** The number of unclaimed source slots */
+    private int freeCount;
+    /** The priority of the voice in each claimed source slot */
+    private int[] priorities;
+    /** The claim time of the voice in each claimed source slot */
+    private long[] stamps;
+    /** The clock for stamping source claims */
+    private long clock;
+    /** The evictable source slots as a heap, lowest priority and then oldest first */
+    private int[] heap;
+    /** The position of each source slot in the heap (-1 if not in the heap) */
+    private int[] heapIndex;
+    /** The number of source slots in the heap */
+    private int heapSize;
+
+    /** The mixer buses, by name */
+    private ObjectMap<String, Bus> buses = new ObjectMap<String, Bus>();
+    /** The mixer bus of the voice in each claimed source slot (null for none) */
+    private Bus[] slotBuses;
+    /** The gain of the voice in each claimed source slot, before the bus gain */
+    private float[] slotGains;
+    /** Whether any bus gain has changed since the last update */
+    private boolean busesDirty;
         
     /** Whether we have instituted a global pause */
-    private boolean globalPause;
+    private volatile boolean globalPause;
 
     /** The sources affected by a global pause */
     private boolean[] paused;
@@ -117,8 +149,34 @@ public class GDXAudio implements AudioEngine {
      * @param deviceBufferSize        The buffer size to allocate for an {@link AudioDevice}.
      */
     public GDXAudio (int simultaneousSources, int deviceBufferCount, int deviceBufferSize) {
+        this(simultaneousSources, deviceBufferCount, deviceBufferSize, 3, deviceBufferSize, false);
+    }
+
+    /**
+     * Creates an audio engine with the given settings.
+     *
+     * The first three settings are as in {@link #GDXAudio(int,int,int)}.  The remaining
+     * settings control the buffer queue of each {@link MusicBuffer}.  Music buffers are
+     * never smaller than 16384 bytes (the minimum for the MP3 decoder).
+     *
+     * If streamed is true, music buffers are refilled on a dedicated audio thread, so
+     * playback does not depend on the frame rate.  Callback functions are still invoked
+     * in the main thread, by {@link #update}.  Otherwise, music buffers are refilled
+     * once a frame by {@link #update}.
+     *
+     * @param simultaneousSources    The number of simultaneous audio sources
+     * @param deviceBufferCount        The number of buffers to create for an {@link AudioDevice}.
+     * @param deviceBufferSize        The buffer size to allocate for an {@link AudioDevice}.
+     * @param musicBufferCount      The number of buffers to queue for a {@link MusicBuffer}.
+     * @param musicBufferSize       The buffer size to allocate for a {@link MusicBuffer}.
+     * @param streamed              Whether to refill music buffers on a dedicated thread
+     */
+    public GDXAudio (int simultaneousSources, int deviceBufferCount, int deviceBufferSize,
+                     int musicBufferCount, int musicBufferSize, boolean streamed) {
         this.deviceBufferSize = deviceBufferSize;
         this.deviceBufferCount = deviceBufferCount;
+        this.musicBufferCount = Math.max( 2, musicBufferCount );
+        this.musicBufferSize  = musicBufferSize;
 
         registerFormat("ogg", OggSource.class);
         registerFormat("wav", WavSource.class);
@@ -140,7 +198,17 @@ public class GDXAudio implements AudioEngine {
             }
 
             buffers = new OpenALBuffer[simultaneousSources];
-            recentIndex = simultaneousSources - 1;
+            priorities = new int[simultaneousSources];
+            stamps = new long[simultaneousSources];
+            heap = new int[simultaneousSources];
+            heapIndex = new int[simultaneousSources];
+            slotBuses = new Bus[simultaneousSources];
+            slotGains = new float[simultaneousSources];
+            freeSlots = new int[simultaneousSources];
+            for (int ii = allSources.size-1; ii >= 0; ii--) {
+                freeSlots[freeCount++] = ii;
+            }
+            Arrays.fill( heapIndex, -1 );
 
             paused = new boolean[simultaneousSources];
             globalPause = false;
@@ -150,6 +218,11 @@ public class GDXAudio implements AudioEngine {
             noDevice = true;
             return;
         }
+
+        if (streamed) {
+            streamer = new Streamer();
+            streamer.start();
+        }
     }
 
     /**
@@ -160,6 +233,11 @@ public class GDXAudio implements AudioEngine {
             return;
         }
 
+        if (streamer != null) {
+            streamer.dispose();
+            streamer = null;
+        }
+
         for(int ii = 0; ii < buffers.length; ii++) {
             if (buffers[ii] != null) {
                 buffers[ii].stop();
@@ -467,43 +545,149 @@ public class GDXAudio implements AudioEngine {
         }
         globalPause = false;
     }
+
+    /**
+     * Sets the gain of the given mixer bus.
+     *
+     * Every {@link SoundBuffer} and {@link MusicBuffer} is attached to a named bus.
+     * The gain of a bus scales the volume of every instance attached to it, on top of
+     * the volume of the instance itself.  The change is pushed to the playing
+     * instances at the next {@link #update}, no matter how often it is called.
+     *
+     * A bus is created (with gain 1) the first time it is named.
+     *
+     * @param bus   The name of the mixer bus
+     * @param gain  The bus gain in the range [0,1]
+     */
+    public void setBusGain(String bus, float gain) {
+        Bus entry = obtainBus( bus );
+        gain = Math.max(0,Math.min(gain,1));
+        if (entry.gain != gain) {
+            entry.gain = gain;
+            entry.dirty = true;
+            busesDirty = true;
+        }
+    }
+
+    /**
+     * Returns the gain of the given mixer bus.
+     *
+     * A bus that has never been named has gain 1.
+     *
+     * @param bus   The name of the mixer bus
+     *
+     * @return the gain of the given mixer bus.
+     */
+    public float getBusGain(String bus) {
+        Bus entry = buses.get( bus );
+        return entry == null ? 1 : entry.gain;
+    }
+
+    /**
+     * Returns the mixer bus with the given name, creating it if necessary
+     *
+     * @param name  The name of the mixer bus
+     *
+     * @return the mixer bus with the given name
+     */
+    private Bus obtainBus(String name) {
+        if (name == null) {
+            throw new IllegalArgumentException( "Bus name cannot be null." );
+        }
+        Bus bus = buses.get( name );
+        if (bus == null) {
+            bus = new Bus( name );
+            buses.put( name, bus );
+        }
+        return bus;
+    }
+
+    /**
+     * Pushes the gain of every changed mixer bus to its OpenAL sources.
+     *
+     * This touches each claimed source at most once, however many times the bus
+     * gains changed since the last update.
+     */
+    private void applyBuses() {
+        for(int ii = 0; ii < buffers.length; ii++) {
+            Bus bus = slotBuses[ii];
+            if (buffers[ii] != null && bus != null && bus.dirty) {
+                AL10.alSourcef( indexToSource.get( ii, -1 ), AL10.AL_GAIN, slotGains[ii]*bus.gain );
+            }
+        }
+        for(Bus bus : buses.values()) {
+            bus.dirty = false;
+        }
+        busesDirty = false;
+    }
     
     // #mark OpenAL Source Controls
     /**
      * Returns (and claims) a new OpenAL source for this buffer.
      *
      * The source will be permanently claimed until it is free with the method
-     * freeSource.
+     * freeSource.  Buffers that cannot be evicted (such as music) may steal the
+     * source of any evictable buffer.  Other buffers claim the source at the
+     * default priority.
      *
      * @param sound The buffer to claim this OpenAL source
+     *
+     * @return the claimed OpenAL source, or -1 if there is none available
      */
     protected int obtainSource (OpenALBuffer sound) {
+        return obtainSource( sound, sound.evictable() ? SoundBuffer.DEFAULT_PRIORITY : Integer.MAX_VALUE );
+    }
+
+    /**
+     * Returns (and claims) a new OpenAL source for this buffer at the given priority.
+     *
+     * The source will be permanently claimed until it is free with the method
+     * freeSource.  If there are no free sources, this steals the source of the
+     * evictable buffer with the lowest priority, choosing the oldest claim among
+     * equal priorities.  A source is never stolen from a buffer with a higher
+     * priority than the one given.
+     *
+     * Unclaimed sources are kept on a stack and evictable sources in a heap, so this
+     * method never searches the sources.
+     *
+     * The previous owner of a stolen source is only told of the eviction once the
+     * source is claimed.  So a completion listener may safely play another sound.
+     *
+     * @param sound     The buffer to claim this OpenAL source
+     * @param priority  The priority of the claim (higher is kept longer)
+     *
+     * @return the claimed OpenAL source, or -1 if there is none available
+     */
+    protected int obtainSource (OpenALBuffer sound, int priority) {
         if (noDevice) {
             return 0;
         }
-        
-        // Try to find an available buffer
-        int sourceId = -1;
-        for (int next = (recentIndex + 1) % buffers.length; next != recentIndex && sourceId == -1; next = (next + 1) % buffers.length) {
-            if (buffers[next] == null) {
-                buffers[next] = sound;
-                sourceId = indexToSource.get( next, -1 );
-                recentIndex = next;
+
+        // Steal the lowest priority voice if we have to
+        OpenALBuffer owner = null;
+        if (freeCount == 0) {
+            if (heapSize == 0 || priorities[heap[0]] > priority) {
+                return -1;
             }
+            int victim = heap[0];
+            owner = buffers[victim];
+            stopSource( indexToSource.get( victim, -1 ) );
         }
-        
-        // Try to evict the oldest evictable buffer
-        if (sourceId == -1) {
-            for (int next = (recentIndex + 1) % buffers.length; next != recentIndex && sourceId == -1; next = (next + 1) % buffers.length) {
-                if (buffers[next] != null && buffers[next].evictable()) {
-                    sourceId = indexToSource.get( next, -1 );
-                    stopSource(sourceId);
-                    buffers[next] = sound;
-                    recentIndex = next;
-                }
-            }
+
+        int slot = freeSlots[--freeCount];
+        buffers[slot] = sound;
+        slotBuses[slot] = null;
+        slotGains[slot] = 1;
+        priorities[slot] = priority;
+        stamps[slot] = clock++;
+        if (sound.evictable()) {
+            pushHeap( slot );
+        }
+
+        int sourceId = indexToSource.get( slot, -1 );
+        if (owner != null) {
+            owner.evict( sourceId );
         }
-        
         return sourceId;
     }
     
@@ -521,8 +705,23 @@ public class GDXAudio implements AudioEngine {
 
         AL10.alSourceStop(sourceId);
         AL10.alSourcei(sourceId, AL10.AL_BUFFER, 0);
-        int index = sourceToIndex.get(sourceId, -1);
-        buffers[index] = null;
+        releaseSlot( sourceToIndex.get(sourceId, -1) );
+    }
+
+    /**
+     * Attaches an OpenAL source to a mixer bus, updating its gain.
+     *
+     * This method has no effect if the source id is invalid.
+     *
+     * @param sourceId  The OpenAL source
+     * @param bus       The mixer bus
+     */
+    private void setSourceBus(int sourceId, Bus bus) {
+        if (sourceId != -1 && !noDevice) {
+            int slot = sourceToIndex.get(sourceId, -1);
+            slotBuses[slot] = bus;
+            AL10.alSourcef(sourceId, AL10.AL_GAIN, slotGains[slot]*bus.gain);
+        }
     }
 
     /**
@@ -536,8 +735,121 @@ public class GDXAudio implements AudioEngine {
         if (sourceId != -1 && !noDevice) {
             AL10.alSourceStop(sourceId);
             AL10.alSourcei(sourceId, AL10.AL_BUFFER, 0);
-            buffers[sourceToIndex.get(sourceId,-1)] = null;
+            releaseSlot( sourceToIndex.get(sourceId,-1) );
+        }
+    }
+
+    /**
+     * Returns a claimed source slot to the stack of unclaimed slots.
+     *
+     * This method has no effect if the slot is invalid or unclaimed.
+     *
+     * @param slot  The source slot
+     */
+    private void releaseSlot(int slot) {
+        if (slot < 0 || buffers[slot] == null) {
+            return;
+        }
+        buffers[slot] = null;
+        slotBuses[slot] = null;
+        if (heapIndex[slot] != -1) {
+            removeHeap( slot );
+        }
+        freeSlots[freeCount++] = slot;
+    }
+
+    /**
+     * Returns true if the first slot should be evicted before the second
+     *
+     * A slot is evicted first if it has lower priority or, with equal priority, if
+     * it was claimed earlier.
+     *
+     * @param slot1 The first source slot
+     * @param slot2 The second source slot
+     *
+     * @return true if the first slot should be evicted before the second
+     */
+    private boolean evictsBefore(int slot1, int slot2) {
+        if (priorities[slot1] != priorities[slot2]) {
+            return priorities[slot1] < priorities[slot2];
+        }
+        return stamps[slot1] < stamps[slot2];
+    }
+
+    /**
+     * Adds a source slot to the eviction heap
+     *
+     * @param slot  The source slot
+     */
+    private void pushHeap(int slot) {
+        heap[heapSize] = slot;
+        heapIndex[slot] = heapSize;
+        heapSize++;
+        siftUp( heapSize-1 );
+    }
+
+    /**
+     * Removes a source slot from the eviction heap
+     *
+     * @param slot  The source slot
+     */
+    private void removeHeap(int slot) {
+        int pos = heapIndex[slot];
+        heapIndex[slot] = -1;
+        heapSize--;
+        if (pos == heapSize) {
+            return;
+        }
+        int moved = heap[heapSize];
+        heap[pos] = moved;
+        heapIndex[moved] = pos;
+        siftUp( pos );
+        if (heapIndex[moved] == pos) {
+            siftDown( pos );
+        }
+    }
+
+    /**
+     * Moves the heap entry at the given position up to restore the heap order
+     *
+     * @param pos   The heap position
+     */
+    private void siftUp(int pos) {
+        int slot = heap[pos];
+        while (pos > 0) {
+            int parent = (pos-1)/2;
+            if (!evictsBefore( slot, heap[parent] )) {
+                break;
+            }
+            heap[pos] = heap[parent];
+            heapIndex[heap[pos]] = pos;
+            pos = parent;
+        }
+        heap[pos] = slot;
+        heapIndex[slot] = pos;
+    }
+
+    /**
+     * Moves the heap entry at the given position down to restore the heap order
+     *
+     * @param pos   The heap position
+     */
+    private void siftDown(int pos) {
+        int slot = heap[pos];
+        while (2*pos+1 < heapSize) {
+            int child = 2*pos+1;
+            if (child+1 < heapSize && evictsBefore( heap[child+1], heap[child] )) {
+                child++;
+            }
+            if (!evictsBefore( heap[child], slot )) {
+                break;
+            }
+            heap[pos] = heap[child];
+            heapIndex[heap[pos]] = pos;
+            pos = child;
         }
+        heap[pos] = slot;
+        heapIndex[slot] = pos;
     }
     
     /**
@@ -594,6 +906,7 @@ public class GDXAudio implements AudioEngine {
      * Sets the gain (volume) for an OpenAL source.
      *
      * The gain should be a value between 0 and 1 (though this is not checked).
+     * The gain of the mixer bus of the source is applied on top of this gain.
      * This method has no effect if the source id is invalid.
      *
      * @param sourceId  The OpenAL source
@@ -602,7 +915,10 @@ public class GDXAudio implements AudioEngine {
     public void setSourceGain(int sourceId, float gain) {
         if (sourceId != -1 && !noDevice) {
             gain = Math.max(0,Math.min(gain,1));
-            AL10.alSourcef(sourceId, AL10.AL_GAIN, gain);
+            int slot = sourceToIndex.get(sourceId, -1);
+            slotGains[slot] = gain;
+            Bus bus = slotBuses[slot];
+            AL10.alSourcef(sourceId, AL10.AL_GAIN, bus == null ? gain : gain*bus.gain);
         }
     }
 
@@ -610,6 +926,7 @@ public class GDXAudio implements AudioEngine {
      * Returns the gain (volume) for an OpenAL source.
      *
      * The gain should be a value between 0 and 1 (though this is not checked).
+     * This is the gain of the source itself, without the gain of its mixer bus.
      * This method returns -1.0 if the source id is invalid.
      *
      * @param sourceId  The OpenAL source
@@ -618,7 +935,7 @@ public class GDXAudio implements AudioEngine {
      */
     public float getSourceGain(int sourceId) {
         if (sourceId != -1 && !noDevice) {
-            return AL10.alGetSourcef(sourceId, AL10.AL_GAIN);
+            return slotGains[sourceToIndex.get(sourceId, -1)];
         }
         return -1.0f;
     }
@@ -791,12 +1108,16 @@ public class GDXAudio implements AudioEngine {
      *
      * This method is used to push data to the music buffers, and to invoke
      * any necessary callback functions.  It must be executed in the main
-     * thread.
+     * thread.  If the music buffers are streamed on the audio thread, this
+     * method only invokes their callback functions.
      */
     public void update () {
         if (noDevice) {
             return;
         }
+        if (busesDirty) {
+            applyBuses();
+        }
         for(int ii = 0; ii < buffers.length; ii++) {
             if (buffers[ii] != null) {
                 buffers[ii].update( indexToSource.get(ii, -1) );
@@ -804,6 +1125,29 @@ public class GDXAudio implements AudioEngine {
         }
     }
 
+    /**
+     * This class is a named mixer bus
+     *
+     * The gain of a bus is applied to every OpenAL source attached to it.
+     */
+    private static class Bus {
+        /** The name of this bus */
+        final String name;
+        /** The gain of this bus */
+        float gain = 1;
+        /** Whether the gain changed since the last update */
+        boolean dirty;
+
+        /**
+         * Creates a mixer bus with the given name and unit gain
+         *
+         * @param name  The name of this bus
+         */
+        Bus(String name) {
+            this.name = name;
+        }
+    }
+
     // #mark -
     // #mark Sound Buffer
     /**
@@ -836,6 +1180,17 @@ public class GDXAudio implements AudioEngine {
         private IntMap<Long>     sourceToSound;
         /** The next logical sound id to use */
         private long nextSound = 0;
+
+        /** The maximum number of simultaneous instances (0 for no limit) */
+        private int maxInstances = 0;
+        /** The minimum time between instances starting in nanoseconds */
+        private long retriggerNanos = 0;
+        /** Whether to restart the oldest instance (instead of dropping) at the limit */
+        private boolean restartOldest = false;
+        /** The time the last instance started in nanoseconds (-1 for never) */
+        private long lastTrigger = -1;
+        /** The mixer bus of this sound */
+        private Bus bus = obtainBus( EFFECTS_BUS );
         
         /**
          * Creates a new sound handle from the given source
@@ -915,12 +1270,34 @@ public class GDXAudio implements AudioEngine {
          */
         @Override
         public long play(float volume) {
-            int sourceId = obtainSource(this);
+            return play(volume, DEFAULT_PRIORITY);
+        }
+
+        /** 
+         * Plays an instance of this sound at the given volume and priority.
+         *
+         * If the sound is already playing, it will be played again, concurrently.
+         * If there are no free OpenAL sources, this instance replaces the oldest
+         * instance with the lowest priority, provided that priority is not higher
+         * than this one.
+         *
+         * @param volume    The volume in the range [0,1]
+         * @param priority  The priority of this instance (higher is kept longer)
+         *
+         * @return the id of the sound instance if successful, or -1 on failure. 
+         */
+        @Override
+        public long play(float volume, int priority) {
+            if (!admit()) {
+                return -1;
+            }
+            int sourceId = obtainSource(this, priority);
             
             // In case it still didn't work
             if (sourceId == -1) {
                 return -1;
             }
+            lastTrigger = TimeUtils.nanoTime();
             
             Long oldSoundId = sourceToSound.remove(sourceId);
             if (oldSoundId != null) {
@@ -933,7 +1310,8 @@ public class GDXAudio implements AudioEngine {
             
             AL10.alSourcei(sourceId, AL10.AL_BUFFER, bufferId);
             AL10.alSourcei(sourceId, AL10.AL_LOOPING, AL10.AL_FALSE);
-            AL10.alSourcef(sourceId, AL10.AL_GAIN, volume);
+            setSourceBus(sourceId, bus);
+            setSourceGain(sourceId, volume);
             if (globalPause) {
                 paused[sourceToIndex.get(sourceId, -1)] = true;
             } else {
@@ -994,12 +1372,37 @@ public class GDXAudio implements AudioEngine {
          */
         @Override
         public long loop(float volume) {
-            int sourceId = obtainSource(this);
+            return loop(volume, DEFAULT_PRIORITY);
+        }
+
+        /** 
+         * Plays an instance of this sound on a continuous loop at the given priority.
+         *
+         * This sound will not stop playing until it is explicitly stopped or 
+         * the looping attribute is set to false.
+         *
+         * If the sound is already playing, it will be played again, concurrently.
+         * If there are no free OpenAL sources, this instance replaces the oldest
+         * instance with the lowest priority, provided that priority is not higher
+         * than this one.
+         *
+         * @param volume    The volume in the range [0,1]
+         * @param priority  The priority of this instance (higher is kept longer)
+         *
+         * @return the id of the sound instance if successful, or -1 on failure. 
+         */
+        @Override
+        public long loop(float volume, int priority) {
+            if (!admit()) {
+                return -1;
+            }
+            int sourceId = obtainSource(this, priority);
             
             // In case it still didn't work
             if (sourceId == -1) {
                 return -1;
             }
+            lastTrigger = TimeUtils.nanoTime();
             
             Long oldSoundId = sourceToSound.remove(sourceId);
             if (oldSoundId != null) {
@@ -1012,7 +1415,8 @@ public class GDXAudio implements AudioEngine {
             
             AL10.alSourcei(sourceId, AL10.AL_BUFFER, bufferId);
             AL10.alSourcei(sourceId, AL10.AL_LOOPING, AL10.AL_TRUE);
-            AL10.alSourcef(sourceId, AL10.AL_GAIN, volume);
+            setSourceBus(sourceId, bus);
+            setSourceGain(sourceId, volume);
             if (globalPause) {
                 paused[sourceToIndex.get(sourceId, -1)] = true;
             } else {
@@ -1204,6 +1608,158 @@ public class GDXAudio implements AudioEngine {
             setSourceGain(id, volume);
         }
 
+        // #mark Mixer Bus
+        /**
+         * Sets the mixer bus of this sound.
+         *
+         * The gain of the bus scales the volume of every instance of this sound,
+         * including those already playing.
+         *
+         * @param name  The name of the mixer bus
+         */
+        @Override
+        public void setBus(String name) {
+            bus = obtainBus( name );
+            for(IntMap.Entry<Long> entry : sourceToSound.entries()) {
+                if (owns( entry.key )) {
+                    setSourceBus( entry.key, bus );
+                }
+            }
+        }
+
+        /**
+         * Returns the mixer bus of this sound.
+         *
+         * @return the mixer bus of this sound.
+         */
+        @Override
+        public String getBus() {
+            return bus.name;
+        }
+
+        // #mark Voice Limits
+        /**
+         * Sets the maximum number of instances of this sound playing at once.
+         *
+         * When that many instances are playing, a new instance either replaces the oldest
+         * one or is not played at all (see {@link #setLimitBehavior}).  A value of 0 means
+         * that there is no limit (other than the capacity of the audio engine).
+         *
+         * @param max   The maximum number of simultaneous instances (0 for no limit)
+         */
+        @Override
+        public void setMaxInstances(int max) {
+            maxInstances = Math.max( 0, max );
+        }
+
+        /**
+         * Returns the maximum number of instances of this sound playing at once.
+         *
+         * A value of 0 means that there is no limit (other than the capacity of the 
+         * audio engine).
+         *
+         * @return the maximum number of instances of this sound playing at once.
+         */
+        @Override
+        public int getMaxInstances() {
+            return maxInstances;
+        }
+
+        /**
+         * Sets the minimum time between two instances of this sound starting.
+         *
+         * Any attempt to play this sound sooner than this after the last successful one
+         * is ignored (returning -1).  A value of 0 means there is no minimum.
+         *
+         * @param seconds   The minimum time between instances in seconds
+         */
+        @Override
+        public void setRetriggerInterval(float seconds) {
+            retriggerNanos = (long)(Math.max( 0, seconds ) * 1000000000L);
+        }
+
+        /**
+         * Returns the minimum time between two instances of this sound starting.
+         *
+         * A value of 0 means there is no minimum.
+         *
+         * @return the minimum time between two instances of this sound starting.
+         */
+        @Override
+        public float getRetriggerInterval() {
+            return retriggerNanos / 1000000000.0f;
+        }
+
+        /**
+         * Sets what to do with a new instance when the maximum is already playing.
+         *
+         * If restart is true, the oldest instance is stopped (and reported as completed)
+         * to make room for the new one.  Otherwise the new instance is dropped.
+         *
+         * @param restart   Whether to restart the oldest instance instead of dropping
+         */
+        @Override
+        public void setLimitBehavior(boolean restart) {
+            restartOldest = restart;
+        }
+
+        /**
+         * Returns true if a new instance restarts the oldest when the maximum is playing.
+         *
+         * If this is false, the new instance is dropped instead.
+         *
+         * @return true if a new instance restarts the oldest when the maximum is playing.
+         */
+        @Override
+        public boolean getLimitBehavior() {
+            return restartOldest;
+        }
+
+        /**
+         * Returns true if a new instance may start now, making room for it if necessary.
+         *
+         * This enforces the retrigger interval and the instance limit.  If the limit is
+         * reached and the behavior is to restart, the oldest instance is stopped.  Sound
+         * ids increase over time, so the oldest instance has the smallest id.  Only
+         * instances whose source still belongs to this buffer count toward the limit.
+         *
+         * @return true if a new instance may start now
+         */
+        private boolean admit() {
+            if (retriggerNanos > 0 && lastTrigger != -1 && TimeUtils.nanoTime()-lastTrigger < retriggerNanos) {
+                return false;
+            }
+            if (maxInstances > 0 && soundToSource.size >= maxInstances) {
+                int playing = 0;
+                long oldest = Long.MAX_VALUE;
+                for(LongMap.Entry<Integer> entry : soundToSource.entries()) {
+                    if (owns( entry.value )) {
+                        playing++;
+                        oldest = Math.min( oldest, entry.key );
+                    }
+                }
+                if (playing >= maxInstances) {
+                    if (!restartOldest) {
+                        return false;
+                    }
+                    stop( oldest );
+                }
+            }
+            return true;
+        }
+
+        /**
+         * Returns true if the given OpenAL source is still claimed by this buffer
+         *
+         * @param sourceId  The OpenAL source
+         *
+         * @return true if the given OpenAL source is still claimed by this buffer
+         */
+        private boolean owns(int sourceId) {
+            int slot = sourceToIndex.get( sourceId, -1 );
+            return slot != -1 && buffers[slot] == this;
+        }
+
         // #mark Sound Buffer API
         /**
          * Returns the file that generated this asset.
@@ -1399,8 +1955,14 @@ public class GDXAudio implements AudioEngine {
          * Updates all OpenAL sources for this buffer
          */ 
         public void update() {
-            for(IntMap.Entry<Long> entry : sourceToSound.entries()) {
-                update(entry.key);
+            if (noDevice) {
+                return;
+            }
+            // Finished instances are removed from the maps, so walk the slots instead
+            for(int ii = 0; ii < buffers.length; ii++) {
+                if (buffers[ii] == this) {
+                    update( indexToSource.get( ii, -1 ) );
+                }
             }
         }
         
@@ -1413,8 +1975,9 @@ public class GDXAudio implements AudioEngine {
         public void update(int sourceId) {
             int state  = AL10.alGetSourcei(sourceId, AL10.AL_SOURCE_STATE);
             if (state != AL10.AL_PLAYING && state != AL10.AL_PAUSED) {
-                Long soundId = sourceToSound.get(sourceId);
+                Long soundId = sourceToSound.remove(sourceId);
                 if (soundId != null) {
+                    soundToSource.remove(soundId);
                     stopSource(sourceId);
                     if (onCompletionListener != null) {
                         onCompletionListener.onCompletion( this, soundId );
@@ -1431,14 +1994,32 @@ public class GDXAudio implements AudioEngine {
          * @return whether this buffer can be evicted from is current OpenAL source
          */
         @Override
-           public boolean evictable() {
+        public boolean evictable() {
             return true;
-        } 
-    }
-    
-    // #mark -
-    // #mark Music Buffer
-    /**
+        }
+
+        /**
+         * Releases the given OpenAL source, which was stolen for another buffer
+         *
+         * The instance on that source is treated as completed.
+         *
+         * @param sourceId  The OpenAL source
+         */
+        @Override
+        public void evict(int sourceId) {
+            Long soundId = sourceToSound.remove(sourceId);
+            if (soundId != null) {
+                soundToSource.remove(soundId);
+                if (onCompletionListener != null) {
+                    onCompletionListener.onCompletion( this, soundId );
+                }
+            }
+        }
+    }
+    
+    // #mark -
+    // #mark Music Buffer
+    /**
      * This class implements a music buffer for this audio engine
      *
      * OpenAL music buffers obtain a lock on an OpenAL source, so they must be an inner 
@@ -1457,16 +2038,22 @@ public class GDXAudio implements AudioEngine {
     private class MusicHandle extends OpenALMusic implements MusicBuffer, OpenALBuffer {
         /** The minimum allowable buffer size (mandated by the simple MP3 decoder) */
         private static final int MINIMUM_SIZE = 16384;
-        /** The (maximum) size of an individual OpenAL buffer */
-        private final int bufferSize = Math.max(MINIMUM_SIZE,deviceBufferSize);
+        /** The (maximum) size of an individual OpenAL buffer (whole stereo samples) */
+        private final int bufferSize = Math.max(MINIMUM_SIZE,musicBufferSize) & ~3;
         /** The number of buffers to use for music */
-        private final int bufferCount = 3;
+        private final int bufferCount = musicBufferCount;
         /** The number of bytes per sample (fixed in OpenAL) */
         private final int bytesPerSample = 2;
         /** An array for reading bytes from the stream */
         private final byte[] tempBytes  = new byte[bufferSize];
         /** A native buffer for sending data to OpenAL */
         private final ByteBuffer tempBuffer = BufferUtils.createByteBuffer( bufferSize );
+        /** A view of tempBuffer for sending mixed stems to OpenAL */
+        private final ShortBuffer tempShorts = tempBuffer.asShortBuffer();
+        /** The OpenAL buffers unqueued by a refill, waiting to be decoded */
+        private final int[] refillIds = new int[bufferCount];
+        /** The number of audio samples in a block of mixed stems */
+        private final int blockSize = bufferSize/bytesPerSample;
         
         /** The current locked source id (or -1 for none) */
         private int sourceId = -1;
@@ -1508,6 +2095,29 @@ public class GDXAudio implements AudioEngine {
         private long renderedBytes = 0;
         /** A recently deleted audio sample (for delayed callback notifications) */
         private AudioSource orphaned;
+
+        /** Whether the sources play together as synchronized stems */
+        private boolean stemMode;
+        /** The gain of each stem (in sync with the source queue) */
+        private FloatArray stemGains;
+        /** The decoded samples of each stem not yet mixed (null until needed) */
+        private short[][] stemPending;
+        /** The number of samples in each pending stem buffer */
+        private int[] stemCounts;
+        /** Whether each stem has reached the end of its stream */
+        private boolean[] stemDone;
+        /** An array for reading samples from a single stem */
+        private short[] stemChunk;
+        /** The sum of the stems for the current block, before clamping */
+        private float[] mixSums;
+        /** The mixed samples of the current block */
+        private short[] mixSamples;
+        /** The cumulative position of the last mixed audio sample in bytes */
+        private long mixedBytes;
+        /** The array most recently passed to {@link #read} in stem mode */
+        private byte[] readBytes;
+        /** A native-order view of readBytes for copying out mixed stems */
+        private ShortBuffer readShorts;
         
         /** The first OpenAL buffer values */
         private int bufferStart = 0;
@@ -1522,6 +2132,18 @@ public class GDXAudio implements AudioEngine {
         private OnCompletionListener onCompletionListener = null;
         /** A callback function for queue transitions */
         private OnTransitionListener onTransitionListener = null;
+
+        /** The sources left by transitions not yet reported (null for a loopback) */
+        private Array<AudioSource> pendingLeaving;
+        /** The sources reached by transitions not yet reported */
+        private Array<AudioSource> pendingArriving;
+        /** Whether the end of the stream has been reached but not yet reported */
+        private boolean pendingEnd;
+        /** Whether a refill is decoding outside of the lock on this buffer */
+        private boolean decoding;
+
+        /** The mixer bus of this music buffer */
+        private Bus bus = obtainBus( MUSIC_BUS );
         
         /**
          * Creates a new music buffer with the given properties.
@@ -1543,6 +2165,9 @@ public class GDXAudio implements AudioEngine {
             this.sampleRate = sampleRate;
             samples = new Array<AudioSource>();
             streams = new Array<AudioStream>();
+            stemGains = new FloatArray();
+            pendingLeaving  = new Array<AudioSource>();
+            pendingArriving = new Array<AudioSource>();
             position = -1;
             allocBuffers();
         }
@@ -1571,6 +2196,7 @@ public class GDXAudio implements AudioEngine {
             
             samples.add(sample);
             streams.add(sample.getStream());
+            stemGains.add(1.0f);
             position = 0;
         }
 
@@ -1648,6 +2274,10 @@ public class GDXAudio implements AudioEngine {
             
             samples.clear();
             streams.clear();
+            stemGains.clear();
+            stemPending = null;
+            readBytes  = null;
+            readShorts = null;
             
             onCompletionListener = null;
             onTransitionListener = null;
@@ -1671,12 +2301,16 @@ public class GDXAudio implements AudioEngine {
                 
                 position = 0;
                 setSourceLoop( sourceId, false );
+                setSourceBus( sourceId, bus );
                 setPan( pan, volume );
                 
                 boolean filled = initBuffers();
                 if (!filled && onCompletionListener != null) {
                     onCompletionListener.onCompletion( this );
                 }
+                if (streamer != null && sourceId != -1) {
+                    streamer.attach( this );
+                }
             }
             if (!isPlaying) {
                 if (globalPause) {
@@ -1730,12 +2364,19 @@ public class GDXAudio implements AudioEngine {
          */
         @Override
         public synchronized void stop() {
+            awaitDecode();
             if (sourceId != -1) {
+                if (streamer != null) {
+                    streamer.detach( this );
+                }
                 reset();
                 freeSource( sourceId );
                 sourceId = -1;
                 isPlaying = false;
             }
+            pendingLeaving.clear();
+            pendingArriving.clear();
+            pendingEnd = false;
         }
 
         /**
@@ -1839,6 +2480,7 @@ public class GDXAudio implements AudioEngine {
          */ 
         @Override
         public synchronized void setPosition(float seconds) {
+            awaitDecode();
             // The original renderedSeconds implementation was a mess.
             // If you want to seek in a stream, seek in the damn stream.
             // Use renderedSeconds only for getting
@@ -1855,40 +2497,45 @@ public class GDXAudio implements AudioEngine {
             long bytesPerFrame = (format == AL10.AL_FORMAT_MONO16 ? bytesPerSample : 2*bytesPerSample);
             long byteOffs = ((long)(seconds*sampleRate))*bytesPerFrame;
             
-            // Find the sample that has that byte position
-            int location = 0;
-            while(location < samples.size && byteOffs >= streams.get(location).getByteSize()) {
-                 byteOffs -= streams.get(location).getByteSize();
-                 location++;
-            }
+            boolean filled = false;
+            if (stemMode) {
+                seekStems( byteOffs );
+                filled = initBuffers();
+            } else {
+                // Find the sample that has that byte position
+                int location = 0;
+                while(location < samples.size && byteOffs >= streams.get(location).getByteSize()) {
+                     byteOffs -= streams.get(location).getByteSize();
+                     location++;
+                }
             
-            if (location != position) {
-                streams.get(position).reset();
-                position = location;
-            }
+                if (location != position) {
+                    streams.get(position).reset();
+                    position = location;
+                }
             
-            // Fill buffers starting at that position
-            boolean filled = false;
-            if (position < streams.size) {
-                int length = 0;
-                length = streams.get( position ).seek(byteOffs, tempBytes );
-                if (length > 0) {
-                    int bufferId = obtainBuffer();
-                    tempBuffer.clear();
-                    tempBuffer.put( tempBytes, 0, length ).flip();
-                    AL10.alBufferData( bufferId, format, tempBuffer, sampleRate );
-                    AL10.alSourceQueueBuffers( sourceId, bufferId );
+                // Fill buffers starting at that position
+                if (position < streams.size) {
+                    int length = 0;
+                    length = streams.get( position ).seek(byteOffs, tempBytes );
+                    if (length > 0) {
+                        int bufferId = obtainBuffer();
+                        tempBuffer.clear();
+                        tempBuffer.put( tempBytes, 0, length ).flip();
+                        AL10.alBufferData( bufferId, format, tempBuffer, sampleRate );
+                        AL10.alSourceQueueBuffers( sourceId, bufferId );
                     
-                    int error = AL10.alGetError();
-                    if (error != AL10.AL_NO_ERROR) {
-                        Gdx.app.error("OpenAL", "Stream seek position failed: "+AL10.alGetString(error));
-                        stop();
-                    } else {
-                        initBuffers();
-                        filled = true;
+                        int error = AL10.alGetError();
+                        if (error != AL10.AL_NO_ERROR) {
+                            Gdx.app.error("OpenAL", "Stream seek position failed: "+AL10.alGetString(error));
+                            stop();
+                        } else {
+                            initBuffers();
+                            filled = true;
+                        }
+                     } else {
+                        filled = initBuffers();
                     }
-                 } else {
-                    filled = initBuffers();
                 }
             }
             
@@ -1985,7 +2632,11 @@ public class GDXAudio implements AudioEngine {
         public synchronized float getDuration() {
             long totalBytes = 0;
             for(int ii = 0; ii < streams.size; ii++) {
-                totalBytes += streams.get(ii).getByteSize();
+                if (stemMode) {
+                    totalBytes = Math.max( totalBytes, streams.get(ii).getByteSize() );
+                } else {
+                    totalBytes += streams.get(ii).getByteSize();
+                }
             }
             return totalBytes/(float)(sampleRate*(format == AL10.AL_FORMAT_MONO16 ? bytesPerSample: 2*bytesPerSample));
         }
@@ -2077,6 +2728,98 @@ public class GDXAudio implements AudioEngine {
             return loopLocal;
         }
 
+        /**
+         * Sets whether the sources of this buffer play together as synchronized stems.
+         *
+         * By default, the sources of a music buffer form a queue, and are played one
+         * after the other.  In stem mode, all of the sources play at the same time,
+         * mixed together according to the gain of each stem ({@link #setStemVolume}).
+         * The stems are decoded in lockstep through small rotating buffers, so they
+         * never drift apart, no matter how many times they loop.  A stem that is
+         * shorter than the others is padded with silence, so that all of the stems
+         * loop together.  The duration of the buffer is that of the longest stem.
+         *
+         * In stem mode, there is no queue to navigate.  The methods {@link #advanceSource},
+         * {@link #jumpToSource} and {@link #reset} all restart every stem from the
+         * beginning, as does any change to the sources. This setting should be changed
+         * only when the buffer is stopped.
+         *
+         * @param stems Whether the sources play together as synchronized stems
+         */
+        public synchronized void setStemMode(boolean stems) {
+            awaitDecode();
+            stemMode = stems;
+            restartStems();
+        }
+
+        /**
+         * Returns true if the sources of this buffer play together as synchronized stems.
+         *
+         * By default, the sources of a music buffer form a queue, and are played one
+         * after the other.  In stem mode, all of the sources play at the same time,
+         * mixed together according to the gain of each stem ({@link #setStemVolume}).
+         *
+         * @return true if the sources of this buffer play together as synchronized stems.
+         */
+        public synchronized boolean isStemMode() {
+            return stemMode;
+        }
+
+        /**
+         * Sets the gain of the stem at the given queue position.
+         *
+         * This gain is applied when the stems are mixed together, before the volume of
+         * the buffer as a whole.  A stem with a gain of 0 is still decoded, so that it
+         * stays in sync with the others.  As mixed audio is queued ahead of playback,
+         * the change is heard after a short delay. This setting has no effect if the
+         * buffer is not in stem mode.
+         *
+         * @param pos       The position in the source queue
+         * @param volume    The stem gain in the range [0,1]
+         */
+        public synchronized void setStemVolume(int pos, float volume) {
+            stemGains.set( pos, volume );
+        }
+
+        /**
+         * Returns the gain of the stem at the given queue position.
+         *
+         * This gain is applied when the stems are mixed together, before the volume of
+         * the buffer as a whole.  Each stem has a gain of 1 when it is added.
+         *
+         * @param pos       The position in the source queue
+         *
+         * @return the gain of the stem at the given queue position.
+         */
+        public synchronized float getStemVolume(int pos) {
+            return stemGains.get( pos );
+        }
+
+        // #mark Mixer Bus
+        /**
+         * Sets the mixer bus of this music buffer.
+         *
+         * The gain of the bus scales the volume of this buffer, taking effect
+         * immediately if it is playing.
+         *
+         * @param name  The name of the mixer bus
+         */
+        @Override
+        public synchronized void setBus(String name) {
+            bus = obtainBus( name );
+            setSourceBus( sourceId, bus );
+        }
+
+        /**
+         * Returns the mixer bus of this music buffer.
+         *
+         * @return the mixer bus of this music buffer.
+         */
+        @Override
+        public String getBus() {
+            return bus.name;
+        }
+
         /**
          * Returns the number of audio sources in this buffer
          *
@@ -2134,8 +2877,12 @@ public class GDXAudio implements AudioEngine {
             if (source.getSampleRate() != sampleRate || format != nformat) {
                 throw new IllegalArgumentException("Source "+source+" does not match the format of this music buffer.");
             }
+            awaitDecode();
             samples.set(pos,source);
             streams.set(pos,source.getStream());
+            if (stemMode) {
+                restartStems();
+            }
         }
 
         /**
@@ -2156,8 +2903,13 @@ public class GDXAudio implements AudioEngine {
             if (source.getSampleRate() != sampleRate || format != nformat) {
                 throw new IllegalArgumentException("Source "+source+" does not match the format of this music buffer.");
             }
+            awaitDecode();
             samples.add(source);
             streams.add(source.getStream());
+            stemGains.add(1.0f);
+            if (stemMode) {
+                restartStems();
+            }
         }
 
         /**
@@ -2179,11 +2931,16 @@ public class GDXAudio implements AudioEngine {
             if (source.getSampleRate() != sampleRate || format != nformat) {
                 throw new IllegalArgumentException("Source "+source+" does not match the format of this music buffer.");
             }
+            awaitDecode();
             samples.insert(pos,source);
             streams.insert(pos,source.getStream());
+            stemGains.insert(pos,1.0f);
             if (pos < position) {
                 position++;
             }
+            if (stemMode) {
+                restartStems();
+            }
         }
 
         /**
@@ -2202,11 +2959,17 @@ public class GDXAudio implements AudioEngine {
          */
         @Override
         public synchronized AudioSource removeSource(int pos) {
+            awaitDecode();
             if (position == pos) {
                 orphaned = samples.get(pos);
             }
             streams.removeIndex(pos);
-            return samples.removeIndex( pos );
+            stemGains.removeIndex(pos);
+            AudioSource result = samples.removeIndex( pos );
+            if (stemMode) {
+                restartStems();
+            }
+            return result;
         }
 
         /**
@@ -2217,8 +2980,11 @@ public class GDXAudio implements AudioEngine {
          */
         @Override
         public synchronized void clearSources() {
+            awaitDecode();
             streams.clear();
             samples.clear();
+            stemGains.clear();
+            stemPending = null;
         }
 
         /**
@@ -2255,6 +3021,7 @@ public class GDXAudio implements AudioEngine {
             if (steps < 0) {
                 throw new IllegalArgumentException("Advance may not move backwards");
             } 
+            awaitDecode();
             
             boolean wasPlaying = false;
             boolean filled = false;
@@ -2265,7 +3032,9 @@ public class GDXAudio implements AudioEngine {
                 unqueueBuffers();
             }
             
-            if (steps == 0 && position >= 0 && position < streams.size) {
+            if (stemMode) {
+                reset();
+            } else if (steps == 0 && position >= 0 && position < streams.size) {
                 streams.get(position).reset();
             } else {
                 if (position >= 0 && position < streams.size) {
@@ -2312,6 +3081,7 @@ public class GDXAudio implements AudioEngine {
          */
         @Override
         public synchronized void jumpToSource(int pos) {
+            awaitDecode();
             if (pos < 0) {
                 pos = 0;
             } else if (pos >= streams.size) {
@@ -2359,10 +3129,28 @@ public class GDXAudio implements AudioEngine {
          */
         @Override
         public synchronized void reset() {
+            awaitDecode();
+            rewind();
+        }
+
+        /**
+         * Rewinds every stream to the very beginning.
+         *
+         * Unlike {@link #reset}, this method does not wait on the decoders, so it is
+         * safe to call while decoding.
+         */
+        private void rewind() {
             for(AudioStream stream : streams) {
                 stream.reset();
             }
             position = streams.size > 0 ? 0 : -1;
+            if (stemPending != null) {
+                for(int ii = 0; ii < stemCounts.length; ii++) {
+                    stemCounts[ii] = 0;
+                    stemDone[ii] = false;
+                }
+            }
+            mixedBytes = 0;
         }
 
         // #mark OpenAL Buffer API
@@ -2376,61 +3164,143 @@ public class GDXAudio implements AudioEngine {
         /**
          * Updates the given OpenAL source with the data from this buffer
          *
+         * This refills the buffer queue, unless that is done by the audio thread.  It
+         * then invokes any callback functions for the transitions (and the end of the
+         * stream) reached since the last update, so that callbacks are always in the
+         * main thread.
+         *
          * @param sourceId  The OpenAL source
          */
         public synchronized void update(int sourceId) {
-            if (sourceId != -1) {
-                boolean end = false;
+            if (streamer == null) {
+                refill();
+            }
+
+            if (onTransitionListener != null) {
+                for(int ii = 0; ii < pendingArriving.size; ii++) {
+                    AudioSource from = pendingLeaving.get( ii );
+                    AudioSource to = pendingArriving.get( ii );
+                    if (from != null) {
+                        onTransitionListener.onTransition( this, from, to );
+                    } else {
+                        onTransitionListener.onLoopback( this, to );
+                    }
+                }
+            }
+            pendingLeaving.clear();
+            pendingArriving.clear();
+
+            if (pendingEnd) {
+                stop();
+                if (onTransitionListener != null) {
+                    onTransitionListener.onCompletion( this, samples.get( samples.size - 1 ) );
+                }
+                if (onCompletionListener != null) {
+                    onCompletionListener.onCompletion( this );
+                }
+            }
+        }
+
+        /**
+         * Refills the buffer queue of the OpenAL source for this buffer
+         *
+         * Every processed OpenAL buffer is filled with new data and queued again.  The
+         * transitions reached (and the end of the stream) are recorded for the next
+         * call to {@link #update(int)}.  If the source stopped because the queue ran
+         * dry, it is restarted.
+         *
+         * The processed buffers are decoded without holding the lock on this buffer,
+         * so that mixing the stems never blocks the music methods.  The lock is only
+         * held to unqueue and queue the buffers and to record the pending state.  In
+         * the meantime, any method that touches the decoders waits in {@link #awaitDecode}.
+         *
+         * This method may be called from the audio thread.  It must not touch the
+         * source allocation of the engine or invoke any callback functions.
+         */
+        private void refill() {
+            int count = 0;
+            synchronized (this) {
+                if (sourceId == -1 || pendingEnd) {
+                    return;
+                }
+
                 int buffers = AL10.alGetSourcei( sourceId, AL10.AL_BUFFERS_PROCESSED );
                 while (buffers-- > 0) {
                     int bufferId = AL10.alSourceUnqueueBuffers( sourceId );
                     if (bufferId == AL10.AL_INVALID_VALUE) {
                         Gdx.app.error( "OpenAL", "Invalid buffer for music "+this );
-                        return;
+                        break;
                     }
-                    
+
                     int offset = bufferId-bufferStart;
                     renderedBytes = byteoffs[offset];
                     usedBuffers.put( bufferId, 0 );
                     bufferAvail++;
-                    
-                    if (!end) {
-                        if (fill( bufferId )) {
-                            AL10.alSourceQueueBuffers( sourceId, bufferId );
-                            if (onTransitionListener != null) {
-                                if (arriving[offset] != null) {
-                                    if (leaving[offset] != null) {
-                                        onTransitionListener.onTransition( this, leaving[offset], arriving[offset] );
-                                    } else {
-                                        onTransitionListener.onLoopback( this, arriving[offset] );
-                                    }
-                                }
-                            }
-                        } else {
-                            end = true;
-                        }
-                    }
                     leaving[offset]  = null;
                     arriving[offset] = null;
+                    refillIds[count++] = bufferId;
                 }
-                
-                if (end && AL10.alGetSourcei( sourceId, AL10.AL_BUFFERS_QUEUED ) == 0) {
-                    stop();
-                    if (onTransitionListener != null) {
-                        onTransitionListener.onCompletion( this, samples.get( samples.size - 1 ) );
+                decoding = count > 0;
+            }
+
+            boolean end = false;
+            int filled = 0;
+            try {
+                while (!end && filled < count) {
+                    if (fill( refillIds[filled] )) {
+                        filled++;
+                    } else {
+                        end = true;
                     }
-                    if (onCompletionListener != null) {
-                        onCompletionListener.onCompletion( this );
+                }
+            } finally {
+                // Queue whatever was decoded, so no music method is left waiting
+                synchronized (this) {
+                    decoding = false;
+                    notifyAll();
+
+                    for(int ii = 0; ii < filled; ii++) {
+                        int offset = refillIds[ii]-bufferStart;
+                        AL10.alSourceQueueBuffers( sourceId, refillIds[ii] );
+                        if (onTransitionListener != null && arriving[offset] != null) {
+                            pendingLeaving.add( leaving[offset] );
+                            pendingArriving.add( arriving[offset] );
+                        }
                     }
-                } else if (isPlaying && AL10.alGetSourcei( sourceId, AL10.AL_SOURCE_STATE ) != AL10.AL_PLAYING) {
-                    if (!globalPause) {
-                        // A buffer underflow will cause the source to stop.
-                        AL10.alSourcePlay( sourceId );
+
+                    if (end && AL10.alGetSourcei( sourceId, AL10.AL_BUFFERS_QUEUED ) == 0) {
+                        pendingEnd = true;
+                    } else if (isPlaying && AL10.alGetSourcei( sourceId, AL10.AL_SOURCE_STATE ) != AL10.AL_PLAYING) {
+                        if (!globalPause) {
+                            // A buffer underflow will cause the source to stop.
+                            AL10.alSourcePlay( sourceId );
+                        }
                     }
                 }
             }
         }
 
+        /**
+         * Waits for a refill in the audio thread to finish decoding.
+         *
+         * A refill decodes without holding the lock on this buffer (see {@link #refill}).
+         * Any method that touches the decoders or the stem mix must call this first,
+         * while holding the lock.
+         */
+        private void awaitDecode() {
+            boolean interrupted = false;
+            while (decoding) {
+                try {
+                    wait();
+                } catch (InterruptedException ex) {
+                    interrupted = true;
+                }
+            }
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
         /**
          * Returns whether this buffer can be evicted from is current OpenAL source
          *
@@ -2438,10 +3308,23 @@ public class GDXAudio implements AudioEngine {
          *
          * @return whether this buffer can be evicted from is current OpenAL source
          */
+        @Override
         public boolean evictable() {
             return false;
         }
 
+        /**
+         * Releases the given OpenAL source, which was stolen for another buffer
+         *
+         * Music buffers are never evicted, so this method does nothing.
+         *
+         * @param sourceId  The OpenAL source
+         */
+        @Override
+        public void evict(int sourceId) {
+            // Never evicted
+        }
+
         // #mark OpenAL Music API
         /**
          * Returns the number of audio channels in this stream.
@@ -2476,8 +3359,23 @@ public class GDXAudio implements AudioEngine {
          */
         @Override
         public synchronized int read(byte[] buffer) {
+            awaitDecode();
             int length = 0;
-            if (position >= 0 && position < streams.size) {
+            if (stemMode) {
+                int limit = Math.min( blockSize, buffer.length/bytesPerSample );
+                length = mixStems( limit );
+                if (length <= 0 && isLooping) {
+                    reset();
+                    length = mixStems( limit );
+                }
+                if (readBytes != buffer) {
+                    readBytes  = buffer;
+                    readShorts = ByteBuffer.wrap( buffer ).order( ByteOrder.nativeOrder() ).asShortBuffer();
+                }
+                readShorts.clear();
+                readShorts.put( mixSamples, 0, length );
+                return length*bytesPerSample;
+            } else if (position >= 0 && position < streams.size) {
                 length = streams.get(position).read( tempBytes );
                 int previous = position;
                 if (length <= 0 && isLooping && loopLocal) {
@@ -2538,6 +3436,9 @@ public class GDXAudio implements AudioEngine {
          */
         private boolean fill(int bufferID) {
             tempBuffer.clear();
+            if (stemMode) {
+                return fillStems( bufferID );
+            }
             int length = 0;
             if (orphaned != null) {
                 leaving[bufferID-bufferStart]  = orphaned;
@@ -2561,7 +3462,7 @@ public class GDXAudio implements AudioEngine {
                     length = streams.get(position).read( tempBytes );
                 }
                 if (length <= 0 && isLooping) {
-                    reset();
+                    rewind();
                     position = -1;
                     while (length <= 0 && position <= previous) {
                         position++;
@@ -2589,6 +3490,154 @@ public class GDXAudio implements AudioEngine {
             return true;
         }
 
+        /**
+         * Fills the given OpenAL buffer with the next block of mixed stems.
+         *
+         * If all of the stems have ended and this buffer is looping, every stem is
+         * restarted together. This method returns false to indicate the end of the
+         * stream.
+         *
+         * @param bufferID  The OpenAL buffer to fill
+         */
+        private boolean fillStems(int bufferID) {
+            int offset = bufferID-bufferStart;
+            leaving[offset]  = null;
+            arriving[offset] = null;
+
+            int length = mixStems( blockSize );
+            if (length <= 0 && isLooping && streams.size > 0) {
+                rewind();
+                arriving[offset] = samples.get( 0 );
+                length = mixStems( blockSize );
+            }
+            if (length <= 0) {
+                arriving[offset] = null;
+                return false;
+            }
+
+            byteoffs[offset] = mixedBytes;
+            tempShorts.clear();
+            tempShorts.put( mixSamples, 0, length );
+            tempBuffer.limit( length*bytesPerSample );
+            AL10.alBufferData( bufferID, format, tempBuffer, sampleRate );
+            return true;
+        }
+
+        /**
+         * Mixes the next block of all stems into mixSamples.
+         *
+         * Each stem is decoded into its own pending buffer until it has a full block
+         * (decoders do not return pages of a fixed size).  Every stem then gives up
+         * the same number of samples to the mix, so the stems stay in lockstep.  A
+         * stem that has ended contributes silence. This method returns 0 once every
+         * stem has ended.
+         *
+         * @param limit The maximum number of samples to mix
+         *
+         * @return the number of samples mixed
+         */
+        private int mixStems(int limit) {
+            if (stemPending == null) {
+                allocStems();
+            }
+
+            int length = 0;
+            for(int ii = 0; ii < streams.size; ii++) {
+                short[] pending = stemPending[ii];
+                int count = stemCounts[ii];
+                while (count < limit && !stemDone[ii]) {
+                    int read = streams.get(ii).read( stemChunk );
+                    if (read <= 0) {
+                        stemDone[ii] = true;
+                    } else {
+                        System.arraycopy( stemChunk, 0, pending, count, read );
+                        count += read;
+                    }
+                }
+                stemCounts[ii] = count;
+                length = Math.max( length, Math.min( count, limit ) );
+            }
+
+            for(int kk = 0; kk < length; kk++) {
+                mixSums[kk] = 0;
+            }
+            for(int ii = 0; ii < streams.size; ii++) {
+                short[] pending = stemPending[ii];
+                int count = Math.min( stemCounts[ii], length );
+                float gain = stemGains.get(ii);
+                if (gain != 0) {
+                    for(int kk = 0; kk < count; kk++) {
+                        mixSums[kk] += pending[kk]*gain;
+                    }
+                }
+                System.arraycopy( pending, count, pending, 0, stemCounts[ii]-count );
+                stemCounts[ii] -= count;
+            }
+            for(int kk = 0; kk < length; kk++) {
+                mixSamples[kk] = (short)MathUtils.clamp( mixSums[kk], Short.MIN_VALUE, Short.MAX_VALUE );
+            }
+
+            mixedBytes += length*bytesPerSample;
+            return length;
+        }
+
+        /**
+         * Moves every stem to the given byte position, keeping them in lockstep.
+         *
+         * Stems are decoded forward to the position, as the decoders cannot seek
+         * within a page.  Any stem shorter than the position is marked as ended.
+         *
+         * @param byteOffs  The byte position to seek to
+         */
+        private void seekStems(long byteOffs) {
+            reset();
+            if (stemPending == null) {
+                allocStems();
+            }
+
+            long target = byteOffs/bytesPerSample;
+            for(int ii = 0; ii < streams.size; ii++) {
+                long skipped = 0;
+                int read = 0;
+                while (skipped < target && !stemDone[ii]) {
+                    read = streams.get(ii).read( stemChunk );
+                    if (read <= 0) {
+                        stemDone[ii] = true;
+                    } else {
+                        skipped += read;
+                    }
+                }
+                if (!stemDone[ii]) {
+                    int extra = (int)(skipped-target);
+                    System.arraycopy( stemChunk, read-extra, stemPending[ii], 0, extra );
+                    stemCounts[ii] = extra;
+                }
+            }
+            mixedBytes = target*bytesPerSample;
+        }
+
+        /**
+         * Allocates the pending buffers for mixing the current stems.
+         */
+        private void allocStems() {
+            stemPending = new short[streams.size][2*blockSize];
+            stemCounts  = new int[streams.size];
+            stemDone    = new boolean[streams.size];
+            if (stemChunk == null) {
+                stemChunk  = new short[blockSize];
+                mixSums    = new float[blockSize];
+                mixSamples = new short[blockSize];
+            }
+        }
+
+        /**
+         * Restarts every stem after a change to the sources
+         */
+        private void restartStems() {
+            stemPending = null;
+            reset();
+        }
+
         /**
          * Returns the next empty and available OpenAL buffer for writing.
          *
@@ -2631,6 +3680,137 @@ public class GDXAudio implements AudioEngine {
         }
     }
 
+    // #mark -
+    // #mark Audio Thread
+    /**
+     * This class is a dedicated thread for refilling music streams
+     *
+     * Music buffers only queue a few OpenAL buffers at a time.  If they are refilled
+     * once a frame, any long frame (such as a level load or garbage collection) can
+     * drain the queue and cause the music to stutter.  This thread refills the
+     * queues every few milliseconds instead, independent of the frame rate.
+     *
+     * The main thread attaches and detaches music buffers through a lock-free command
+     * queue, so that only this thread touches the list of active streams.  A refill
+     * only locks a music buffer to unqueue and queue its OpenAL buffers; the decoding
+     * (and stem mixing) in between is done without the lock, while any music buffer
+     * method that touches the decoders waits for it.  It never touches the source
+     * allocation of the engine and never invokes callbacks; those are deferred to
+     * {@link GDXAudio#update} in the main thread.
+     */
+    private class Streamer extends Thread {
+        /** The delay between refills in milliseconds */
+        private static final int REFILL_PERIOD = 5;
+
+        /** The pending commands from the main thread */
+        private final ConcurrentLinkedQueue<StreamCommand> commands;
+        /** The music buffers currently streaming (only touched by this thread) */
+        private final Array<MusicHandle> active;
+        /** Whether this thread should keep running */
+        private volatile boolean running;
+
+        /**
+         * Creates a new (unstarted) audio thread
+         */
+        public Streamer() {
+            super( "GDXAudio Streamer" );
+            setDaemon( true );
+            commands = new ConcurrentLinkedQueue<StreamCommand>();
+            active = new Array<MusicHandle>( false, 4 );
+            running = true;
+        }
+
+        /**
+         * Starts refilling the given music buffer
+         *
+         * This method is safe to call from any thread.
+         *
+         * @param music The music buffer to refill
+         */
+        public void attach(MusicHandle music) {
+            commands.offer( new StreamCommand( music, true ) );
+        }
+
+        /**
+         * Stops refilling the given music buffer
+         *
+         * This method is safe to call from any thread.
+         *
+         * @param music The music buffer to stop refilling
+         */
+        public void detach(MusicHandle music) {
+            commands.offer( new StreamCommand( music, false ) );
+        }
+
+        /**
+         * Stops this thread, waiting for it to finish its current refill
+         */
+        public void dispose() {
+            running = false;
+            interrupt();
+            try {
+                join();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            active.clear();
+            commands.clear();
+        }
+
+        /**
+         * Refills the active music buffers until this thread is disposed
+         */
+        @Override
+        public void run() {
+            while (running) {
+                StreamCommand command;
+                while ((command = commands.poll()) != null) {
+                    active.removeValue( command.music, true );
+                    if (command.attach) {
+                        active.add( command.music );
+                    }
+                }
+
+                for(int ii = 0; ii < active.size; ii++) {
+                    MusicHandle music = active.get( ii );
+                    try {
+                        music.refill();
+                    } catch (Throwable t) {
+                        Gdx.app.error( "GDXAudio", "Unable to stream music "+music, t );
+                        active.removeIndex( ii-- );
+                    }
+                }
+
+                try {
+                    Thread.sleep( REFILL_PERIOD );
+                } catch (InterruptedException ex) {
+                    // Check if we are still running
+                }
+            }
+        }
+    }
+
+    /**
+     * This class is a command from the main thread to the audio thread
+     */
+    private static class StreamCommand {
+        /** The music buffer affected by this command */
+        final MusicHandle music;
+        /** Whether to start (true) or stop (false) refilling the music buffer */
+        final boolean attach;
+
+        /**
+         * Creates a new command for the given music buffer
+         *
+         * @param music     The music buffer affected by this command
+         * @param attach    Whether to start (true) or stop (false) refilling it
+         */
+        StreamCommand(MusicHandle music, boolean attach) {
+            this.music = music;
+            this.attach = attach;
+        }
+    }
+
     // #mark -
     // #mark Audio Device
     /** 
@@ -2941,6 +4121,18 @@ public class GDXAudio implements AudioEngine {
         public boolean evictable() {
             return false;
         }
+
+        /**
+         * Releases the given OpenAL source, which was stolen for another buffer
+         *
+         * Audio devices are never evicted, so this method does nothing.
+         *
+         * @param sourceId  The OpenAL source
+         */
+        @Override
+        public void evict(int sourceId) {
+            // Never evicted
+        }
         
         // #mark Addition Public Methods
         /**
@@ -3047,7 +4239,7 @@ public class GDXAudio implements AudioEngine {
                     if (sourceId == -1) return;
                 
                     AL10.alSourcei( sourceId, AL10.AL_LOOPING, AL10.AL_FALSE );
-                    AL10.alSourcef( sourceId, AL10.AL_GAIN, volume );
+                    setSourceGain( sourceId, volume );
                 
                     // Fill and queue some the initial buffers
                     int written = fill(data, offset, length);
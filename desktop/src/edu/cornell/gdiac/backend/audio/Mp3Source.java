@@ -35,6 +35,10 @@ public class Mp3Source implements AudioSource {
     protected float duration;
     /** The length of the MP3 asset in bytes */
     protected long byteSize;
+    /** The decoded MP3 asset (null until requested by {@link #getData}) */
+    protected ByteBuffer data;
+    /** The key of this asset in the {@link PcmCache} (null if it cannot be cached) */
+    protected String key;
 
     /** 
      * Creates an MP3 source from the given file.
@@ -51,42 +55,77 @@ public class Mp3Source implements AudioSource {
     /**
      * Initializes the audio source with header information.
      *
-     * This requires an initial scan of the file
+     * This does not decode the file. If the first frame is a Xing or VBRI header, it
+     * gives the number of frames.  Otherwise, the frame headers are scanned (but not
+     * decoded) to count them.
+     *
+     * If the file was decoded on an earlier run, the header information and the
+     * decoded data come from the {@link PcmCache} instead, and the file is not
+     * scanned at all.
      *
      * @throws GdxRuntimeException if the asset could not be initialized
      */
     private void init() {
-        Bitstream bitstream = new Bitstream(source.read());
-        MP3Decoder decoder = new MP3Decoder();
+        key = PcmCache.key( source );
+        PcmCache.Entry entry = PcmCache.load( key );
+        if (entry != null) {
+            channels = entry.channels;
+            sampleRate = entry.sampleRate;
+            data = entry.data;
+            byteSize = data.remaining();
+            duration = byteSize / (2f * channels * sampleRate);
+            return;
+        }
 
+        Bitstream bitstream = new Bitstream(source.read());
         try {
-            OutputBuffer outputBuffer = null;
-            sampleRate = -1;
-            channels = -1;
-            while (true) {
-                Header header = bitstream.readFrame();
-                if (header == null) break;
-                if (outputBuffer == null) {
-                    channels = header.mode() == Header.SINGLE_CHANNEL ? 1 : 2;
-                    outputBuffer = new OutputBuffer( channels, false );
-                    decoder.setOutputBuffer( outputBuffer );
-                    sampleRate = header.getSampleRate();
-                }
-                try {
-                    decoder.decodeFrame( header, bitstream );
-                } catch (Exception ignored) {
-                    // JLayer's decoder throws ArrayIndexOutOfBoundsException sometimes!?
+            Header header = bitstream.readFrame();
+            if (header == null) {
+                throw new GdxRuntimeException("Empty MP3");
+            }
+            channels = header.mode() == Header.SINGLE_CHANNEL ? 1 : 2;
+            sampleRate = header.getSampleRate();
+            long samples = samplesPerFrame( header );
+            if (header.vbr()) {
+                samples *= header.max_number_of_frames( 0 );
+            } else {
+                long frames = 0;
+                while (header != null) {
+                    frames++;
+                    bitstream.closeFrame();
+                    header = bitstream.readFrame();
                 }
-                bitstream.closeFrame();
-                byteSize += outputBuffer.reset();
+                samples *= frames;
             }
-            bitstream.closeFrame();
-            long samples = byteSize / (2 * channels);
+            byteSize = samples * 2 * channels;
             duration = samples / (float)sampleRate;
+        } catch (GdxRuntimeException ex) {
+            throw ex;
         } catch (Throwable ex) {
             throw new GdxRuntimeException("Error reading audio data.", ex);
+        } finally {
+            try {
+                bitstream.close();
+            } catch (BitstreamException ignored) {
+            }
         }
     }
+
+    /**
+     * Returns the number of audio samples (per channel) in a frame with this header
+     *
+     * @param header    The frame header
+     *
+     * @return the number of audio samples (per channel) in a frame with this header
+     */
+    private static int samplesPerFrame(Header header) {
+        if (header.layer() == 1) {
+            return 384;
+        } else if (header.layer() == 3 && header.version() != Header.MPEG1) {
+            return 576;
+        }
+        return 1152;
+    }
     
     /**
      * Deletes this MP3 source, disposing of all resources.
@@ -94,6 +133,7 @@ public class Mp3Source implements AudioSource {
     @Override
     public void dispose() {
         source = null;
+        data = null;
         channels = 0;
         sampleRate = 0;
         duration = 0;
@@ -176,6 +216,11 @@ public class Mp3Source implements AudioSource {
      * method, you should avoid using this method for any audio asset greater 
      * than 1 MB.
      *
+     * The file is only decoded the first time this method is called.  Later calls
+     * return a view of the same data, which is kept until this source is disposed.
+     * The decoded data is also saved to the {@link PcmCache}, and this method returns
+     * the memory-mapped cache file when possible, so that later runs can skip decoding.
+     *
      * The byte representation of an audio source is platform dependent. You
      * should avoid using this buffer directly unless you know what you are 
      * doing.  If you need to read audio samples, get an {@link AudioStream}
@@ -185,7 +230,10 @@ public class Mp3Source implements AudioSource {
      */
     @Override
     public ByteBuffer getData() {
-        ByteArrayOutputStream output = new ByteArrayOutputStream(4096);
+        if (data != null) {
+            return data.duplicate().order( ByteOrder.nativeOrder() );
+        }
+        ByteArrayOutputStream output = new ByteArrayOutputStream((int)byteSize);
         Bitstream bitstream = new Bitstream(source.read());
         MP3Decoder decoder = new MP3Decoder();
         ByteBuffer result = null;
@@ -210,6 +258,9 @@ public class Mp3Source implements AudioSource {
                 output.write(outputBuffer.getBuffer(), 0, outputBuffer.reset());
             }
             bitstream.close();
+            // The header estimate may be off by a frame; trust the decoder
+            byteSize = output.size() - (output.size() % (channels > 1 ? 4 : 2));
+            duration = byteSize / (2f * channels * sampleRate);
             result = ByteBuffer.allocateDirect((int)byteSize);
             result.order( ByteOrder.nativeOrder());
             result.put(output.toByteArray(), 0, (int)byteSize);
@@ -217,7 +268,9 @@ public class Mp3Source implements AudioSource {
         } catch (Throwable ex) {
             throw new GdxRuntimeException("Error reading audio data.", ex);
         }
-        return result;
+        ByteBuffer mapped = PcmCache.store( key, channels, sampleRate, result );
+        data = mapped != null ? mapped : result;
+        return data.duplicate().order( ByteOrder.nativeOrder() );
     }
 
     /**
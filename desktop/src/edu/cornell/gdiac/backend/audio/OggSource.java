@@ -16,6 +16,8 @@ import com.badlogic.gdx.utils.StreamUtils;
 import edu.cornell.gdiac.audio.*;
 
 import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
 import java.nio.*;
 
 /**
@@ -25,6 +27,9 @@ import java.nio.*;
  * more than 2 channels, LibGDX only supports mono and stereo.
  */
 public class OggSource implements AudioSource {
+    /** The maximum size of an OGG page (header, segment table and body) */
+    private static final int MAX_PAGE_SIZE = 65307;
+
     /** The source file */
     protected FileHandle source;
     /** The number of channels (1 for mono, 2 for stereo) */
@@ -38,6 +43,10 @@ public class OggSource implements AudioSource {
 
     /** An initial OGG input stream for header data */
     protected OggInputStream input;
+    /** The decoded OGG asset (null until requested by {@link #getData}) */
+    protected ByteBuffer data;
+    /** The key of this asset in the {@link PcmCache} (null if it cannot be cached) */
+    protected String key;
 
     /** 
      * Creates an OGG source from the given file.
@@ -54,38 +63,105 @@ public class OggSource implements AudioSource {
     /**
      * Initializes the audio source with header information.
      *
-     * This requires an initial scan of the file
+     * This does not decode the file.  The length comes from the granule position of
+     * the last page, which is the number of audio samples (per channel) in the stream.
+     * Only if that cannot be found is the file decoded to measure it.
+     *
+     * If the file was decoded on an earlier run, the header information and the
+     * decoded data come from the {@link PcmCache} instead, and the file is not
+     * decoded at all.
      *
      * @throws GdxRuntimeException if the asset could not be initialized
      */
     private void init() {
+        key = PcmCache.key( source );
+        PcmCache.Entry entry = PcmCache.load( key );
+        if (entry != null) {
+            channels = entry.channels;
+            sampleRate = entry.sampleRate;
+            data = entry.data;
+            byteSize = data.remaining();
+            duration = byteSize / (2f * channels * sampleRate);
+            return;
+        }
+
         try {
             input = new OggInputStream( source.read() );
             channels = input.getChannels();
             sampleRate = input.getSampleRate();
-            byte[] buffer = new byte[2048];
-            byteSize = 0;
-            int length = 0;
-            while (!input.atEnd() && length >= 0) {
-                length = input.read( buffer );
-                if (length > 0) {
-                    byteSize += length;
+            long samples = lastGranule();
+            if (samples >= 0) {
+                byteSize = samples * 2 * channels;
+            } else {
+                byte[] buffer = new byte[2048];
+                byteSize = 0;
+                int length = 0;
+                while (!input.atEnd() && length >= 0) {
+                    length = input.read( buffer );
+                    if (length > 0) {
+                        byteSize += length;
+                    }
                 }
+                byteSize -= (byteSize % (channels > 1 ? 4 : 2));
+                samples = byteSize / (2 * channels);
             }
-            byteSize -= (byteSize % (channels > 1 ? 4 : 2));
-            long samples = byteSize / (2 * channels);
             duration = samples / (float)sampleRate;
         } finally {
             StreamUtils.closeQuietly(input);
         }
     }
 
+    /**
+     * Returns the granule position of the last page of the file, or -1 if not found.
+     *
+     * For a Vorbis stream, the granule position is the number of audio samples (per
+     * channel) decoded by the end of the page.  As a page is at most MAX_PAGE_SIZE
+     * bytes, only the tail of the file is read.
+     *
+     * @return the granule position of the last page of the file, or -1 if not found.
+     */
+    private long lastGranule() {
+        InputStream stream = null;
+        try {
+            stream = source.read();
+            long skip = Math.max( 0, source.length()-MAX_PAGE_SIZE );
+            while (skip > 0) {
+                long skipped = stream.skip( skip );
+                if (skipped <= 0) {
+                    break;
+                }
+                skip -= skipped;
+            }
+            byte[] tail = StreamUtils.copyStreamToByteArray( stream, MAX_PAGE_SIZE );
+
+            // Search backwards for the capture pattern "OggS" of a complete page header
+            for(int ii = tail.length-27; ii >= 0; ii--) {
+                if (tail[ii] == 'O' && tail[ii+1] == 'g' && tail[ii+2] == 'g' && tail[ii+3] == 'S') {
+                    long granule = 0;
+                    for(int jj = 7; jj >= 0; jj--) {
+                        granule = (granule << 8) | (tail[ii+6+jj] & 0xFF);
+                    }
+                    // A granule of -1 means no packet ends on this page
+                    if (granule >= 0) {
+                        return granule;
+                    }
+                }
+            }
+        } catch (IOException e) {
+            // Fall back to decoding
+        } finally {
+            StreamUtils.closeQuietly( stream );
+        }
+        return -1;
+    }
+
     /**
      * Deletes this MP3 source, disposing of all resources.
      */
     @Override
     public void dispose() {
         source = null;
+        data = null;
         channels = 0;
         sampleRate = 0;
         duration = 0;
@@ -168,6 +244,12 @@ public class OggSource implements AudioSource {
      * method, you should avoid using this method for any audio asset greater 
      * than 1 MB.
      *
+     * The file is only decoded the first time this method is called.  Later calls
+     * return a view of the same data, which is kept until this source is disposed.
+     * The decoded data is also saved to the {@link PcmCache}, and this method returns
+     * the memory-mapped cache file when possible, so that later runs (and any sources
+     * for the same file) can skip decoding.
+     *
      * The byte representation of an audio source is platform dependent. You
      * should avoid using this buffer directly unless you know what you are 
      * doing.  If you need to read audio samples, get an {@link AudioStream}
@@ -177,18 +259,24 @@ public class OggSource implements AudioSource {
      */
     @Override
     public ByteBuffer getData() {
+        if (data != null) {
+            return data.duplicate().order( ByteOrder.nativeOrder() );
+        }
         OggInputStream reader = null;
         ByteBuffer result = null;
         try {
             reader = new OggInputStream(source.read(),input);
             input = reader;
-            ByteArrayOutputStream output = new ByteArrayOutputStream(4096);
+            ByteArrayOutputStream output = new ByteArrayOutputStream((int)byteSize);
             byte[] buffer = new byte[2048];
             while (!input.atEnd()) {
                 int length = input.read(buffer);
                 if (length == -1) break;
                 output.write(buffer, 0, length);
             }
+            // The granule estimate may be off by a packet; trust the decoder
+            byteSize = output.size() - (output.size() % (channels > 1 ? 4 : 2));
+            duration = byteSize / (2f * channels * sampleRate);
             result = ByteBuffer.allocateDirect((int)byteSize);
             result.order( ByteOrder.nativeOrder());
             result.put(output.toByteArray(), 0, (int)byteSize);
@@ -196,7 +284,9 @@ public class OggSource implements AudioSource {
         } finally {
             StreamUtils.closeQuietly(input);
         }
-        return result;
+        ByteBuffer mapped = PcmCache.store( key, channels, sampleRate, result );
+        data = mapped != null ? mapped : result;
+        return data.duplicate().order( ByteOrder.nativeOrder() );
     }
     
     /**
@@ -51,4 +51,15 @@ public interface OpenALBuffer {
      */
     public boolean evictable();
 
+    /**
+     * Releases the given OpenAL source, which was stolen for another buffer
+     *
+     * The source has already been stopped and reassigned when this is called, so
+     * the buffer should only forget about it.  This is only called on evictable
+     * buffers.
+     *
+     * @param sourceId  The OpenAL source
+     */
+    public void evict(int sourceId);
+
 }
@@ -0,0 +1,226 @@
+/*
+ * PcmCache.java
+ *
+ * Decoding compressed audio is the slowest part of loading a sound.  As the decoded
+ * audio never changes, this class saves it in the local files area the first time,
+ * and maps it straight back into memory on later launches.
+ */
+package edu.cornell.gdiac.backend.audio;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.StreamUtils;
+
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.util.zip.CRC32;
+
+/**
+ * An on-disk cache of decoded audio.
+ *
+ * Each entry is the 16-bit PCM data of an audio file, after a short header with
+ * the format.  Entries are keyed by a hash of the compressed file, so an edited
+ * file gets a new entry.  The decoder version is part of the cache directory, and
+ * must be increased whenever a decoder changes its output.
+ *
+ * Entries are read back with {@link FileChannel#map}, which gives a direct buffer
+ * that can be handed to OpenAL without copying the data through a Java array.  The
+ * header is written in native byte order, so an entry from a machine with another
+ * byte order fails the magic number check and is decoded again.
+ *
+ * All methods fail quietly, returning null.  The cache is an optimization only, and
+ * a missing, stale or unwritable cache simply means that the file is decoded.
+ */
+public class PcmCache {
+    /** The version of the decoders (increase this when decoding changes) */
+    public static final int DECODER_VERSION = 1;
+    /** The directory for cache entries in the local files area */
+    private static final String DIRECTORY = "cache/pcm/v"+DECODER_VERSION+"/";
+    /** The magic number at the start of every entry ("PCM1") */
+    private static final int MAGIC = 0x50434D31;
+    /** The size of the entry header in bytes */
+    private static final int HEADER_SIZE = 24;
+
+    /**
+     * A decoded audio file read from the cache
+     */
+    public static class Entry {
+        /** The number of channels (1 for mono, 2 for stereo) */
+        public final int channels;
+        /** The number of audio samples (per channel) per second */
+        public final int sampleRate;
+        /** The PCM data, mapped from the cache file in native byte order */
+        public final ByteBuffer data;
+
+        /**
+         * Creates a cache entry with the given format and data
+         *
+         * @param channels      The number of channels
+         * @param sampleRate    The number of audio samples (per channel) per second
+         * @param data          The PCM data
+         */
+        Entry(int channels, int sampleRate, ByteBuffer data) {
+            this.channels = channels;
+            this.sampleRate = sampleRate;
+            this.data = data;
+        }
+    }
+
+    /**
+     * Returns the cache key for the given audio file, or null if it cannot be hashed
+     *
+     * The key combines the name, length and CRC-32 of the file contents.  Hashing
+     * reads the compressed file, which is much cheaper than decoding it.
+     *
+     * @param file  The audio file
+     *
+     * @return the cache key for the given audio file, or null if it cannot be hashed
+     */
+    public static String key(FileHandle file) {
+        InputStream input = null;
+        try {
+            input = file.read();
+            CRC32 crc = new CRC32();
+            byte[] buffer = new byte[8192];
+            long length = 0;
+            int read;
+            while ((read = input.read( buffer )) > 0) {
+                crc.update( buffer, 0, read );
+                length += read;
+            }
+            return file.nameWithoutExtension()+"-"+Long.toHexString( crc.getValue() )+"-"+length;
+        } catch (Exception ex) {
+            return null;
+        } finally {
+            StreamUtils.closeQuietly( input );
+        }
+    }
+
+    /**
+     * Returns the cached audio for the given key, or null if there is none.
+     *
+     * An entry is rejected if its header does not match this decoder version and
+     * byte order, or if the file is truncated.
+     *
+     * @param key   The cache key (from {@link #key})
+     *
+     * @return the cached audio for the given key, or null if there is none.
+     */
+    public static Entry load(String key) {
+        FileHandle file = locate( key );
+        if (file == null || !file.exists()) {
+            return null;
+        }
+
+        RandomAccessFile input = null;
+        try {
+            input = new RandomAccessFile( file.file(), "r" );
+            FileChannel channel = input.getChannel();
+            ByteBuffer header = ByteBuffer.allocate( HEADER_SIZE ).order( ByteOrder.nativeOrder() );
+            while (header.hasRemaining() && channel.read( header ) >= 0) {
+                // Keep reading
+            }
+            header.flip();
+            if (header.remaining() < HEADER_SIZE || header.getInt() != MAGIC || header.getInt() != DECODER_VERSION) {
+                return null;
+            }
+            int channels = header.getInt();
+            int sampleRate = header.getInt();
+            long size = header.getLong();
+            if (channels < 1 || sampleRate <= 0 || size != channel.size()-HEADER_SIZE) {
+                return null;
+            }
+
+            // The mapping stays valid after the channel is closed
+            ByteBuffer data = channel.map( FileChannel.MapMode.READ_ONLY, HEADER_SIZE, size );
+            data.order( ByteOrder.nativeOrder() );
+            return new Entry( channels, sampleRate, data );
+        } catch (Exception ex) {
+            return null;
+        } finally {
+            StreamUtils.closeQuietly( input );
+        }
+    }
+
+    /**
+     * Saves decoded audio under the given key, returning the data mapped from disk.
+     *
+     * The entry is written to a temporary file first, so that a partial entry is
+     * never seen by {@link #load}.  The position and limit of data are unchanged.
+     * If the entry cannot be written, this method returns null.
+     *
+     * @param key           The cache key (from {@link #key})
+     * @param channels      The number of channels
+     * @param sampleRate    The number of audio samples (per channel) per second
+     * @param data          The PCM data in native byte order
+     *
+     * @return the saved data mapped from disk, or null if it could not be saved
+     */
+    public static ByteBuffer store(String key, int channels, int sampleRate, ByteBuffer data) {
+        FileHandle file = locate( key );
+        if (file == null) {
+            return null;
+        }
+
+        FileHandle temp = file.sibling( file.name()+"."+Thread.currentThread().getId()+".tmp" );
+        RandomAccessFile output = null;
+        try {
+            file.parent().mkdirs();
+            output = new RandomAccessFile( temp.file(), "rw" );
+            output.setLength( 0 );
+            FileChannel channel = output.getChannel();
+
+            ByteBuffer header = ByteBuffer.allocate( HEADER_SIZE ).order( ByteOrder.nativeOrder() );
+            header.putInt( MAGIC ).putInt( DECODER_VERSION ).putInt( channels ).putInt( sampleRate );
+            header.putLong( data.remaining() );
+            header.flip();
+            while (header.hasRemaining()) {
+                channel.write( header );
+            }
+            ByteBuffer body = data.duplicate();
+            while (body.hasRemaining()) {
+                channel.write( body );
+            }
+            output.close();
+            output = null;
+
+            if (file.exists()) {
+                file.delete();
+            }
+            if (!temp.file().renameTo( file.file() )) {
+                temp.delete();
+                return null;
+            }
+        } catch (Exception ex) {
+            StreamUtils.closeQuietly( output );
+            output = null;
+            temp.delete();
+            return null;
+        } finally {
+            StreamUtils.closeQuietly( output );
+        }
+
+        Entry entry = load( key );
+        return entry == null ? null : entry.data;
+    }
+
+    /**
+     * Returns the cache file for the given key, or null if there is no cache.
+     *
+     * There is no cache if the key is null, or if the local files area is not
+     * available.
+     *
+     * @param key   The cache key
+     *
+     * @return the cache file for the given key, or null if there is no cache.
+     */
+    private static FileHandle locate(String key) {
+        if (key == null || Gdx.files == null || !Gdx.files.isLocalStorageAvailable()) {
+            return null;
+        }
+        return Gdx.files.local( DIRECTORY+key+".pcm" );
+    }
+}
@@ -39,6 +39,8 @@ public class WavSource implements AudioSource {
 
     /** An initial WAV input stream for header data */
     protected WavInputStream input;
+    /** The loaded WAV asset (null until requested by {@link #getData}) */
+    protected ByteBuffer data;
 
     /** 
      * Creates an WAV source from the given file.
@@ -63,6 +65,7 @@ public class WavSource implements AudioSource {
     @Override
     public void dispose() {
         input = null;
+        data = null;
         source = null;
         channels = 0;
         sampleRate = 0;
@@ -146,6 +149,9 @@ public class WavSource implements AudioSource {
      * method, you should avoid using this method for any audio asset greater 
      * than 1 MB.
      *
+     * The file is only read the first time this method is called.  Later calls
+     * return a view of the same data, which is kept until this source is disposed.
+     *
      * The byte representation of an audio source is platform dependent. You
      * should avoid using this buffer directly unless you know what you are 
      * doing.  If you need to read audio samples, get an {@link AudioStream}
@@ -155,6 +161,9 @@ public class WavSource implements AudioSource {
      */
     @Override
     public ByteBuffer getData() {
+        if (data != null) {
+            return data.duplicate().order( ByteOrder.nativeOrder() );
+        }
         ByteBuffer result = null;
         try {
             if (input == null) {
@@ -167,8 +176,10 @@ public class WavSource implements AudioSource {
             result = null;
         } finally {
             StreamUtils.closeQuietly( input );
+            input = null;
         }
-        return result;
+        data = result;
+        return result == null ? null : result.duplicate().order( ByteOrder.nativeOrder() );
     }
 
     /**